@@ -1,12 +1,145 @@
 package main;
 
 import main.controller.GameOfLifeController;
+import main.model.Autosave;
 import main.model.GameOfLife;
+import main.model.GenerationArchive;
+import main.model.ManipulationJournal;
+import main.model.engine.SimulationEngines;
+import main.model.engine.TemporalBlockingField;
+import main.model.profiling.StepProfiler;
+import main.model.tiled.TileCoordinator;
 import main.view.MainFrame;
 
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
 public class Main {
-    public static void main(String[] args) {
-        GameOfLife gol = new GameOfLife(50, 50);
+    private static final int FIELD_HEIGHT = 50;
+    private static final int FIELD_WIDTH = 50;
+    private static final int DEFAULT_AUTOSAVE_GENERATIONS = 1000;
+    private static final int DEFAULT_AUTOSAVE_SECONDS = 60;
+    private static final int DEFAULT_HISTORY_MEGABYTES = 256;
+
+    /**
+     * Starts the game of life. With the argument --tiles=N the field is computed by N worker processes.
+     * With --shared-memory=DIR these processes exchange their boundary rows through a file in DIR (e.g. /dev/shm).
+     * With --temporal-blocking=K going to a generation computes K generations per pass through the field.
+     * With --engine=NAME the field is computed by the engine with the given name (see {@link SimulationEngines}).
+     * With --profile the phases of the generations are measured, which can be watched through JMX
+     * (see {@link StepProfiler}) and are printed when the program exits.
+     * With --journal=FILE every manipulation is written to the file, so the session can be replayed
+     * (see {@link ReplayJournal}).
+     * With --autosave=FILE the game of life is saved every 1000 generations or 60 seconds
+     * (change with --autosave-generations=N and --autosave-seconds=S, see {@link Autosave}).
+     * With --restore the game of life saved in this file is restored at the start together with the manipulations
+     * written to the journal after the save.
+     * With --history every computed generation is archived, so the history slider can go to it at once.
+     * The archive keeps up to 256 MB in memory (change with --history=MB) and moves older generations to a file
+     * in the directory for temporary files (change with --history-spill=DIR, see {@link GenerationArchive}).
+     */
+    public static void main(String[] args) throws IOException {
+        int tileCount = 0;
+        Path sharedMemoryDirectory = null;
+        int blockGenerations = 0;
+        boolean profile = false;
+        Path journalFile = null;
+        Path autosaveFile = null;
+        int autosaveGenerations = DEFAULT_AUTOSAVE_GENERATIONS;
+        int autosaveSeconds = DEFAULT_AUTOSAVE_SECONDS;
+        boolean restore = false;
+        int historyMegabytes = 0;
+        Path historySpillDirectory = null;
+        for (String arg : args)
+            if (arg.startsWith("--tiles="))
+                tileCount = Integer.parseInt(arg.substring("--tiles=".length()));
+            else if (arg.startsWith("--shared-memory="))
+                sharedMemoryDirectory = Path.of(arg.substring("--shared-memory=".length()));
+            else if (arg.startsWith("--temporal-blocking="))
+                blockGenerations = Integer.parseInt(arg.substring("--temporal-blocking=".length()));
+            else if (arg.startsWith("--engine="))
+                System.setProperty(SimulationEngines.ENGINE_PROPERTY, arg.substring("--engine=".length()));
+            else if (arg.equals("--profile"))
+                profile = true;
+            else if (arg.startsWith("--journal="))
+                journalFile = Path.of(arg.substring("--journal=".length()));
+            else if (arg.startsWith("--autosave="))
+                autosaveFile = Path.of(arg.substring("--autosave=".length()));
+            else if (arg.startsWith("--autosave-generations="))
+                autosaveGenerations = Integer.parseInt(arg.substring("--autosave-generations=".length()));
+            else if (arg.startsWith("--autosave-seconds="))
+                autosaveSeconds = Integer.parseInt(arg.substring("--autosave-seconds=".length()));
+            else if (arg.equals("--restore"))
+                restore = true;
+            else if (arg.equals("--history"))
+                historyMegabytes = DEFAULT_HISTORY_MEGABYTES;
+            else if (arg.startsWith("--history="))
+                historyMegabytes = Integer.parseInt(arg.substring("--history=".length()));
+            else if (arg.startsWith("--history-spill="))
+                historySpillDirectory = Path.of(arg.substring("--history-spill=".length()));
+
+        GameOfLife gol;
+        if (tileCount > 0) {
+            gol = new GameOfLife(new TileCoordinator(FIELD_HEIGHT, FIELD_WIDTH, tileCount, true, sharedMemoryDirectory));
+        } else if (blockGenerations > 0) {
+            gol = new GameOfLife(new TemporalBlockingField(FIELD_HEIGHT, FIELD_WIDTH, blockGenerations,
+                    TemporalBlockingField.DEFAULT_TILE_SIZE));
+            gol.setGenerationsPerStep(blockGenerations);
+        } else {
+            gol = new GameOfLife(FIELD_HEIGHT, FIELD_WIDTH);
+        }
+        if (profile) {
+            StepProfiler profiler = new StepProfiler();
+            profiler.registerMBeans();
+            gol.setProfiler(profiler);
+            Runtime.getRuntime().addShutdownHook(new Thread(() -> System.err.print(profiler.dump())));
+        }
+        // the journal is read before a new one is created in its place
+        boolean restored = false;
+        if (restore && autosaveFile != null && Files.exists(autosaveFile)) {
+            if (!Autosave.restore(autosaveFile, journalFile, gol) && journalFile != null)
+                System.err.println("The journal does not belong to the autosave, only the autosave was restored");
+            restored = true;
+        }
+        Autosave autosave = autosaveFile != null ? new Autosave(autosaveFile, autosaveGenerations, autosaveSeconds) : null;
+        // the restored state (with the manipulations repeated from the old journal) has to be on the disk
+        // before the old journal is overwritten by the new one
+        if (restored && autosave != null) {
+            autosave.save(gol);
+            autosave.awaitWrite();
+        }
+        ManipulationJournal journal = journalFile != null
+                ? ManipulationJournal.create(journalFile, gol.getFieldHeight(), gol.getFieldWidth()) : null;
+        gol.setJournal(journal);
+        gol.setAutosave(autosave);
+        // and it is saved again for the new journal, so the manipulations written to it are repeated after a crash
+        if (restored && autosave != null && journal != null) {
+            autosave.save(gol);
+            autosave.awaitWrite();
+        }
+        if (journal != null || autosave != null)
+            // the autosave is closed first, because it flushes the journal while it writes
+            Runtime.getRuntime().addShutdownHook(new Thread(() -> {
+                try {
+                    if (autosave != null)
+                        autosave.close();
+                } catch (IOException e) {
+                    System.err.println("The autosave could not be written: " + e.getMessage());
+                }
+                try {
+                    if (journal != null)
+                        journal.close();
+                } catch (IOException e) {
+                    System.err.println("The journal could not be written: " + e.getMessage());
+                }
+            }));
+
+        // the archive starts with the current (possibly restored) generation
+        if (historyMegabytes > 0)
+            gol.setHistoryArchive(new GenerationArchive(gol.getFieldHeight(), gol.getFieldWidth(),
+                    historyMegabytes * 1024L * 1024L, historySpillDirectory));
+
         MainFrame frame = new MainFrame(gol.getFieldHeight(), gol.getFieldWidth());
         new GameOfLifeController(gol, frame);
     }
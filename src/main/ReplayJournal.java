@@ -0,0 +1,68 @@
+package main;
+
+import main.model.FieldStatistics;
+import main.model.GameOfLife;
+import main.model.GofCell;
+import main.model.ManipulationJournal;
+import main.model.engine.SimulationEngines;
+
+import java.awt.*;
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+/**
+ * Computes a generation of a session recorded with --journal=FILE (see {@link ManipulationJournal}) without UI
+ * and prints its statistics.
+ * <p>
+ * Usage: java main.ReplayJournal JOURNAL GENERATION [--engine=NAME] [--output=cells.csv]
+ * <br>
+ * With --output the living cells of the generation are written as csv file (row, column and rgb value per line).
+ */
+public final class ReplayJournal {
+    private ReplayJournal() {
+        throw new UnsupportedOperationException();
+    }
+
+    public static void main(String[] args) throws IOException {
+        if (args.length < 2) {
+            System.err.println("Usage: java main.ReplayJournal JOURNAL GENERATION [--engine=NAME] [--output=cells.csv]");
+            System.exit(2);
+        }
+        Path journal = Path.of(args[0]);
+        int generation = Integer.parseInt(args[1]);
+        String engine = SimulationEngines.getConfiguredName();
+        Path output = null;
+        for (int i = 2; i < args.length; i++)
+            if (args[i].startsWith("--engine="))
+                engine = args[i].substring("--engine=".length());
+            else if (args[i].startsWith("--output="))
+                output = Path.of(args[i].substring("--output=".length()));
+
+        long startTime = System.nanoTime();
+        GameOfLife gof = ManipulationJournal.replay(journal, engine, generation);
+        double seconds = (System.nanoTime() - startTime) / 1e9;
+
+        FieldStatistics statistics = gof.getStatistics();
+        System.out.printf("generation %d of a %d x %d field computed by %s in %.3f s%n", gof.getGenerationCounter(),
+                gof.getFieldHeight(), gof.getFieldWidth(), engine, seconds);
+        System.out.printf("population %d, births %d, deaths %d%n", statistics.getPopulation(), statistics.getBirths(),
+                statistics.getDeaths());
+        if (gof.isCycleDetected())
+            System.out.printf("cycle with period %d since generation %d%n", gof.getCyclePeriod(),
+                    gof.getCycleEntryGeneration());
+
+        if (output != null) {
+            try (PrintWriter writer = new PrintWriter(Files.newBufferedWriter(output))) {
+                writer.println("row,column,rgb");
+                for (int row = 0; row < gof.getFieldHeight(); row++)
+                    for (int column = 0; column < gof.getFieldWidth(); column++) {
+                        Color color = gof.getCellColorAt(row, column);
+                        if (!color.equals(GofCell.DEAD_CELL_COLOR))
+                            writer.printf("%d,%d,%06X%n", row, column, color.getRGB() & 0xFFFFFF);
+                    }
+            }
+        }
+    }
+}
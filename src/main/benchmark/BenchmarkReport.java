@@ -0,0 +1,189 @@
+package main.benchmark;
+
+import main.model.engine.SimulationEngines;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.TreeSet;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Writes the results of a benchmark run as JSON (for tools and later comparisons) and as HTML summary.
+ * The HTML summary compares every engine with the reference engine in the same scenario
+ * and, if the report of an earlier run is given, every scenario with the same scenario of that run.
+ */
+public final class BenchmarkReport {
+    private static final Pattern SCENARIO = Pattern.compile("\"scenario\":\"([^\"]*)\"");
+    private static final Pattern GENERATIONS_PER_SECOND =
+            Pattern.compile("\"generationsPerSecond\":(-?[0-9.Ee+-]+)");
+
+    private BenchmarkReport() {
+        throw new UnsupportedOperationException();
+    }
+
+    /**
+     * Writes the results as JSON object with information about the machine and the array "results",
+     * which contains one object per line for every result.
+     */
+    public static void writeJson(List<BenchmarkResult> results, Path file) throws IOException {
+        StringBuilder json = new StringBuilder();
+        json.append("{\n");
+        json.append("  \"timestamp\":\"").append(Instant.now()).append("\",\n");
+        json.append("  \"java\":\"").append(System.getProperty("java.version")).append("\",\n");
+        json.append("  \"processors\":").append(Runtime.getRuntime().availableProcessors()).append(",\n");
+        json.append("  \"maxHeapBytes\":").append(Runtime.getRuntime().maxMemory()).append(",\n");
+        json.append("  \"results\":[\n");
+        for (int i = 0; i < results.size(); i++) {
+            BenchmarkResult result = results.get(i);
+            BenchmarkScenario scenario = result.getScenario();
+            json.append("    {\"scenario\":\"").append(escapeJson(scenario.getName()))
+                    .append("\",\"engine\":\"").append(escapeJson(scenario.getEngine()))
+                    .append("\",\"size\":").append(scenario.getSize())
+                    .append(",\"pattern\":\"").append(scenario.getPattern().name().toLowerCase())
+                    .append("\",\"density\":").append(scenario.getDensity())
+                    .append(",\"colored\":").append(scenario.isColored())
+                    .append(",\"tileWorkers\":").append(scenario.getTileWorkers())
+                    .append(",\"firstGenerationMillis\":").append(format(result.getFirstGenerationMillis()))
+                    .append(",\"warmupGenerationsPerSecond\":").append(format(result.getWarmupGenerationsPerSecond()))
+                    .append(",\"generations\":").append(result.getGenerations())
+                    .append(",\"generationsPerSecond\":").append(format(result.getGenerationsPerSecond()))
+                    .append(",\"cellUpdatesPerSecond\":").append(format(result.getCellUpdatesPerSecond()))
+                    .append(",\"allocatedBytesPerGeneration\":").append(result.getAllocatedBytesPerGeneration())
+                    .append(",\"residentSetBytes\":").append(result.getResidentSetBytes())
+                    .append(",\"population\":").append(result.getPopulation())
+                    .append(",\"error\":").append(result.getError() == null ? "null"
+                            : "\"" + escapeJson(result.getError()) + "\"")
+                    .append(i < results.size() - 1 ? "},\n" : "}\n");
+        }
+        json.append("  ]\n}\n");
+        Files.writeString(file, json, StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Reads the generations per second of every scenario from a report written by {@link #writeJson(List, Path)}.
+     *
+     * @return the generations per second by scenario name. Scenarios which could not be run are missing.
+     */
+    public static Map<String, Double> readGenerationsPerSecond(Path file) throws IOException {
+        HashMap<String, Double> generationsPerSecond = new HashMap<>();
+        for (String line : Files.readAllLines(file, StandardCharsets.UTF_8)) {
+            Matcher scenario = SCENARIO.matcher(line);
+            Matcher speed = GENERATIONS_PER_SECOND.matcher(line);
+            if (scenario.find() && speed.find() && line.contains("\"error\":null"))
+                generationsPerSecond.put(scenario.group(1), Double.parseDouble(speed.group(1)));
+        }
+        return generationsPerSecond;
+    }
+
+    /**
+     * Writes an HTML page with one table per field size.
+     *
+     * @param baseline the generations per second of an earlier run by scenario name (see
+     *                 {@link #readGenerationsPerSecond(Path)}) or null if there is nothing to compare with
+     */
+    public static void writeHtml(List<BenchmarkResult> results, Map<String, Double> baseline, Path file)
+            throws IOException {
+        // the speed of the reference engine by the scenario name without the engine
+        HashMap<String, Double> referenceSpeeds = new HashMap<>();
+        for (BenchmarkResult result : results)
+            if (result.getError() == null && result.getScenario().getEngine().equals(SimulationEngines.REFERENCE_ENGINE))
+                referenceSpeeds.put(getNameWithoutEngine(result.getScenario()), result.getGenerationsPerSecond());
+
+        StringBuilder html = new StringBuilder();
+        html.append("<!DOCTYPE html>\n<html>\n<head>\n<meta charset=\"utf-8\">\n<title>Game of life benchmark</title>\n");
+        html.append("<style>body{font-family:sans-serif}table{border-collapse:collapse;margin-bottom:2em}")
+                .append("td,th{border:1px solid #ccc;padding:2px 8px;text-align:right}td:first-child{text-align:left}")
+                .append(".bar{background:#4a90d9;height:10px}.worse{color:#c00}.better{color:#080}</style>\n");
+        html.append("</head>\n<body>\n<h1>Game of life benchmark</h1>\n");
+        html.append("<p>").append(Instant.now()).append(", Java ").append(escapeHtml(System.getProperty("java.version")))
+                .append(", ").append(Runtime.getRuntime().availableProcessors()).append(" processors, max heap ")
+                .append(Runtime.getRuntime().maxMemory() >> 20).append(" MB</p>\n");
+
+        TreeSet<Integer> sizes = new TreeSet<>();
+        for (BenchmarkResult result : results)
+            sizes.add(result.getScenario().getSize());
+        for (int size : sizes) {
+            double fastest = 0;
+            for (BenchmarkResult result : results)
+                if (result.getScenario().getSize() == size)
+                    fastest = Math.max(fastest, result.getGenerationsPerSecond());
+
+            html.append("<h2>").append(size).append(" x ").append(size).append(" cells</h2>\n<table>\n<tr>")
+                    .append("<th>scenario</th><th>generations/s</th><th></th><th>cell updates/s</th>")
+                    .append("<th>first generation ms</th><th>warm-up generations/s</th><th>allocated bytes/generation</th>")
+                    .append("<th>RSS MB</th><th>population</th><th>vs. reference</th>")
+                    .append(baseline != null ? "<th>vs. baseline</th>" : "").append("</tr>\n");
+            for (BenchmarkResult result : results) {
+                BenchmarkScenario scenario = result.getScenario();
+                if (scenario.getSize() != size)
+                    continue;
+                html.append("<tr><td>").append(escapeHtml(scenario.getName())).append("</td>");
+                if (result.getError() != null) {
+                    html.append("<td colspan=\"").append(baseline != null ? 10 : 9).append("\" class=\"worse\">")
+                            .append(escapeHtml(result.getError())).append("</td></tr>\n");
+                    continue;
+                }
+                int barWidth = fastest > 0 ? (int) Math.round(100 * result.getGenerationsPerSecond() / fastest) : 0;
+                html.append("<td>").append(String.format(Locale.ROOT, "%.1f", result.getGenerationsPerSecond()))
+                        .append("</td><td style=\"width:100px\"><div class=\"bar\" style=\"width:").append(barWidth)
+                        .append("px\"></div></td><td>").append(String.format(Locale.ROOT, "%.3g", result.getCellUpdatesPerSecond()))
+                        .append("</td><td>").append(String.format(Locale.ROOT, "%.1f", result.getFirstGenerationMillis()))
+                        .append("</td><td>").append(String.format(Locale.ROOT, "%.1f", result.getWarmupGenerationsPerSecond()))
+                        .append("</td><td>").append(formatOptional(result.getAllocatedBytesPerGeneration(), 0))
+                        .append("</td><td>").append(formatOptional(result.getResidentSetBytes(), 20))
+                        .append("</td><td>").append(result.getPopulation())
+                        .append("</td>").append(formatRatio(result.getGenerationsPerSecond(),
+                                referenceSpeeds.get(getNameWithoutEngine(scenario))));
+                if (baseline != null)
+                    html.append(formatRatio(result.getGenerationsPerSecond(), baseline.get(scenario.getName())));
+                html.append("</tr>\n");
+            }
+            html.append("</table>\n");
+        }
+        html.append("</body>\n</html>\n");
+        Files.writeString(file, html, StandardCharsets.UTF_8);
+    }
+
+    private static String getNameWithoutEngine(BenchmarkScenario scenario) {
+        return scenario.getName().substring(scenario.getName().indexOf('/'));
+    }
+
+    /**
+     * @return a table cell with the speed relative to the other speed (e.g. "2.50x") or an empty cell
+     * if there is no other speed
+     */
+    private static String formatRatio(double speed, Double otherSpeed) {
+        if (otherSpeed == null || otherSpeed <= 0)
+            return "<td></td>";
+        double ratio = speed / otherSpeed;
+        String style = ratio < 0.95 ? " class=\"worse\"" : ratio > 1.05 ? " class=\"better\"" : "";
+        return "<td" + style + ">" + String.format(Locale.ROOT, "%.2fx", ratio) + "</td>";
+    }
+
+    /**
+     * @param shift how many bits the value is shifted to the right (e.g. 20 for megabytes)
+     */
+    private static String formatOptional(long value, int shift) {
+        return value < 0 ? "" : String.valueOf(value >> shift);
+    }
+
+    private static String format(double value) {
+        return String.format(Locale.ROOT, "%.3f", value);
+    }
+
+    private static String escapeJson(String text) {
+        return text.replace("\\", "\\\\").replace("\"", "\\\"");
+    }
+
+    private static String escapeHtml(String text) {
+        return text.replace("&", "&amp;").replace("<", "&lt;").replace(">", "&gt;").replace("\"", "&quot;");
+    }
+}
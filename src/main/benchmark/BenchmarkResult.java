@@ -0,0 +1,104 @@
+package main.benchmark;
+
+/**
+ * The measurements of one {@link BenchmarkScenario}. Values which could not be measured are -1.
+ */
+public final class BenchmarkResult {
+    private final BenchmarkScenario scenario;
+    private final double firstGenerationMillis;
+    private final double warmupGenerationsPerSecond;
+    private final int generations;
+    private final double generationsPerSecond;
+    private final long allocatedBytesPerGeneration;
+    private final long residentSetBytes;
+    private final int population;
+    private final String error;
+
+    /**
+     * @param firstGenerationMillis       how long the first (cold) generation took
+     * @param warmupGenerationsPerSecond  the speed during the warm-up
+     * @param generations                 how many generations were measured after the warm-up
+     * @param generationsPerSecond        the speed after the warm-up (steady state)
+     * @param allocatedBytesPerGeneration heap allocated by the benchmark thread per measured generation
+     * @param residentSetBytes            the resident set size of the process after the measurement
+     * @param population                  the amount of living cells after the measurement
+     */
+    public BenchmarkResult(BenchmarkScenario scenario, double firstGenerationMillis, double warmupGenerationsPerSecond,
+                           int generations, double generationsPerSecond, long allocatedBytesPerGeneration,
+                           long residentSetBytes, int population) {
+        this.scenario = scenario;
+        this.firstGenerationMillis = firstGenerationMillis;
+        this.warmupGenerationsPerSecond = warmupGenerationsPerSecond;
+        this.generations = generations;
+        this.generationsPerSecond = generationsPerSecond;
+        this.allocatedBytesPerGeneration = allocatedBytesPerGeneration;
+        this.residentSetBytes = residentSetBytes;
+        this.population = population;
+        this.error = null;
+    }
+
+    /**
+     * Creates the result of a scenario which could not be run.
+     *
+     * @param error why the scenario could not be run (e.g. "out of memory")
+     */
+    public BenchmarkResult(BenchmarkScenario scenario, String error) {
+        this.scenario = scenario;
+        this.firstGenerationMillis = -1;
+        this.warmupGenerationsPerSecond = -1;
+        this.generations = 0;
+        this.generationsPerSecond = -1;
+        this.allocatedBytesPerGeneration = -1;
+        this.residentSetBytes = -1;
+        this.population = -1;
+        this.error = error;
+    }
+
+    public BenchmarkScenario getScenario() {
+        return scenario;
+    }
+
+    public double getFirstGenerationMillis() {
+        return firstGenerationMillis;
+    }
+
+    public double getWarmupGenerationsPerSecond() {
+        return warmupGenerationsPerSecond;
+    }
+
+    public int getGenerations() {
+        return generations;
+    }
+
+    public double getGenerationsPerSecond() {
+        return generationsPerSecond;
+    }
+
+    /**
+     * @return how many cells were computed per second after the warm-up (cells of the field times generations)
+     */
+    public double getCellUpdatesPerSecond() {
+        if (error != null)
+            return -1;
+        return (double) scenario.getSize() * scenario.getSize() * generationsPerSecond;
+    }
+
+    public long getAllocatedBytesPerGeneration() {
+        return allocatedBytesPerGeneration;
+    }
+
+    public long getResidentSetBytes() {
+        return residentSetBytes;
+    }
+
+    public int getPopulation() {
+        return population;
+    }
+
+    /**
+     * @return why the scenario could not be run or null if it was measured
+     */
+    public String getError() {
+        return error;
+    }
+}
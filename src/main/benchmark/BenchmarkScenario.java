@@ -0,0 +1,138 @@
+package main.benchmark;
+
+import main.model.GofCell;
+import main.model.SimulationEngine;
+import main.model.engine.SimulationEngines;
+import main.model.tiled.TileCoordinator;
+
+import java.awt.*;
+import java.io.IOException;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * One run of the benchmark matrix: which engine computes a field of which size with which first generation.
+ */
+public final class BenchmarkScenario {
+    /**
+     * Name of the engine of scenarios whose field is computed by tile worker processes ({@link TileCoordinator})
+     */
+    public static final String TILED_ENGINE = "tiled";
+
+    /**
+     * How the first generation is created
+     */
+    public enum Pattern {
+        /**
+         * Every cell is alive with the probability of the density
+         */
+        RANDOM,
+        /**
+         * The given positions (e.g. the first generation of resources/testPositions.csv) repeated over the whole field
+         */
+        POSITIONS
+    }
+
+    /**
+     * Distance between the repetitions of the positions in both directions
+     */
+    private static final int POSITIONS_SPACING = 10;
+
+    private final String engine;
+    private final int size;
+    private final Pattern pattern;
+    private final int density;
+    private final boolean colored;
+    private final int tileWorkers;
+
+    /**
+     * @param engine      the name of a registered engine (see {@link SimulationEngines}) or {@value #TILED_ENGINE}
+     * @param size        the height and the width of the field
+     * @param pattern     how the first generation is created
+     * @param density     percentage of living cells of a random first generation (ignored for other patterns)
+     * @param colored     whether the living cells get random colors of the palette or all the same color
+     * @param tileWorkers how many worker processes compute the field of the {@value #TILED_ENGINE} engine
+     *                    (0 for other engines)
+     */
+    public BenchmarkScenario(String engine, int size, Pattern pattern, int density, boolean colored, int tileWorkers) {
+        if (size <= 0 || density < 0 || density > 100)
+            throw new IllegalArgumentException("size must be positive and density between 0 and 100");
+        if (engine.equals(TILED_ENGINE) != tileWorkers > 0)
+            throw new IllegalArgumentException("only the " + TILED_ENGINE + " engine uses tile workers");
+        this.engine = engine;
+        this.size = size;
+        this.pattern = pattern;
+        this.density = pattern == Pattern.RANDOM ? density : 0;
+        this.colored = colored;
+        this.tileWorkers = tileWorkers;
+    }
+
+    /**
+     * @return a unique name of the scenario, e.g. "bitsliced/1024/random-30/colored"
+     */
+    public String getName() {
+        return (tileWorkers > 0 ? engine + "-" + tileWorkers : engine) + "/" + size + "/"
+                + (pattern == Pattern.RANDOM ? "random-" + density : "positions") + "/"
+                + (colored ? "colored" : "uncolored");
+    }
+
+    /**
+     * @return an empty field of the engine of this scenario
+     * @throws IOException if the tile workers could not be started
+     */
+    public SimulationEngine createEngine() throws IOException {
+        if (tileWorkers > 0)
+            return new TileCoordinator(size, size, tileWorkers);
+        return SimulationEngines.create(engine, size, size);
+    }
+
+    /**
+     * Creates the first generation of this scenario in the given field. The same scenario always creates the same
+     * first generation, so the engines can be compared.
+     *
+     * @param positions the living cells of the {@link Pattern#POSITIONS} pattern as rows and columns
+     */
+    public void populate(SimulationEngine field, List<int[]> positions) {
+        Random random = new Random(size);
+        if (pattern == Pattern.RANDOM) {
+            for (int row = 0; row < size; row++)
+                for (int column = 0; column < size; column++)
+                    if (random.nextInt(100) < density)
+                        field.setCellAt(row, column, true, getColor(random));
+        } else {
+            for (int row = 0; row < size; row += POSITIONS_SPACING)
+                for (int column = 0; column < size; column += POSITIONS_SPACING)
+                    for (int[] position : positions)
+                        // outside the field setCellAt does nothing
+                        field.setCellAt(row + position[0], column + position[1], true, getColor(random));
+        }
+    }
+
+    private Color getColor(Random random) {
+        return colored ? GofCell.PALETTE[random.nextInt(GofCell.PALETTE.length)] : GofCell.PALETTE[0];
+    }
+
+    public String getEngine() {
+        return engine;
+    }
+
+    public int getSize() {
+        return size;
+    }
+
+    public Pattern getPattern() {
+        return pattern;
+    }
+
+    public int getDensity() {
+        return density;
+    }
+
+    public boolean isColored() {
+        return colored;
+    }
+
+    public int getTileWorkers() {
+        return tileWorkers;
+    }
+}
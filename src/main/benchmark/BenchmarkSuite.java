@@ -0,0 +1,278 @@
+package main.benchmark;
+
+import main.benchmark.BenchmarkScenario.Pattern;
+import main.model.GameOfLife;
+import main.model.SimulationEngine;
+import main.model.engine.SimulationEngines;
+import main.model.tiled.TileCoordinator;
+
+import java.io.IOException;
+import java.io.PrintStream;
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+/**
+ * Runs a matrix of scenarios (engines, field sizes, first generations, colored or not, tile workers) without UI
+ * and writes the results as JSON and HTML report (see {@link BenchmarkReport}).
+ * Every scenario is run by a {@link GameOfLife}, so the measurements include everything the game of life does
+ * per generation (e.g. collecting the changed cells and the cycle detection).
+ * A scenario first computes generations until the warm-up time is over and then until the measuring time is over.
+ * Scenarios which need more memory than available are reported as failed, so the maximum heap (-Xmx)
+ * limits the sizes which can be measured. The allocations and the resident set size of tile worker processes
+ * are not measured.
+ * <p>
+ * Usage: java main.benchmark.BenchmarkSuite [--engines=reference,bitsliced] [--sizes=256,1024,4096,16384]
+ * [--densities=10,30] [--patterns=random,positions] [--colors=colored,uncolored] [--tiles=2,4]
+ * [--warmup-millis=1000] [--millis=2000] [--positions=resources/testPositions.csv]
+ * [--output=benchmark-report] [--baseline=earlier/report.json]
+ */
+public final class BenchmarkSuite {
+    private static final List<Integer> DEFAULT_SIZES = List.of(256, 1024, 4096, 16384);
+    private static final List<Integer> DEFAULT_DENSITIES = List.of(10, 30);
+    private static final long DEFAULT_WARMUP_MILLIS = 1000;
+    private static final long DEFAULT_MILLIS = 2000;
+    private static final String DEFAULT_POSITIONS = "resources/testPositions.csv";
+    private static final String DEFAULT_OUTPUT = "benchmark-report";
+
+    /**
+     * How many generations are computed at least during the warm-up and the measurement, even if it takes longer
+     */
+    private static final int MIN_GENERATIONS = 3;
+
+    private final long warmupNanos;
+    private final long measureNanos;
+    private final List<int[]> positions;
+
+    /**
+     * @param warmupMillis  how long the generations are computed before they are measured
+     * @param measureMillis how long the generations are measured
+     * @param positions     the living cells of the {@link Pattern#POSITIONS} pattern as rows and columns
+     */
+    public BenchmarkSuite(long warmupMillis, long measureMillis, List<int[]> positions) {
+        this.warmupNanos = warmupMillis * 1_000_000;
+        this.measureNanos = measureMillis * 1_000_000;
+        this.positions = positions;
+    }
+
+    public static void main(String[] args) throws IOException {
+        List<String> engines = SimulationEngines.getNames();
+        List<Integer> sizes = DEFAULT_SIZES;
+        List<Integer> densities = DEFAULT_DENSITIES;
+        List<Pattern> patterns = List.of(Pattern.values());
+        List<Boolean> colors = List.of(true, false);
+        List<Integer> tileWorkers = List.of();
+        long warmupMillis = DEFAULT_WARMUP_MILLIS;
+        long millis = DEFAULT_MILLIS;
+        Path positionsFile = Path.of(DEFAULT_POSITIONS);
+        Path output = Path.of(DEFAULT_OUTPUT);
+        Path baselineFile = null;
+        for (String arg : args) {
+            String value = arg.substring(arg.indexOf('=') + 1);
+            if (arg.startsWith("--engines="))
+                engines = split(value);
+            else if (arg.startsWith("--sizes="))
+                sizes = splitNumbers(value);
+            else if (arg.startsWith("--densities="))
+                densities = splitNumbers(value);
+            else if (arg.startsWith("--patterns="))
+                patterns = split(value).stream().map(name -> Pattern.valueOf(name.toUpperCase(Locale.ROOT)))
+                        .collect(Collectors.toList());
+            else if (arg.startsWith("--colors="))
+                colors = split(value).stream().map(name -> name.equals("colored")).collect(Collectors.toList());
+            else if (arg.startsWith("--tiles="))
+                tileWorkers = splitNumbers(value);
+            else if (arg.startsWith("--warmup-millis="))
+                warmupMillis = Long.parseLong(value);
+            else if (arg.startsWith("--millis="))
+                millis = Long.parseLong(value);
+            else if (arg.startsWith("--positions="))
+                positionsFile = Path.of(value);
+            else if (arg.startsWith("--output="))
+                output = Path.of(value);
+            else if (arg.startsWith("--baseline="))
+                baselineFile = Path.of(value);
+            else
+                throw new IllegalArgumentException("unknown argument: " + arg);
+        }
+
+        List<BenchmarkScenario> scenarios = createMatrix(engines, sizes, densities, patterns, colors, tileWorkers);
+        BenchmarkSuite suite = new BenchmarkSuite(warmupMillis, millis, loadPositions(positionsFile));
+        List<BenchmarkResult> results = suite.run(scenarios, System.out);
+
+        Files.createDirectories(output);
+        BenchmarkReport.writeJson(results, output.resolve("report.json"));
+        Map<String, Double> baseline = baselineFile != null ? BenchmarkReport.readGenerationsPerSecond(baselineFile) : null;
+        BenchmarkReport.writeHtml(results, baseline, output.resolve("report.html"));
+        System.out.println("Report written to " + output.toAbsolutePath());
+    }
+
+    /**
+     * Creates the scenarios of all combinations of the given values. The scenarios of the same field and first
+     * generation follow each other, so the engines can be compared easily. The densities are only combined
+     * with the random pattern.
+     *
+     * @param tileWorkers for every amount the scenarios are also run by the {@value BenchmarkScenario#TILED_ENGINE}
+     *                    engine with this amount of worker processes
+     */
+    public static List<BenchmarkScenario> createMatrix(List<String> engines, List<Integer> sizes, List<Integer> densities,
+                                                       List<Pattern> patterns, List<Boolean> colors,
+                                                       List<Integer> tileWorkers) {
+        ArrayList<BenchmarkScenario> scenarios = new ArrayList<>();
+        for (int size : sizes)
+            for (Pattern pattern : patterns)
+                for (int density : pattern == Pattern.RANDOM ? densities : List.of(0))
+                    for (boolean colored : colors) {
+                        for (String engine : engines)
+                            scenarios.add(new BenchmarkScenario(engine, size, pattern, density, colored, 0));
+                        for (int workers : tileWorkers)
+                            scenarios.add(new BenchmarkScenario(BenchmarkScenario.TILED_ENGINE, size, pattern, density,
+                                    colored, workers));
+                    }
+        return scenarios;
+    }
+
+    /**
+     * Runs the scenarios one after another.
+     *
+     * @param progress gets one line per scenario or null
+     */
+    public List<BenchmarkResult> run(List<BenchmarkScenario> scenarios, PrintStream progress) {
+        ArrayList<BenchmarkResult> results = new ArrayList<>();
+        for (int i = 0; i < scenarios.size(); i++) {
+            BenchmarkResult result = run(scenarios.get(i));
+            results.add(result);
+            if (progress != null)
+                progress.printf(Locale.ROOT, "[%d/%d] %-40s %s%n", i + 1, scenarios.size(), result.getScenario().getName(),
+                        result.getError() != null ? result.getError()
+                                : String.format(Locale.ROOT, "%10.1f generations/s %12.3g cells/s",
+                                result.getGenerationsPerSecond(), result.getCellUpdatesPerSecond()));
+        }
+        return results;
+    }
+
+    /**
+     * Runs one scenario: the first generation, the warm-up and the measurement.
+     */
+    public BenchmarkResult run(BenchmarkScenario scenario) {
+        SimulationEngine field = null;
+        try {
+            field = scenario.createEngine();
+            // the first generation is created in the field, so it is not saved as manipulations
+            scenario.populate(field, positions);
+            GameOfLife gof = new GameOfLife(field);
+
+            long startTime = System.nanoTime();
+            gof.loadNextGeneration();
+            double firstGenerationMillis = (System.nanoTime() - startTime) / 1e6;
+
+            startTime = System.nanoTime();
+            int warmupGenerations = runFor(gof, warmupNanos);
+            double warmupGenerationsPerSecond = warmupGenerations / ((System.nanoTime() - startTime) / 1e9);
+
+            long allocatedBytes = getAllocatedBytes();
+            startTime = System.nanoTime();
+            int generations = runFor(gof, measureNanos);
+            double generationsPerSecond = generations / ((System.nanoTime() - startTime) / 1e9);
+            long allocatedBytesPerGeneration = allocatedBytes < 0 ? -1 : (getAllocatedBytes() - allocatedBytes) / generations;
+
+            return new BenchmarkResult(scenario, firstGenerationMillis, warmupGenerationsPerSecond, generations,
+                    generationsPerSecond, allocatedBytesPerGeneration, getResidentSetBytes(),
+                    gof.getStatistics().getPopulation());
+        } catch (OutOfMemoryError e) {
+            return new BenchmarkResult(scenario, "out of memory");
+        } catch (IOException e) {
+            return new BenchmarkResult(scenario, "could not start the tile workers: " + e.getMessage());
+        } finally {
+            // engines with memory outside the heap free it now instead of when they are garbage collected,
+            // so it does not count for the following scenarios (the memory is only released without living cells)
+            if (field != null)
+                try {
+                    field.killAllCells();
+                    field.release();
+                } catch (RuntimeException | OutOfMemoryError ignored) {
+                    // the field is not used anymore
+                }
+            if (field instanceof TileCoordinator)
+                try {
+                    ((TileCoordinator) field).close();
+                } catch (IOException ignored) {
+                    // the workers are gone anyway
+                }
+        }
+    }
+
+    /**
+     * Computes generations until the given time is over, but at least {@value #MIN_GENERATIONS}.
+     *
+     * @return how many generations were computed
+     */
+    private static int runFor(GameOfLife gof, long nanos) {
+        long endTime = System.nanoTime() + nanos;
+        int generations = 0;
+        while (generations < MIN_GENERATIONS || System.nanoTime() < endTime) {
+            gof.loadNextGeneration();
+            generations++;
+        }
+        return generations;
+    }
+
+    /**
+     * @return how many bytes the current thread allocated since it was started or -1 if this is not supported
+     */
+    private static long getAllocatedBytes() {
+        ThreadMXBean bean = ManagementFactory.getThreadMXBean();
+        if (bean instanceof com.sun.management.ThreadMXBean
+                && ((com.sun.management.ThreadMXBean) bean).isThreadAllocatedMemorySupported())
+            return ((com.sun.management.ThreadMXBean) bean).getCurrentThreadAllocatedBytes();
+        return -1;
+    }
+
+    /**
+     * @return the resident set size of this process or -1 if it is unknown (it is only read on Linux)
+     */
+    private static long getResidentSetBytes() {
+        try {
+            for (String line : Files.readAllLines(Path.of("/proc/self/status")))
+                if (line.startsWith("VmRSS:"))
+                    return Long.parseLong(line.replaceAll("[^0-9]", "")) * 1024;
+        } catch (IOException | NumberFormatException ignored) {
+            // not available on this system
+        }
+        return -1;
+    }
+
+    /**
+     * Loads the living cells of the first generation (the first line) of a file with generations like
+     * resources/testPositions.csv: the cells are separated by commas, row and column of a cell by a point.
+     *
+     * @return the rows and columns of the cells
+     */
+    public static List<int[]> loadPositions(Path file) throws IOException {
+        ArrayList<int[]> positions = new ArrayList<>();
+        List<String> lines = Files.readAllLines(file);
+        if (lines.isEmpty())
+            return positions;
+        for (String position : lines.get(0).split(",")) {
+            String[] coordinates = position.trim().split("\\.");
+            positions.add(new int[]{Integer.parseInt(coordinates[0]), Integer.parseInt(coordinates[1])});
+        }
+        return positions;
+    }
+
+    private static List<String> split(String values) {
+        return Arrays.stream(values.split(",")).map(String::trim).filter(value -> !value.isEmpty())
+                .collect(Collectors.toList());
+    }
+
+    private static List<Integer> splitNumbers(String values) {
+        return split(values).stream().map(Integer::parseInt).collect(Collectors.toList());
+    }
+}
@@ -0,0 +1,54 @@
+package main.benchmark;
+
+import main.model.GofCell;
+import main.model.SimulationEngine;
+import main.model.engine.SimulationEngines;
+
+import java.util.Random;
+
+/**
+ * Compares how many generations per second the registered engines (see {@link SimulationEngines}) compute.
+ * Every field gets the same random first generation and is warmed up before it is measured.
+ * <p>
+ * Usage: java main.benchmark.EngineBenchmark [size] [generations]
+ */
+public final class EngineBenchmark {
+    private static final int DEFAULT_SIZE = 1024;
+    private static final int DEFAULT_GENERATIONS = 200;
+    private static final int WARMUP_GENERATIONS = 50;
+
+    /**
+     * Percentage of living cells in the first generation
+     */
+    private static final int COVERAGE = 30;
+
+    private EngineBenchmark() {
+        throw new UnsupportedOperationException();
+    }
+
+    public static void main(String[] args) {
+        int size = args.length > 0 ? Integer.parseInt(args[0]) : DEFAULT_SIZE;
+        int generations = args.length > 1 ? Integer.parseInt(args[1]) : DEFAULT_GENERATIONS;
+
+        System.out.printf("%d x %d cells, %d generations%n", size, size, generations);
+        for (String engine : SimulationEngines.getNames())
+            run(engine, size, generations);
+    }
+
+    private static void run(String engine, int size, int generations) {
+        SimulationEngine field = SimulationEngines.create(engine, size, size);
+        Random random = new Random(1);
+        for (int row = 0; row < size; row++)
+            for (int column = 0; column < size; column++)
+                if (random.nextInt(100) < COVERAGE)
+                    field.setCellAt(row, column, true, GofCell.PALETTE[random.nextInt(GofCell.PALETTE.length)]);
+
+        field.getNextGenerations(WARMUP_GENERATIONS);
+
+        long startTime = System.nanoTime();
+        field.getNextGenerations(generations);
+        double seconds = (System.nanoTime() - startTime) / 1e9;
+        System.out.printf("%-12s %10.1f generations/s %14.0f cells/s  (population %d)%n", engine,
+                generations / seconds, (double) size * size * generations / seconds, field.getStatistics().getPopulation());
+    }
+}
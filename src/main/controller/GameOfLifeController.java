@@ -1,13 +1,19 @@
 package main.controller;
 
 import main.model.GameOfLife;
-import main.utility.IconProvider;
+import main.model.StatisticsRecorder;
 import main.view.controlpanel.BottomControlPanel;
 import main.view.controlpanel.TopControlPanel;
 import main.view.FieldPanel;
 import main.view.MainFrame;
+import main.view.SparklinePanel;
 
 import javax.swing.*;
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
 
 /**
  * Mediator between the logic and the UI
@@ -17,12 +23,18 @@ public class GameOfLifeController {
     private final FieldPanel fieldPanel;
     private final TopControlPanel topControlPanel;
     private final BottomControlPanel bottomControlPanel;
+    private final SparklinePanel sparklinePanel;
 
     private final GameOfLife gameOfLife;
 
     private int delay = 1000;
     private final Timer timer;
 
+    /**
+     * How many generations the statistics recorder keeps
+     */
+    private static final int RECORDED_GENERATIONS = 100_000;
+
 
     public GameOfLifeController(GameOfLife gol, MainFrame frame) {
         this.gameOfLife = gol;
@@ -30,6 +42,7 @@ public class GameOfLifeController {
         this.fieldPanel = frame.getFieldPanel();
         this.topControlPanel = frame.getTopControlPanel();
         this.bottomControlPanel = frame.getBottomControlPanel();
+        this.sparklinePanel = frame.getSparklinePanel();
 
         // init ui with values from gameOfLifeField and add actionListener
         init();
@@ -37,38 +50,48 @@ public class GameOfLifeController {
         gameOfLife.register(fieldPanel);
         gameOfLife.register(topControlPanel);
 
-        this.timer = new Timer(delay, (e) -> gameOfLife.loadNextGeneration());
+        // record the statistics of all generations so that they can be exported and plotted
+        if (gameOfLife.getStatisticsRecorder() == null)
+            gameOfLife.setStatisticsRecorder(new StatisticsRecorder(RECORDED_GENERATIONS));
+        gameOfLife.register(sparklinePanel);
+
+        // track the ages of the cells only while the heat map of the field panel is shown,
+        // because the tracking costs a pass over the whole field per step
+        fieldPanel.addHeatMapChangeListener((e) -> {
+            gameOfLife.setAgeTracking(fieldPanel.isHeatMap());
+            fieldPanel.setAgePlane(gameOfLife.getAgePlane());
+        });
+
+        this.timer = new Timer(delay, (e) -> {
+            gameOfLife.loadNextGeneration();
+            // stop the game of life if it only repeats itself and the user wants it to stop then
+            if (isGameOfLiveRunning() && topControlPanel.isStopOnCycleSelected() && gameOfLife.isCycleDetected())
+                stopGameOfLive();
+        });
         timer.setInitialDelay(50);
     }
 
     private void init() {
-        // --- initialize fieldPanel with values from gameOfLifeField and pass ActionListener for buttons
-        fieldPanel.addButtonActionListener((e) -> {
-            if (e.getSource() instanceof JButton btn) {
-                boolean alive = btn.getActionCommand().split(",")[0].equals("alive");
-                int row = Integer.parseInt(btn.getActionCommand().split(",")[1]);
-                int column = Integer.parseInt(btn.getActionCommand().split(",")[2]);
-                // toggle the life state of the cell
-                if (alive)
-                    gameOfLife.killCellAt(row, column);
-                else
-                    gameOfLife.reviveCellAt(row, column, bottomControlPanel.getCurrentColor());
-            }
+        // --- pass ActionListener for clicked cells to the fieldPanel
+        fieldPanel.addCellActionListener((e) -> {
+            String[] actionCommand = e.getActionCommand().split(",");
+            boolean alive = actionCommand[0].equals("alive");
+            int row = Integer.parseInt(actionCommand[1]);
+            int column = Integer.parseInt(actionCommand[2]);
+            // toggle the life state of the cell
+            if (alive)
+                gameOfLife.killCellAt(row, column);
+            else
+                gameOfLife.reviveCellAt(row, column, bottomControlPanel.getCurrentColor());
         });
 
         // --- set ActionListener of ControlPanel
         // start/restart button
         topControlPanel.addStartRestartBtnActionListener((e) -> {
-            if (e.getSource() instanceof JButton startRestartButton)
-                if (isGameOfLiveRunning()) {
-                    stopGameOfLive();
-                    startRestartButton.setIcon(IconProvider.getIcon(IconProvider.Icon.START));
-                    startRestartButton.setToolTipText("Start the game of life");
-                } else {
-                    startGameOfLive();
-                    startRestartButton.setIcon(IconProvider.getIcon(IconProvider.Icon.STOP));
-                    startRestartButton.setToolTipText("Stop the game of life");
-                }
+            if (isGameOfLiveRunning())
+                stopGameOfLive();
+            else
+                startGameOfLive();
         });
 
         // next button
@@ -106,27 +129,107 @@ public class GameOfLifeController {
         topControlPanel.addGotToTextFieldActionListener((e) -> {
             if (e.getSource() instanceof JTextField textField) {
                 try {
-                    gameOfLife.goToGeneration(Integer.parseInt(textField.getText()));
+                    goToGenerationInBackground(Integer.parseInt(textField.getText()));
                 } catch (NumberFormatException ex) {
                     JOptionPane.showMessageDialog(null, JOptionPane.ERROR_MESSAGE, "Ungültige Eingabe", JOptionPane.ERROR_MESSAGE);
                 }
             }
         });
 
+        // history slider: archived generations are loaded at once, so they are shown while the slider is dragged
+        topControlPanel.addHistorySliderChangeListener((e) -> {
+            if (e.getSource() instanceof JSlider historySlider) {
+                if (isGameOfLiveRunning())
+                    stopGameOfLive();
+                int generation = historySlider.getValue();
+                if (gameOfLife.getHistoryArchive().contains(generation))
+                    gameOfLife.goToGeneration(generation);
+                else if (!historySlider.getValueIsAdjusting())
+                    goToGenerationInBackground(generation);
+            }
+        });
+
         //
         topControlPanel.addPreviousGenerationButtonActionListener((e) -> {
-            gameOfLife.goToGeneration(gameOfLife.getGenerationCounter() - 1);
+            goToGenerationInBackground(gameOfLife.getGenerationCounter() - 1);
         });
 
+        // export statistics button
+        topControlPanel.addExportStatisticsBtnActionListener((e) -> exportStatistics());
+
         mainFrame.setVisible(true);
     }
 
+    /**
+     * Lets the user choose a file and writes the recorded statistics into it.
+     * Files ending with ".csv" are written as csv file, all other files as binary file.
+     */
+    private void exportStatistics() {
+        JFileChooser fileChooser = new JFileChooser();
+        fileChooser.setSelectedFile(new File("statistics.csv"));
+        if (fileChooser.showSaveDialog(mainFrame) != JFileChooser.APPROVE_OPTION)
+            return;
+
+        Path path = fileChooser.getSelectedFile().toPath();
+        try {
+            if (path.toString().toLowerCase().endsWith(".csv"))
+                gameOfLife.getStatisticsRecorder().writeCsv(path);
+            else
+                gameOfLife.getStatisticsRecorder().writeBinary(path);
+        } catch (IOException ex) {
+            JOptionPane.showMessageDialog(mainFrame, ex.getMessage(), "Export failed", JOptionPane.ERROR_MESSAGE);
+        }
+    }
+
+    /**
+     * Goes to the given generation in a background thread, so the UI stays responsive.
+     * A progress dialog with a cancel button appears if this takes a while. The frame is disabled meanwhile,
+     * because the game of life must not be used by the UI until the observers are notified at the end.
+     * If the seek is cancelled, the game of life stays in the generation reached so far.
+     *
+     * @param generation The number of the generation
+     */
+    private void goToGenerationInBackground(int generation) {
+        if (generation <= 0 || generation == gameOfLife.getGenerationCounter())
+            return;
+        if (isGameOfLiveRunning())
+            stopGameOfLive();
+
+        ProgressMonitor progressMonitor = new ProgressMonitor(mainFrame, "Going to generation " + generation,
+                null, 0, generation);
+        mainFrame.setEnabled(false);
+        new SwingWorker<Boolean, Integer>() {
+            @Override
+            protected Boolean doInBackground() {
+                return gameOfLife.seekToGeneration(generation, this::publish, progressMonitor::isCanceled);
+            }
+
+            @Override
+            protected void process(List<Integer> reachedGenerations) {
+                progressMonitor.setProgress(reachedGenerations.get(reachedGenerations.size() - 1));
+            }
+
+            @Override
+            protected void done() {
+                progressMonitor.close();
+                mainFrame.setEnabled(true);
+                gameOfLife.notifyObservers();
+                try {
+                    get();
+                } catch (InterruptedException | ExecutionException ex) {
+                    JOptionPane.showMessageDialog(mainFrame, ex.getMessage(), "Going to generation failed", JOptionPane.ERROR_MESSAGE);
+                }
+            }
+        }.execute();
+    }
+
     /**
      * Starts the timer so that it is firing events periodically with the given delay causing to load the next generation
      */
     public void startGameOfLive() {
         timer.setRepeats(true);
         timer.restart();
+        topControlPanel.setRunningState(true);
     }
 
     /**
@@ -134,6 +237,7 @@ public class GameOfLifeController {
      */
     public void stopGameOfLive() {
         timer.stop();
+        topControlPanel.setRunningState(false);
     }
 
     /**
@@ -0,0 +1,75 @@
+package main.model;
+
+import java.util.Arrays;
+
+/**
+ * The age of every cell of a field: how many generations ago the cell got its current life state or color.
+ * For a living cell this is how long it has been alive continuously.
+ * The plane stores the generation in which every cell changed the last time, so a step only costs the changed cells
+ * and the age of a cell is the difference to the current generation, which stops counting at {@link #MAX_AGE}.
+ * If the game of life goes back to an earlier generation, the ages are unknown and all cells get the age 0.
+ */
+public class AgePlane {
+    /**
+     * The highest age that is counted. Older cells keep this age.
+     */
+    public static final int MAX_AGE = Short.MAX_VALUE;
+
+    private final int width;
+
+    /**
+     * The generation in which every cell changed the last time row by row (never after the current generation)
+     */
+    private final int[] changeGenerations;
+    private int generation;
+
+    /**
+     * Create a plane in which all cells have the age 0 in the given generation.
+     */
+    public AgePlane(int height, int width, int generation) {
+        this.width = width;
+        changeGenerations = new int[height * width];
+        this.generation = generation;
+        Arrays.fill(changeGenerations, generation);
+    }
+
+    /**
+     * Set the generation the ages refer to. All cells get the age 0 if the generation is before the current one.
+     */
+    public void setGeneration(int generation) {
+        if (generation < this.generation)
+            clear(generation);
+        this.generation = generation;
+    }
+
+    /**
+     * Sets the age of a cell which got a new life state or color in the given generation to 0.
+     * The given generation becomes the current one (see {@link #setGeneration(int)}).
+     *
+     * @param index      index of the cell (row * width + column)
+     * @param generation the generation in which the cell changed
+     */
+    public void cellChanged(int index, int generation) {
+        setGeneration(generation);
+        changeGenerations[index] = generation;
+    }
+
+    /**
+     * Sets the age of all cells to 0 in the given generation, which becomes the current one.
+     */
+    public void clear(int generation) {
+        Arrays.fill(changeGenerations, generation);
+        this.generation = generation;
+    }
+
+    public int getAge(int row, int column) {
+        return getAge(row * width + column);
+    }
+
+    /**
+     * @param index index of the cell (row * width + column)
+     */
+    public int getAge(int index) {
+        return Math.min(MAX_AGE, generation - changeGenerations[index]);
+    }
+}
@@ -0,0 +1,290 @@
+package main.model;
+
+import java.awt.*;
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Saves the state of a game of life (see {@link GameOfLife#setAutosave(Autosave)}) every N generations or seconds
+ * (checked after every step, manipulation and reset),
+ * so a session can be restored after the program died (see {@link #restore(Path, Path, GameOfLife)}).
+ * The simulation thread only copies the field and the manipulations, compressing and writing them
+ * is done by a background thread. While a save is written, no further save is started, so saving never lets
+ * the simulation wait. The file is written next to the old one and then moved over it,
+ * so there is always a complete save.
+ * <p>
+ * The file is compressed with gzip and contains (big endian): the magic number (long), height and width of the field
+ * and the generation (int), the session id and the record count of the journal at the time of the save
+ * (long, both 0 without journal), the amount of manipulated generations (int) and for each of them the generation and
+ * the amount of cells (int), followed by the index and the rgb value (0 for dead cells) of every cell (int).
+ * At the end follow the rgb values of all cells of the field row by row (int, 0 for dead cells).
+ */
+public class Autosave implements AutoCloseable {
+    /**
+     * First bytes of an autosave file
+     */
+    public static final long FILE_MAGIC = 0x474F4C4155544F53L; // "GOLAUTOS"
+
+    private static final int BUFFER_SIZE = 64 * 1024;
+
+    private final Path file;
+    private final int generationInterval;
+    private final long intervalNanos;
+
+    private final ExecutorService writer = Executors.newSingleThreadExecutor(r -> {
+        Thread thread = new Thread(r, "autosave");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    /**
+     * true while a save is written
+     */
+    private final AtomicBoolean writing = new AtomicBoolean(false);
+    private volatile Future<?> lastWrite = null;
+    private volatile IOException lastError = null;
+
+    /*
+     * The generation and the time of the last save (or when the autosave was set for a game of life)
+     */
+    private int lastSavedGeneration = 1;
+    private long lastSaveTime = System.nanoTime();
+
+    /**
+     * Create an autosave. A save is started when one of the intervals has passed since the last save.
+     *
+     * @param file               the file the saves are written to
+     * @param generationInterval after how many generations the game of life is saved (0 for never)
+     * @param intervalSeconds    after how many seconds the game of life is saved (0 for never)
+     */
+    public Autosave(Path file, int generationInterval, long intervalSeconds) {
+        if (generationInterval < 0 || intervalSeconds < 0)
+            throw new IllegalArgumentException("the intervals must not be negative");
+        this.file = file;
+        this.generationInterval = generationInterval;
+        this.intervalNanos = TimeUnit.SECONDS.toNanos(intervalSeconds);
+    }
+
+    public Path getFile() {
+        return file;
+    }
+
+    /**
+     * @return the error of the last save that failed or null if all saves were written
+     */
+    public IOException getLastError() {
+        return lastError;
+    }
+
+    /**
+     * Called by the game of life when the autosave is set, so the intervals start in the current generation.
+     */
+    void started(int generation) {
+        lastSavedGeneration = generation;
+        lastSaveTime = System.nanoTime();
+    }
+
+    /**
+     * Called by the game of life after it computed generations. Saves it if one of the intervals has passed.
+     */
+    void generationsComputed(GameOfLife gof) {
+        boolean generationsPassed = generationInterval > 0
+                && Math.abs(gof.getGenerationCounter() - lastSavedGeneration) >= generationInterval;
+        boolean timePassed = intervalNanos > 0 && System.nanoTime() - lastSaveTime >= intervalNanos;
+        if (generationsPassed || timePassed)
+            save(gof);
+    }
+
+    /**
+     * Called by the game of life after a manipulation or a reset. Saves it if the time interval has passed,
+     * so the game of life is also saved while no generations are computed.
+     */
+    void manipulated(GameOfLife gof) {
+        if (intervalNanos > 0 && System.nanoTime() - lastSaveTime >= intervalNanos)
+            save(gof);
+    }
+
+    /**
+     * Copies the state of the given game of life and writes it in the background.
+     * This must be called by the thread using the game of life.
+     *
+     * @return false if the state was not copied, because the last save is still written or the autosave is closed
+     */
+    public boolean save(GameOfLife gof) {
+        if (writer.isShutdown() || !writing.compareAndSet(false, true))
+            return false;
+
+        int generation = gof.getGenerationCounter();
+        FieldSnapshot snapshot = gof.createFieldSnapshot();
+        HashMap<Integer, ArrayList<GofCell>> manipulations = gof.copyManipulations();
+        ManipulationJournal journal = gof.getJournal();
+        long sessionId = journal != null ? journal.getSessionId() : 0;
+        long recordCount = journal != null ? journal.getRecordCount() : 0;
+        lastSavedGeneration = generation;
+        lastSaveTime = System.nanoTime();
+
+        try {
+            lastWrite = writer.submit(() -> {
+                try {
+                    // the records after the saved record count have to be in the file, when the save is used
+                    if (journal != null)
+                        journal.flush();
+                    write(generation, snapshot, manipulations, sessionId, recordCount);
+                    lastError = null;
+                } catch (IOException e) {
+                    lastError = e;
+                } finally {
+                    writing.set(false);
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            // closed meanwhile by another thread
+            writing.set(false);
+            return false;
+        }
+        return true;
+    }
+
+    /**
+     * Waits until the last started save is written.
+     */
+    public void awaitWrite() throws IOException {
+        Future<?> write = lastWrite;
+        if (write == null)
+            return;
+        try {
+            write.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (ExecutionException e) {
+            throw new IOException(e.getCause());
+        }
+        if (lastError != null)
+            throw lastError;
+    }
+
+    /**
+     * Waits until the last started save is written and stops the background thread. Saves are not started anymore.
+     */
+    @Override
+    public void close() throws IOException {
+        try {
+            awaitWrite();
+        } finally {
+            writer.shutdown();
+        }
+    }
+
+    private void write(int generation, FieldSnapshot snapshot, HashMap<Integer, ArrayList<GofCell>> manipulations,
+                       long sessionId, long recordCount) throws IOException {
+        int width = snapshot.getWidth();
+        Path temporaryFile = file.resolveSibling(file.getFileName() + ".tmp");
+        try (FileOutputStream fileOut = new FileOutputStream(temporaryFile.toFile())) {
+            // the gzip stream is finished without closing the file, so the file can be synced afterwards
+            GZIPOutputStream gzip = new GZIPOutputStream(fileOut, BUFFER_SIZE);
+            DataOutputStream out = new DataOutputStream(new BufferedOutputStream(gzip, BUFFER_SIZE));
+            out.writeLong(FILE_MAGIC);
+            out.writeInt(snapshot.getHeight());
+            out.writeInt(width);
+            out.writeInt(generation);
+            out.writeLong(sessionId);
+            out.writeLong(recordCount);
+
+            out.writeInt(manipulations.size());
+            for (Map.Entry<Integer, ArrayList<GofCell>> entry : manipulations.entrySet()) {
+                out.writeInt(entry.getKey());
+                out.writeInt(entry.getValue().size());
+                for (GofCell cell : entry.getValue()) {
+                    out.writeInt(cell.getRow() * width + cell.getColumn());
+                    out.writeInt(cell.isAlive() ? cell.getColor().getRGB() : 0);
+                }
+            }
+
+            for (int row = 0; row < snapshot.getHeight(); row++)
+                for (int column = 0; column < width; column++)
+                    out.writeInt(snapshot.isAliveAt(row, column) ? snapshot.getColorAt(row, column).getRGB() : 0);
+
+            out.flush();
+            gzip.finish();
+            // the save must be on the disk before it replaces the old one
+            fileOut.getFD().sync();
+        }
+        Files.move(temporaryFile, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    /**
+     * Restores the game of life saved in the given file: the generation, the field and the manipulations.
+     * If a journal is given and it was written during the same session, the manipulations and resets written to it
+     * after the save are repeated (see {@link ManipulationJournal}), so nothing the user did is lost.
+     * This must be done before a journal is set for the game of life, otherwise the repeated manipulations
+     * are written to it.
+     *
+     * @param journalFile the journal of the session or null
+     * @param gof         a game of life with a field of the saved size, which is replaced by the saved one
+     * @return false if the journal does not exist or belongs to another session, so its manipulations were not repeated
+     * @throws IOException if the file can not be read, is not an autosave or the size does not match
+     */
+    public static boolean restore(Path file, Path journalFile, GameOfLife gof) throws IOException {
+        long sessionId;
+        long recordCount;
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(
+                new GZIPInputStream(Files.newInputStream(file)), BUFFER_SIZE))) {
+            if (in.readLong() != FILE_MAGIC)
+                throw new IOException(file + " is not an autosave");
+            int height = in.readInt();
+            int width = in.readInt();
+            if (height != gof.getFieldHeight() || width != gof.getFieldWidth())
+                throw new IOException(file + " contains a field of another size");
+            int generation = in.readInt();
+            sessionId = in.readLong();
+            recordCount = in.readLong();
+
+            HashMap<Integer, ArrayList<GofCell>> manipulations = new HashMap<>();
+            int manipulatedGenerations = in.readInt();
+            for (int i = 0; i < manipulatedGenerations; i++) {
+                int manipulatedGeneration = in.readInt();
+                int cellCount = in.readInt();
+                ArrayList<GofCell> cells = new ArrayList<>(cellCount);
+                for (int k = 0; k < cellCount; k++) {
+                    int index = in.readInt();
+                    int rgb = in.readInt();
+                    GofCell cell = new GofCell(index / width, index % width);
+                    cell.set(rgb != 0, rgb != 0 ? GofCell.colorOf(rgb) : GofCell.DEAD_CELL_COLOR);
+                    cells.add(cell);
+                }
+                manipulations.put(manipulatedGeneration, cells);
+            }
+
+            Color[] colors = new Color[height * width];
+            for (int index = 0; index < colors.length; index++) {
+                int rgb = in.readInt();
+                if (rgb != 0)
+                    colors[index] = GofCell.colorOf(rgb);
+            }
+            gof.restore(generation, new FieldSnapshot(height, width, colors), manipulations);
+        }
+
+        if (journalFile == null || sessionId == 0 || !Files.exists(journalFile))
+            return journalFile == null;
+        return ManipulationJournal.repeat(journalFile, sessionId, recordCount, gof);
+    }
+}
@@ -0,0 +1,189 @@
+package main.model;
+
+import java.awt.*;
+import java.util.Arrays;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * The changes of a field since the observers were notified the last time: the cells which got a new life state
+ * or color (as index in the field and rgb value, 0 for dead cells) and the number of the current generation
+ * and its statistics. Every cell is contained once with its final state in the order the cells changed first,
+ * except in events merged for observers which get the events asynchronously.
+ * <p>
+ * The same event is delivered to every observer, so it must not be changed by them.
+ * Events are reused: an observer which uses an event after its update method has returned
+ * has to call {@link #retain()} during the update and {@link #release()} when it does not need the event anymore.
+ */
+public final class ChangeEvent {
+    private final ChangeEventPool pool;
+    private final int fieldWidth;
+
+    /*
+     * Index in the field and new rgb value of every change
+     */
+    private int[] indices = new int[64];
+    private int[] rgbs = new int[64];
+    private int changeCount = 0;
+
+    private int generation;
+    private int population;
+    private int births;
+    private int deaths;
+    private double coverage;
+
+    /**
+     * How many users the event has. When it drops to 0, the event is returned to the pool.
+     */
+    private final AtomicInteger referenceCount = new AtomicInteger();
+
+    ChangeEvent(ChangeEventPool pool, int fieldWidth) {
+        this.pool = pool;
+        this.fieldWidth = fieldWidth;
+    }
+
+    /**
+     * Prepares the event for a new use with one reference (the creator of the event).
+     */
+    void reset() {
+        changeCount = 0;
+        referenceCount.set(1);
+    }
+
+    /**
+     * Adds the change of a cell. If a cell is changed multiple times, the last change describes its state.
+     *
+     * @param index index of the cell in the field (row * width + column)
+     * @param rgb   the new rgb value of the cell (0 for a dead cell)
+     */
+    void addChange(int index, int rgb) {
+        if (changeCount == indices.length) {
+            indices = Arrays.copyOf(indices, 2 * changeCount);
+            rgbs = Arrays.copyOf(rgbs, 2 * changeCount);
+        }
+        indices[changeCount] = index;
+        rgbs[changeCount] = rgb;
+        changeCount++;
+    }
+
+    /**
+     * Sets the generation and the statistics the field has after the changes.
+     */
+    void setState(int generation, FieldStatistics statistics) {
+        this.generation = generation;
+        population = statistics.getPopulation();
+        births = statistics.getBirths();
+        deaths = statistics.getDeaths();
+        coverage = statistics.getCoverage();
+    }
+
+    /**
+     * @return a new event with one reference containing the changes of this event followed by the changes
+     * of the later event and the generation and the statistics of the later event
+     */
+    ChangeEvent merge(ChangeEvent later) {
+        ChangeEvent merged = pool.acquire();
+        for (int i = 0; i < changeCount; i++)
+            merged.addChange(indices[i], rgbs[i]);
+        for (int i = 0; i < later.changeCount; i++)
+            merged.addChange(later.indices[i], later.rgbs[i]);
+        merged.generation = later.generation;
+        merged.population = later.population;
+        merged.births = later.births;
+        merged.deaths = later.deaths;
+        merged.coverage = later.coverage;
+        return merged;
+    }
+
+    /**
+     * Adds a user of the event, who has to call {@link #release()} when the event is not needed anymore.
+     *
+     * @throws IllegalStateException if the event was already released by all users
+     */
+    public void retain() {
+        if (referenceCount.getAndUpdate(count -> count > 0 ? count + 1 : count) <= 0)
+            throw new IllegalStateException("the event was already released");
+    }
+
+    /**
+     * Removes a user of the event. When the last user released the event, it is reused for the next changes.
+     *
+     * @throws IllegalStateException if the event was already released by all users
+     */
+    public void release() {
+        int count = referenceCount.decrementAndGet();
+        if (count == 0)
+            pool.giveBack(this);
+        else if (count < 0)
+            throw new IllegalStateException("the event was already released");
+    }
+
+    /**
+     * @return how many changes the event contains
+     */
+    public int getChangeCount() {
+        return changeCount;
+    }
+
+    /**
+     * @return the index of the cell of the change with the given number (row * width + column)
+     */
+    public int getIndex(int change) {
+        return indices[change];
+    }
+
+    public int getRow(int change) {
+        return indices[change] / fieldWidth;
+    }
+
+    public int getColumn(int change) {
+        return indices[change] % fieldWidth;
+    }
+
+    /**
+     * @return the new rgb value of the cell of the change with the given number (0 if the cell is dead)
+     */
+    public int getRgb(int change) {
+        return rgbs[change];
+    }
+
+    public boolean isAlive(int change) {
+        return rgbs[change] != 0;
+    }
+
+    /**
+     * @return the new color of the cell of the change with the given number
+     * or the color of dead cells if the cell is dead
+     */
+    public Color getColor(int change) {
+        return rgbs[change] != 0 ? GofCell.colorOf(rgbs[change]) : GofCell.DEAD_CELL_COLOR;
+    }
+
+    public int getGeneration() {
+        return generation;
+    }
+
+    public int getPopulation() {
+        return population;
+    }
+
+    /**
+     * @return How many cells were brought to life in the current generation
+     */
+    public int getBirths() {
+        return births;
+    }
+
+    /**
+     * @return How many cells died in the current generation
+     */
+    public int getDeaths() {
+        return deaths;
+    }
+
+    /**
+     * @return What percentage of the field is living cells. The value is rounded down to one decimal place.
+     */
+    public double getCoverage() {
+        return coverage;
+    }
+}
@@ -0,0 +1,39 @@
+package main.model;
+
+import java.util.ArrayDeque;
+
+/**
+ * Keeps released change events of a field, so they can be reused instead of creating a new event for every generation.
+ */
+class ChangeEventPool {
+    /**
+     * How many released events are kept at most
+     */
+    private static final int MAX_POOLED_EVENTS = 16;
+
+    private final ArrayDeque<ChangeEvent> releasedEvents = new ArrayDeque<>();
+    private final int fieldWidth;
+
+    /**
+     * @param fieldWidth the width of the field whose changes are described by the events
+     */
+    ChangeEventPool(int fieldWidth) {
+        this.fieldWidth = fieldWidth;
+    }
+
+    /**
+     * @return an empty event with one reference
+     */
+    synchronized ChangeEvent acquire() {
+        ChangeEvent event = releasedEvents.poll();
+        if (event == null)
+            event = new ChangeEvent(this, fieldWidth);
+        event.reset();
+        return event;
+    }
+
+    synchronized void giveBack(ChangeEvent event) {
+        if (releasedEvents.size() < MAX_POOLED_EVENTS)
+            releasedEvents.push(event);
+    }
+}
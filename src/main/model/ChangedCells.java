@@ -0,0 +1,141 @@
+package main.model;
+
+import main.model.engine.DirectBuffers;
+
+import java.nio.ByteBuffer;
+import java.nio.IntBuffer;
+import java.nio.LongBuffer;
+import java.util.ArrayList;
+
+/**
+ * Collects the cells of a field which changed since the observers were notified the last time.
+ * A cell changed several times is only contained once with its last rgb value, so the size of the collected changes
+ * never exceeds the size of the field, no matter how many generations a batch of changes covers.
+ * A cell which has the same rgb value as at the last notification again (e.g. born and died in between)
+ * is left out, so the observers only get the difference to the state they know.
+ * The cells are marked in a bitmap, their last rgb values and the rgb values at the last notification
+ * are kept in planes of the size of the field. Like the cells of an off heap field, they are kept in direct buffers
+ * outside the Java heap, so a large field doesn't need a large heap. They are allocated when the first cell changes
+ * and freed by {@link #release()}.
+ * The field has to be empty when the changes of a field are collected for the first time.
+ */
+class ChangedCells {
+    /**
+     * The planes are split into buffers of 2^PLANE_CHUNK_BITS cells, so the plane of any field fits into buffers
+     */
+    private static final int PLANE_CHUNK_BITS = 24;
+    private static final int PLANE_CHUNK_MASK = (1 << PLANE_CHUNK_BITS) - 1;
+
+    /**
+     * The indices of the changed cells are kept in buffers of 2^INDEX_CHUNK_BITS indices, allocated as needed
+     */
+    private static final int INDEX_CHUNK_BITS = 16;
+    private static final int INDEX_CHUNK_MASK = (1 << INDEX_CHUNK_BITS) - 1;
+
+    private final int area;
+
+    private final ArrayList<ByteBuffer> allocatedBuffers = new ArrayList<>();
+
+    /*
+     * Bit i is set if cell i changed. The last rgb value of every changed cell (0 for dead cells).
+     */
+    private LongBuffer changedBits;
+    private IntBuffer[] lastRgbs;
+
+    /**
+     * The rgb value of every cell at the last notification (0 for dead cells)
+     */
+    private IntBuffer[] notifiedRgbs;
+
+    /**
+     * The indices of the changed cells in the order they changed first
+     */
+    private final ArrayList<IntBuffer> indices = new ArrayList<>();
+    private int count = 0;
+
+    /**
+     * @param area the amount of cells in the field
+     */
+    ChangedCells(int area) {
+        this.area = area;
+    }
+
+    /**
+     * @param index index of the cell (row * width + column)
+     * @param rgb   the new rgb value of the cell (0 for a dead cell)
+     */
+    void add(int index, int rgb) {
+        if (changedBits == null)
+            allocate();
+
+        long word = changedBits.get(index >>> 6);
+        long bit = 1L << index;
+        if ((word & bit) == 0) {
+            changedBits.put(index >>> 6, word | bit);
+            if (count >>> INDEX_CHUNK_BITS == indices.size())
+                indices.add(allocateBuffer(4 * Math.min(area, 1 << INDEX_CHUNK_BITS)).asIntBuffer());
+            indices.get(count >>> INDEX_CHUNK_BITS).put(count & INDEX_CHUNK_MASK, index);
+            count++;
+        }
+        lastRgbs[index >>> PLANE_CHUNK_BITS].put(index & PLANE_CHUNK_MASK, rgb);
+    }
+
+    /**
+     * @return the amount of cells which changed since the last notification, including the ones changed back
+     */
+    int size() {
+        return count;
+    }
+
+    /**
+     * Adds every changed cell, which differs from the last notification, once with its last rgb value to the event
+     * and forgets the changes.
+     */
+    void moveTo(ChangeEvent event) {
+        for (int i = 0; i < count; i++) {
+            int index = indices.get(i >>> INDEX_CHUNK_BITS).get(i & INDEX_CHUNK_MASK);
+            int rgb = lastRgbs[index >>> PLANE_CHUNK_BITS].get(index & PLANE_CHUNK_MASK);
+            IntBuffer notified = notifiedRgbs[index >>> PLANE_CHUNK_BITS];
+            if (rgb != notified.get(index & PLANE_CHUNK_MASK)) {
+                event.addChange(index, rgb);
+                notified.put(index & PLANE_CHUNK_MASK, rgb);
+            }
+            changedBits.put(index >>> 6, changedBits.get(index >>> 6) & ~(1L << index));
+        }
+        count = 0;
+    }
+
+    /**
+     * Frees the memory of the planes. This is only allowed if all changes were moved to an event
+     * and all cells were dead at that time, because the planes start empty when the next cell changes.
+     */
+    void release() {
+        if (count != 0)
+            throw new IllegalStateException("the changes have to be moved to an event first");
+        for (ByteBuffer buffer : allocatedBuffers)
+            DirectBuffers.free(buffer);
+        allocatedBuffers.clear();
+        indices.clear();
+        changedBits = null;
+        lastRgbs = null;
+        notifiedRgbs = null;
+    }
+
+    private void allocate() {
+        changedBits = allocateBuffer(8 * ((area >>> 6) + 1)).asLongBuffer();
+        int chunkCount = ((area - 1) >>> PLANE_CHUNK_BITS) + 1;
+        lastRgbs = new IntBuffer[chunkCount];
+        notifiedRgbs = new IntBuffer[chunkCount];
+        for (int chunk = 0; chunk < chunkCount; chunk++) {
+            int cells = Math.min(1 << PLANE_CHUNK_BITS, area - (chunk << PLANE_CHUNK_BITS));
+            lastRgbs[chunk] = allocateBuffer(4 * cells).asIntBuffer();
+            notifiedRgbs[chunk] = allocateBuffer(4 * cells).asIntBuffer();
+        }
+    }
+
+    private ByteBuffer allocateBuffer(int size) {
+        ByteBuffer buffer = DirectBuffers.allocate(size);
+        allocatedBuffers.add(buffer);
+        return buffer;
+    }
+}
@@ -0,0 +1,109 @@
+package main.model;
+
+import java.util.HashMap;
+
+/**
+ * Detects whether the game of life got into a cycle (e.g. a still life or an oscillator).
+ * The hashes of the most recent generations are kept in a table of bounded size.
+ * If the hash of a generation was already recorded for an earlier generation, the field is in a cycle
+ * whose period is the distance between both generations.
+ */
+public class CycleDetector {
+    /**
+     * How many generations are remembered. Cycles with a longer period can't be detected.
+     */
+    private final int capacity;
+
+    /*
+     * Ring buffer containing the recorded hashes and their generation numbers in the order they were recorded.
+     * It is used to forget the oldest generation once the capacity is reached.
+     */
+    private final long[] hashes;
+    private final int[] generations;
+    private int size = 0;
+    private int nextIndex = 0;
+
+    /**
+     * key -> hash of a recorded generation
+     * value -> number of the generation
+     */
+    private final HashMap<Long, Integer> generationByHash = new HashMap<>();
+
+    private int period = 0;
+    private int entryGeneration = 0;
+
+    /**
+     * Create a CycleDetector.
+     *
+     * @param capacity How many generations are remembered at most (the longest period that can be detected)
+     */
+    public CycleDetector(int capacity) {
+        if (capacity <= 0)
+            throw new IllegalArgumentException("capacity must be positive");
+        this.capacity = capacity;
+        hashes = new long[capacity];
+        generations = new int[capacity];
+    }
+
+    /**
+     * Record the hash of a generation. The generations have to be recorded in ascending order
+     * and the recorded generations have to follow each other without any manipulation in between.
+     * Otherwise, the detector has to be reset first.
+     *
+     * @param generation The number of the generation
+     * @param hash       The hash of the field in this generation
+     * @return true if a cycle is detected (now or before)
+     */
+    public boolean record(int generation, long hash) {
+        if (isCycleDetected())
+            return true;
+
+        Integer previousGeneration = generationByHash.get(hash);
+        if (previousGeneration != null) {
+            entryGeneration = previousGeneration;
+            period = generation - previousGeneration;
+            return true;
+        }
+
+        // forget the oldest generation if the table is full
+        if (size == capacity) {
+            generationByHash.remove(hashes[nextIndex], generations[nextIndex]);
+            size--;
+        }
+        hashes[nextIndex] = hash;
+        generations[nextIndex] = generation;
+        generationByHash.put(hash, generation);
+        nextIndex = (nextIndex + 1) % capacity;
+        size++;
+        return false;
+    }
+
+    /**
+     * Forget all recorded generations and the detected cycle.
+     */
+    public void reset() {
+        generationByHash.clear();
+        size = 0;
+        nextIndex = 0;
+        period = 0;
+        entryGeneration = 0;
+    }
+
+    public boolean isCycleDetected() {
+        return period > 0;
+    }
+
+    /**
+     * @return The period of the detected cycle (1 for a still life) or 0 if no cycle was detected
+     */
+    public int getPeriod() {
+        return period;
+    }
+
+    /**
+     * @return The first recorded generation, which is part of the detected cycle, or 0 if no cycle was detected
+     */
+    public int getEntryGeneration() {
+        return entryGeneration;
+    }
+}
@@ -0,0 +1,24 @@
+package main.model;
+
+/**
+ * What happens to a new change event if the queue of an observer is full
+ * (only if the events are delivered asynchronously, see {@link GameOfLife#setAsyncDispatch}).
+ */
+public enum DeliveryPolicy {
+    /**
+     * The oldest queued event is dropped. Only suitable for observers which use the generation and the statistics
+     * of an event or read the state from the observable, because the changed cells of the dropped event are lost.
+     */
+    DROP_OLDEST,
+
+    /**
+     * The new event is merged with the newest queued event, so the observer gets all changed cells
+     * in fewer events. The merged event has the generation and the statistics of the new event.
+     */
+    COALESCE_LATEST,
+
+    /**
+     * The simulation waits until the observer has taken an event from its queue.
+     */
+    BLOCK
+}
@@ -0,0 +1,105 @@
+package main.model;
+
+/**
+ * A series of values that is downsampled to a fixed amount of buckets, no matter how many values are added.
+ * Every bucket keeps the minimum and the maximum of a range of consecutive values.
+ * If all buckets are full, two neighbouring buckets are merged into one, so every bucket covers twice as many values.
+ * That way the whole series can be drawn at constant cost.
+ */
+public class DownsampledSeries {
+    private final int[] minimums;
+    private final int[] maximums;
+
+    /**
+     * How many values are combined in one bucket
+     */
+    private long valuesPerBucket = 1;
+
+    /**
+     * Amount of buckets in use (the last one may be incomplete)
+     */
+    private int size = 0;
+
+    /**
+     * How many values were added to the last bucket
+     */
+    private long valuesInLastBucket = 0;
+
+    /**
+     * Create an empty series.
+     *
+     * @param bucketCount How many buckets are kept. Must be an even number.
+     */
+    public DownsampledSeries(int bucketCount) {
+        if (bucketCount < 2 || bucketCount % 2 != 0)
+            throw new IllegalArgumentException("bucketCount must be an even number greater than 0");
+        minimums = new int[bucketCount];
+        maximums = new int[bucketCount];
+    }
+
+    /**
+     * Add the next value to the series.
+     */
+    public synchronized void add(int value) {
+        // start a new bucket if the last one is complete
+        if (size == 0 || valuesInLastBucket == valuesPerBucket) {
+            if (size == minimums.length)
+                mergeBuckets();
+            minimums[size] = value;
+            maximums[size] = value;
+            size++;
+            valuesInLastBucket = 1;
+            return;
+        }
+
+        minimums[size - 1] = Math.min(minimums[size - 1], value);
+        maximums[size - 1] = Math.max(maximums[size - 1], value);
+        valuesInLastBucket++;
+    }
+
+    /**
+     * Remove all values from the series.
+     */
+    public synchronized void clear() {
+        size = 0;
+        valuesPerBucket = 1;
+        valuesInLastBucket = 0;
+    }
+
+    /**
+     * Copy the minimums and maximums of the buckets (oldest first) into the given arrays.
+     *
+     * @param minimumsTarget array with at least getBucketCount() entries
+     * @param maximumsTarget array with at least getBucketCount() entries
+     * @return how many buckets were copied
+     */
+    public synchronized int copyTo(int[] minimumsTarget, int[] maximumsTarget) {
+        System.arraycopy(minimums, 0, minimumsTarget, 0, size);
+        System.arraycopy(maximums, 0, maximumsTarget, 0, size);
+        return size;
+    }
+
+    public int getBucketCount() {
+        return minimums.length;
+    }
+
+    public synchronized int getSize() {
+        return size;
+    }
+
+    public synchronized long getValuesPerBucket() {
+        return valuesPerBucket;
+    }
+
+    /**
+     * Merges every two neighbouring buckets, so that half of the buckets are free again.
+     */
+    private void mergeBuckets() {
+        for (int i = 0; i < size / 2; i++) {
+            minimums[i] = Math.min(minimums[2 * i], minimums[2 * i + 1]);
+            maximums[i] = Math.max(maximums[2 * i], maximums[2 * i + 1]);
+        }
+        size /= 2;
+        valuesPerBucket *= 2;
+    }
+}
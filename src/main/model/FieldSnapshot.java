@@ -0,0 +1,52 @@
+package main.model;
+
+import java.awt.*;
+
+/**
+ * An immutable copy of the life states and colors of all cells of a field at one point in time.
+ */
+public class FieldSnapshot {
+    private final int height;
+    private final int width;
+
+    /**
+     * The colors of the cells counted row by row. Dead cells are represented by null.
+     */
+    private final Color[] colors;
+
+    /**
+     * Create a snapshot.
+     *
+     * @param height The height of the field
+     * @param width  The width of the field
+     * @param colors The colors of the cells counted row by row (null for dead cells).
+     *               The array is not copied, so it must not be changed afterwards.
+     */
+    public FieldSnapshot(int height, int width, Color[] colors) {
+        if (colors.length != height * width)
+            throw new IllegalArgumentException("colors must contain height * width entries");
+        this.height = height;
+        this.width = width;
+        this.colors = colors;
+    }
+
+    public boolean isAliveAt(int row, int column) {
+        return colors[row * width + column] != null;
+    }
+
+    /**
+     * @return The color of the cell at the given coordinate or the default color of dead cells, if the cell is dead
+     */
+    public Color getColorAt(int row, int column) {
+        Color color = colors[row * width + column];
+        return color != null ? color : GofCell.DEAD_CELL_COLOR;
+    }
+
+    public int getHeight() {
+        return height;
+    }
+
+    public int getWidth() {
+        return width;
+    }
+}
@@ -0,0 +1,187 @@
+package main.model;
+
+import java.awt.*;
+import java.util.Arrays;
+
+/**
+ * Statistics about the living cells of a field: the population (in total and per color of the palette),
+ * the births and deaths since the current generation was loaded and the bounding box of all living cells.
+ * The statistics are updated with every cell that gets a new life state or color,
+ * so they never require a scan of the whole field.
+ */
+public class FieldStatistics {
+    private final int height;
+    private final int width;
+
+    private int population = 0;
+
+    /**
+     * Population per color of {@link GofCell#PALETTE} (same index).
+     * The last entry counts the living cells with colors that are not part of the palette.
+     */
+    private final int[] colorPopulation = new int[GofCell.PALETTE.length + 1];
+
+    private int births = 0;
+    private int deaths = 0;
+
+    /*
+     * The amount of living cells in each row and column. They are used to find the bounding box.
+     */
+    private final int[] rowPopulation;
+    private final int[] columnPopulation;
+
+    /*
+     * The bounding box of the living cells (inclusive). It is only recomputed if it may have shrunk.
+     */
+    private int minRow, maxRow, minColumn, maxColumn;
+    private boolean boundingBoxValid = false;
+
+    /**
+     * Create the statistics for an empty field.
+     *
+     * @param height The height of the field
+     * @param width  The width of the field
+     */
+    public FieldStatistics(int height, int width) {
+        this.height = height;
+        this.width = width;
+        rowPopulation = new int[height];
+        columnPopulation = new int[width];
+    }
+
+    /**
+     * Update the statistics because a cell got a new life state or color.
+     *
+     * @param row      row of the cell
+     * @param column   column of the cell
+     * @param oldColor the color of the cell before the change or null if the cell was dead
+     * @param newColor the color of the cell after the change or null if the cell is dead now
+     */
+    public void cellChanged(int row, int column, Color oldColor, Color newColor) {
+        if (oldColor != null)
+            colorPopulation[getColorIndex(oldColor)]--;
+        if (newColor != null)
+            colorPopulation[getColorIndex(newColor)]++;
+
+        if (oldColor == null && newColor != null) { // birth
+            population++;
+            births++;
+            rowPopulation[row]++;
+            columnPopulation[column]++;
+            if (boundingBoxValid) {
+                minRow = Math.min(minRow, row);
+                maxRow = Math.max(maxRow, row);
+                minColumn = Math.min(minColumn, column);
+                maxColumn = Math.max(maxColumn, column);
+            }
+        } else if (oldColor != null && newColor == null) { // death
+            population--;
+            deaths++;
+            rowPopulation[row]--;
+            columnPopulation[column]--;
+            // the bounding box only shrinks if the last cell of one of its edges died
+            if (rowPopulation[row] == 0 && (row == minRow || row == maxRow)
+                    || columnPopulation[column] == 0 && (column == minColumn || column == maxColumn))
+                boundingBoxValid = false;
+        }
+    }
+
+    /**
+     * Start counting the births and deaths of a new generation.
+     */
+    public void startGeneration() {
+        births = 0;
+        deaths = 0;
+    }
+
+    /**
+     * Reset the statistics to the ones of an empty field.
+     */
+    public void clear() {
+        population = 0;
+        births = 0;
+        deaths = 0;
+        Arrays.fill(colorPopulation, 0);
+        Arrays.fill(rowPopulation, 0);
+        Arrays.fill(columnPopulation, 0);
+        boundingBoxValid = false;
+    }
+
+    public int getPopulation() {
+        return population;
+    }
+
+    /**
+     * @return What percentage of the field is living cells. The value is rounded down to one decimal place.
+     */
+    public double getCoverage() {
+        double preciseCoverage = (double) population / ((long) width * height);
+        int temp = (int) (preciseCoverage * 1000.0);
+        return ((double) temp) / 10.0;
+    }
+
+    /**
+     * @return How many living cells have the given color.
+     * For colors that are not part of the palette, the amount of all cells with a color outside the palette is returned.
+     */
+    public int getPopulation(Color color) {
+        return colorPopulation[getColorIndex(color)];
+    }
+
+    /**
+     * @param paletteIndex index of a color in {@link GofCell#PALETTE}
+     *                     or the length of the palette for all colors outside the palette
+     * @return How many living cells have the color
+     */
+    public int getColorPopulation(int paletteIndex) {
+        return colorPopulation[paletteIndex];
+    }
+
+    /**
+     * @return How many cells were brought to life since the current generation was loaded
+     */
+    public int getBirths() {
+        return births;
+    }
+
+    /**
+     * @return How many cells died since the current generation was loaded
+     */
+    public int getDeaths() {
+        return deaths;
+    }
+
+    /**
+     * @return The smallest rectangle containing all living cells (x = column, y = row)
+     * or null if there is no living cell
+     */
+    public Rectangle getBoundingBox() {
+        if (population == 0)
+            return null;
+
+        if (!boundingBoxValid) {
+            minRow = 0;
+            while (rowPopulation[minRow] == 0)
+                minRow++;
+            maxRow = height - 1;
+            while (rowPopulation[maxRow] == 0)
+                maxRow--;
+            minColumn = 0;
+            while (columnPopulation[minColumn] == 0)
+                minColumn++;
+            maxColumn = width - 1;
+            while (columnPopulation[maxColumn] == 0)
+                maxColumn--;
+            boundingBoxValid = true;
+        }
+        return new Rectangle(minColumn, minRow, maxColumn - minColumn + 1, maxRow - minRow + 1);
+    }
+
+    /**
+     * @return the index of the given color in the palette or the length of the palette if the color is not part of it
+     */
+    private static int getColorIndex(Color color) {
+        int paletteIndex = GofCell.getPaletteIndex(color);
+        return paletteIndex >= 0 ? paletteIndex : GofCell.PALETTE.length;
+    }
+}
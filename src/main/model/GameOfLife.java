@@ -1,25 +1,41 @@
 package main.model;
 
+import main.model.engine.SimulationEngines;
+import main.model.profiling.*;
 import main.view.Observer;
 
 import java.awt.*;
+import java.io.IOException;
+import java.io.UncheckedIOException;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.Executor;
+import java.util.function.BooleanSupplier;
+import java.util.function.IntConsumer;
 
 public class GameOfLife implements Observable {
-    private final GameOfLifeField gameOfLifeField;
+    private final SimulationEngine gameOfLifeField;
 
     private int generationCounter = 1;
 
     private final ArrayList<Observer> observers = new ArrayList<>();
 
     /*
-     * List which contains the cells that have a new life state.
-     * This list is passed to the observers for them to update their view.
-     * After that this list will be emptied.
+     * If the observers are notified asynchronously: the executor delivering the events,
+     * the capacity of the queue of each observer and the queues by observer. The executor is null otherwise.
      */
-    private final ArrayList<GofCell> cellsToBeUpdated = new ArrayList<>();
+    private Executor dispatchExecutor = null;
+    private int dispatchQueueCapacity = 0;
+    private final HashMap<Observer, ObserverQueue> observerQueues = new HashMap<>();
+
+    /*
+     * Collects the cells that have a new life state since the observers were notified the last time
+     * (every cell only once with its last state). They are delivered to all observers as an event from the pool.
+     */
+    private final ChangeEventPool changeEventPool;
+    private final ChangedCells changedCells;
 
     /**
      * This HashMap contains all manipulations made by the user (revive/kill cell and set cell color) in each generation
@@ -32,13 +48,82 @@ public class GameOfLife implements Observable {
     private final HashMap<Integer, ArrayList<GofCell>> manipulatedCells = new HashMap<>();
 
     /**
-     * Create a gameOfLife.
+     * How many of the most recent generations are considered when searching for a cycle.
+     */
+    private static final int CYCLE_DETECTION_WINDOW = 1000;
+
+    /**
+     * Detects still lifes and oscillators by the hashes of the generations
+     * since the last manipulation of the field.
+     */
+    private final CycleDetector cycleDetector = new CycleDetector(CYCLE_DETECTION_WINDOW);
+
+    /*
+     * The first detected cycle of the current run: the generation in which it was entered, its period
+     * and a snapshot of the field in the entry generation.
+     * The run only depends on the first generation and the manipulations in manipulatedCells,
+     * so the cycle stays valid until manipulatedCells is changed.
+     * If no cycle is known, cyclePeriod is 0 and cycleStartSnapshot is null.
+     */
+    private int cycleEntryGeneration = 0;
+    private int cyclePeriod = 0;
+    private FieldSnapshot cycleStartSnapshot = null;
+
+    /**
+     * How many generations goToGeneration lets the field compute at once (see {@link #setGenerationsPerStep(int)})
+     */
+    private int generationsPerStep = 1;
+
+    /**
+     * Records the statistics of every computed generation, if it is set
+     */
+    private StatisticsRecorder statisticsRecorder = null;
+
+    /**
+     * The ages of the cells, if they are tracked (see {@link #setAgeTracking(boolean)})
+     */
+    private AgePlane agePlane = null;
+
+    /**
+     * Measures the phases of the generations, if it is set
+     */
+    private StepProfiler profiler = null;
+
+    /**
+     * Gets every manipulation and reset, if it is set
+     */
+    private ManipulationJournal journal = null;
+
+    /**
+     * Saves the game of life periodically, if it is set
+     */
+    private Autosave autosave = null;
+
+    /**
+     * Keeps the computed generations, so they can be loaded without computing them again, if it is set
+     */
+    private GenerationArchive historyArchive = null;
+
+    /**
+     * Create a gameOfLife with the configured engine (see {@link SimulationEngines}).
      *
      * @param fieldHeight The height of the gameOfLife field
      * @param fieldWidth  The width of the gameOfLife field
      */
     public GameOfLife(int fieldHeight, int fieldWidth) {
-        gameOfLifeField = new GameOfLifeField(fieldHeight, fieldWidth);
+        this(SimulationEngines.createConfigured(fieldHeight, fieldWidth));
+    }
+
+    /**
+     * Create a gameOfLife which uses the given field.
+     *
+     * @param field An empty field, which is used by this gameOfLife from now on
+     */
+    public GameOfLife(SimulationEngine field) {
+        gameOfLifeField = field;
+        changeEventPool = new ChangeEventPool(field.getWidth());
+        changedCells = new ChangedCells(field.getHeight() * field.getWidth());
+        restartCycleDetection();
     }
 
     /**
@@ -50,8 +135,9 @@ public class GameOfLife implements Observable {
             return;
 
         updateManipulatedCells(row, column);
+        restartCycleDetection();
 
-        cellsToBeUpdated.add(gameOfLifeField.getCellAt(row, column));
+        addChangedCell(gameOfLifeField.getCellAt(row, column));
         notifyObservers();
     }
 
@@ -64,8 +150,9 @@ public class GameOfLife implements Observable {
             return;
 
         updateManipulatedCells(row, column);
+        restartCycleDetection();
 
-        cellsToBeUpdated.add(gameOfLifeField.getCellAt(row, column));
+        addChangedCell(gameOfLifeField.getCellAt(row, column));
         notifyObservers();
     }
 
@@ -75,30 +162,33 @@ public class GameOfLife implements Observable {
      * Notifies the registered observers.
      */
     public void resetToFirstGeneration() {
-        // kill all cells
-        ArrayList<GofCell> toggledCells = gameOfLifeField.killAllCells();
-
-        // get the manipulated cells of the first generation (the cells which were brought to life)
-        // and bring them to life
-        for (GofCell firstGenCell : manipulatedCells.get(1)) {
-            gameOfLifeField.setCellAt(firstGenCell.getRow(), firstGenCell.getColumn(), firstGenCell.isAlive(), firstGenCell.getColor());
-            toggledCells.add(firstGenCell);
-        }
-
-        resetGenerationCounter();
-        cellsToBeUpdated.addAll(toggledCells);
+        restoreFirstGeneration();
         notifyObservers();
     }
 
     /**
      * Kills all cells in the field and the game of life starts with a new (empty) first generation.
+     * The field frees the memory it does not need while it is empty.
      * Notifies the registered observers.
      */
     public void resetGameOfLife() {
         manipulatedCells.clear();
+        if (journal != null) {
+            journal.appendReset();
+            flushJournal();
+        }
+        if (historyArchive != null)
+            historyArchive.clear();
+        forgetCycle();
         resetGenerationCounter();
-        cellsToBeUpdated.addAll(gameOfLifeField.killAllCells());
+        addChangedCells(gameOfLifeField.killAllCells());
+        gameOfLifeField.release();
+        restartCycleDetection();
+        if (autosave != null)
+            autosave.manipulated(this);
         notifyObservers();
+        // all cells are dead and the observers know it, so the changes of the next cells are collected from scratch
+        changedCells.release();
     }
 
     /**
@@ -106,16 +196,23 @@ public class GameOfLife implements Observable {
      * The registered observers get notified.
      */
     public void loadNextGeneration() {
-        cellsToBeUpdated.addAll(gameOfLifeField.getNextGeneration());
-        generationCounter++;
+        computeNextGeneration();
+        notifyObservers();
+    }
 
-        // if there are manipulations saved in manipulatedCells for this generation, apply them to this generation
-        if (manipulatedCells.get(generationCounter) != null)
-            for (GofCell cell : manipulatedCells.get(generationCounter)) {
-                gameOfLifeField.setCellAt(cell.getRow(), cell.getColumn(), cell.isAlive(), cell.getColor());
-                cellsToBeUpdated.add(cell);
-            }
+    /**
+     * Loads the following generations until a cycle (still life or oscillator) is detected
+     * or the given generation is reached. The registered observers get notified once at the end.
+     * This is meant for runs without UI, which should not compute the same generations over and over again.
+     *
+     * @param maxGeneration The number of the generation after which the search is given up
+     * @return The period of the detected cycle or 0 if no cycle was detected until maxGeneration
+     */
+    public int runUntilCycle(int maxGeneration) {
+        while (!isCycleDetected() && generationCounter < maxGeneration)
+            computeNextGeneration();
         notifyObservers();
+        return isCycleDetected() ? cyclePeriod : 0;
     }
 
     /**
@@ -129,39 +226,74 @@ public class GameOfLife implements Observable {
         if (generation <= 0 || generation == generationCounter)
             return;
 
-
-        int startIndex = 1;
-        // start at the current generation if the requested generation comes after the current one
-        if (generation > generationCounter)
-            startIndex = generationCounter;
-        else // if the generation comes before the current generation, reset the game of life
-            resetToFirstGeneration();
-
-        // load all following generations starting with the startIndex
-        for (int i = startIndex; i < generation; i++) {
-            cellsToBeUpdated.addAll(gameOfLifeField.getNextGeneration());
-            generationCounter++;
-            // if there are manipulations saved in manipulatedCells for this generation, apply them to this generation
-            if (manipulatedCells.get(generationCounter) != null)
-                for (GofCell cell : manipulatedCells.get(generationCounter)) {
-                    gameOfLifeField.setCellAt(cell.getRow(), cell.getColumn(), cell.isAlive(), cell.getColor());
-                    cellsToBeUpdated.add(cell);
-                }
-        }
-
+        seekToGeneration(generation, null, null);
         notifyObservers();
     }
 
     /**
-     * Clear the list of cells which has a new life state since the last time this method was called
-     * or, if it is the first call, since the game was started.
+     * Go to a certain generation like goToGeneration, but without notifying the observers,
+     * so this can run in a background thread while nothing else uses the game of life.
+     * The observers only get the difference between the start and the reached generation
+     * when they are notified afterwards: a cell changed in several generations is only collected once
+     * and a cell changed back is left out, so a long seek never collects more changes than the field has cells.
      *
-     * @return The positions of cells which got a new life state.
+     * @param generation       The number of the generation
+     * @param progressListener gets the number of the reached generation after each step or null
+     * @param cancelled        is asked before each step whether the seek should stop or null
+     * @return true if the generation was reached, false if the seek was cancelled before
+     * (the game of life stays in the generation reached so far) or the generation number is not valid
      */
-    public ArrayList<GofCell> clearCellsToBeUpdated() {
-        final ArrayList<GofCell> copy = new ArrayList<>(cellsToBeUpdated);
-        cellsToBeUpdated.clear();
-        return copy;
+    public boolean seekToGeneration(int generation, IntConsumer progressListener, BooleanSupplier cancelled) {
+        if (generation <= 0)
+            return false;
+        if (generation == generationCounter)
+            return true;
+
+        SeekEvent seekEvent = new SeekEvent();
+        seekEvent.begin();
+        int startGeneration = generationCounter;
+        // an archived generation is loaded at once, which is never slower than a fast-forward
+        boolean fastForward = canFastForwardTo(generation)
+                && (historyArchive == null || !historyArchive.contains(generation));
+
+        int changesBefore = changedCells.size();
+        // if the requested generation is part of a known cycle, only the remainder of one period has to be computed
+        if (fastForward) {
+            fastForwardTo(generation);
+        } else {
+            // start at the current generation if the requested generation comes after the current one,
+            // otherwise at the latest archived generation before it or reset the game of life
+            int archivedGeneration = historyArchive != null ? historyArchive.getLatestArchived(generation) : 0;
+            if (archivedGeneration > generationCounter || (generation < generationCounter && archivedGeneration > 0))
+                loadArchivedGeneration(archivedGeneration);
+            else if (generation < generationCounter)
+                restoreFirstGeneration();
+
+            // load all following generations, several at once if there are no manipulations in between
+            while (generationCounter < generation) {
+                if (cancelled != null && cancelled.getAsBoolean())
+                    break;
+                int generations = getGenerationsWithoutManipulation(generation);
+                if (generations > 1)
+                    computeNextGenerations(generations);
+                else
+                    computeNextGeneration();
+                if (progressListener != null)
+                    progressListener.accept(generationCounter);
+            }
+        }
+
+        seekEvent.end();
+        if (seekEvent.shouldCommit()) {
+            seekEvent.startGeneration = startGeneration;
+            seekEvent.targetGeneration = generation;
+            seekEvent.reachedGeneration = generationCounter;
+            seekEvent.cancelled = generationCounter != generation;
+            seekEvent.fastForward = fastForward;
+            seekEvent.changedCells = changedCells.size() - changesBefore;
+            seekEvent.commit();
+        }
+        return generationCounter == generation;
     }
 
     public int getGenerationCounter() {
@@ -187,6 +319,410 @@ public class GameOfLife implements Observable {
         return gameOfLifeField.getLivingCellsCoverage();
     }
 
+    /**
+     * @return The population (in total and per color), the births and deaths of the current generation
+     * and the bounding box of the living cells
+     */
+    public FieldStatistics getStatistics() {
+        return gameOfLifeField.getStatistics();
+    }
+
+    /**
+     * Set the recorder, which records the statistics of every generation computed from now on.
+     *
+     * @param statisticsRecorder the recorder or null to stop recording
+     */
+    public void setStatisticsRecorder(StatisticsRecorder statisticsRecorder) {
+        this.statisticsRecorder = statisticsRecorder;
+    }
+
+    public StatisticsRecorder getStatisticsRecorder() {
+        return statisticsRecorder;
+    }
+
+    /**
+     * Set the profiler, which measures the phases of every generation computed from now on
+     * and the notifications of the observers. The profiler is passed to the engine as well.
+     *
+     * @param profiler the profiler or null to stop measuring
+     */
+    public void setProfiler(StepProfiler profiler) {
+        this.profiler = profiler;
+        gameOfLifeField.setProfiler(profiler);
+    }
+
+    public StepProfiler getProfiler() {
+        return profiler;
+    }
+
+    /**
+     * Set the journal, which gets every manipulation and reset from now on, so the session can be replayed
+     * (see {@link ManipulationJournal#replay(java.nio.file.Path, String, int)}). Manipulations made before
+     * are not written, so the journal should be set before the first generation is created.
+     * The journal is flushed after every manipulation, so a crash does not lose manipulations made while
+     * no generations are computed.
+     *
+     * @param journal a journal for a field of the same size or null to stop writing manipulations
+     */
+    public void setJournal(ManipulationJournal journal) {
+        if (journal != null && (journal.getHeight() != getFieldHeight() || journal.getWidth() != getFieldWidth()))
+            throw new IllegalArgumentException("the journal is for a field of another size");
+        this.journal = journal;
+    }
+
+    public ManipulationJournal getJournal() {
+        return journal;
+    }
+
+    /**
+     * Set the autosave, which saves the game of life in its intervals from now on (checked after every step).
+     *
+     * @param autosave the autosave or null to stop saving
+     */
+    public void setAutosave(Autosave autosave) {
+        this.autosave = autosave;
+        if (autosave != null)
+            autosave.started(generationCounter);
+    }
+
+    public Autosave getAutosave() {
+        return autosave;
+    }
+
+    /**
+     * Set the archive, which keeps every generation computed from now on (beginning with the current one),
+     * so goToGeneration loads archived generations instead of computing them again.
+     * The archive is cleared first. A manipulation removes the archived generations from the manipulated one on.
+     * While an archive is set, the generations are computed one by one (see {@link #setGenerationsPerStep(int)}),
+     * because every generation is archived.
+     *
+     * @param historyArchive an archive for a field of the same size or null to stop archiving
+     */
+    public void setHistoryArchive(GenerationArchive historyArchive) {
+        if (historyArchive != null && (historyArchive.getHeight() != getFieldHeight()
+                || historyArchive.getWidth() != getFieldWidth()))
+            throw new IllegalArgumentException("the archive is for a field of another size");
+        this.historyArchive = historyArchive;
+        if (historyArchive != null) {
+            historyArchive.clear();
+            historyArchive.record(generationCounter, gameOfLifeField, null);
+        }
+    }
+
+    public GenerationArchive getHistoryArchive() {
+        return historyArchive;
+    }
+
+    /**
+     * Start or stop tracking the age of every cell (how many generations ago it got its current life state or color).
+     * Tracking costs one store per changed cell. When it is started, all cells have the age 0.
+     *
+     * @param tracking true to track the ages
+     */
+    public void setAgeTracking(boolean tracking) {
+        if (!tracking)
+            agePlane = null;
+        else if (agePlane == null)
+            agePlane = new AgePlane(gameOfLifeField.getHeight(), gameOfLifeField.getWidth(), generationCounter);
+    }
+
+    /**
+     * @return the ages of the cells or null if they are not tracked
+     */
+    public AgePlane getAgePlane() {
+        return agePlane;
+    }
+
+    /**
+     * Set how many generations goToGeneration may let the field compute at once
+     * (see {@link SimulationEngine#getNextGenerations(int)}), which is much faster for fields with temporal blocking.
+     * Generations with manipulations are still computed one by one.
+     * With more than one generation per step, the cycle detection and the statistics recorder
+     * only see every n-th generation, so a detected period can be a multiple of the actual period.
+     *
+     * @param generationsPerStep how many generations are computed at once (1 to compute them one by one)
+     */
+    public void setGenerationsPerStep(int generationsPerStep) {
+        if (generationsPerStep <= 0)
+            throw new IllegalArgumentException("generationsPerStep must be positive");
+        this.generationsPerStep = generationsPerStep;
+    }
+
+    public int getGenerationsPerStep() {
+        return generationsPerStep;
+    }
+
+    /**
+     * @return true if the current generation is part of a detected cycle (still life or oscillator)
+     */
+    public boolean isCycleDetected() {
+        return cyclePeriod > 0 && generationCounter >= cycleEntryGeneration;
+    }
+
+    /**
+     * @return The period of the detected cycle (1 for a still life) or 0 if no cycle was detected
+     */
+    public int getCyclePeriod() {
+        return cyclePeriod;
+    }
+
+    /**
+     * @return The first known generation of the detected cycle or 0 if no cycle was detected
+     */
+    public int getCycleEntryGeneration() {
+        return cycleEntryGeneration;
+    }
+
+    /**
+     * Computes the next generation, increases the generation counter
+     * and applies the manipulations saved for the new generation.
+     * The observers are not notified.
+     */
+    private void computeNextGeneration() {
+        long startTime = System.nanoTime();
+        // the generation before a difference must be archived (e.g. after a manipulation removed it)
+        if (historyArchive != null)
+            historyArchive.record(generationCounter, gameOfLifeField, null);
+        gameOfLifeField.getStatistics().startGeneration();
+        StepEvent stepEvent = new StepEvent();
+        stepEvent.begin();
+        long stepStartTime = System.nanoTime();
+        ArrayList<GofCell> stepChanges = gameOfLifeField.getNextGeneration();
+        if (profiler != null)
+            profiler.recordEngineStep(System.nanoTime() - stepStartTime);
+        stepEvent.end();
+        generationCounter++;
+        addChangedCells(stepChanges);
+        commitStepEvent(stepEvent, 1, stepChanges.size());
+
+        // if there are manipulations saved in manipulatedCells for this generation, apply them to this generation
+        ArrayList<GofCell> manipulations = manipulatedCells.get(generationCounter);
+        if (manipulations != null) {
+            long replayStartTime = System.nanoTime();
+            for (GofCell cell : manipulations) {
+                gameOfLifeField.setCellAt(cell.getRow(), cell.getColumn(), cell.isAlive(), cell.getColor());
+                addChangedCell(cell);
+            }
+            if (profiler != null)
+                profiler.record(StepProfiler.Phase.MANIPULATION_REPLAY, System.nanoTime() - replayStartTime);
+            // the generations before the manipulation can't be used to find a cycle
+            // and a cycle detected before it does not continue after it
+            if (cyclePeriod > 0 && generationCounter >= cycleEntryGeneration)
+                forgetCycle();
+            restartCycleDetection();
+        } else {
+            recordForCycleDetection();
+        }
+
+        if (historyArchive != null) {
+            if (manipulations != null) {
+                // the manipulated cells come last, so they win over the changes of the step
+                stepChanges = new ArrayList<>(stepChanges);
+                stepChanges.addAll(manipulations);
+            }
+            historyArchive.record(generationCounter, gameOfLifeField, stepChanges);
+        }
+
+        if (statisticsRecorder != null)
+            statisticsRecorder.record(generationCounter, gameOfLifeField.getStatistics(), System.nanoTime() - startTime);
+        if (autosave != null)
+            autosave.generationsComputed(this);
+    }
+
+    /**
+     * Computes the given amount of generations at once and increases the generation counter.
+     * There must not be manipulations in these generations. Only the last generation is used for the cycle detection
+     * and recorded. The observers are not notified.
+     */
+    private void computeNextGenerations(int generations) {
+        long startTime = System.nanoTime();
+        gameOfLifeField.getStatistics().startGeneration();
+        StepEvent stepEvent = new StepEvent();
+        stepEvent.begin();
+        long stepStartTime = System.nanoTime();
+        ArrayList<GofCell> stepChanges = gameOfLifeField.getNextGenerations(generations);
+        if (profiler != null)
+            profiler.recordEngineStep(System.nanoTime() - stepStartTime);
+        stepEvent.end();
+        generationCounter += generations;
+        // the cells changed in one of the generations get the age 0, even if they changed before the last one
+        addChangedCells(stepChanges);
+        commitStepEvent(stepEvent, generations, stepChanges.size());
+        recordForCycleDetection();
+
+        if (statisticsRecorder != null)
+            statisticsRecorder.record(generationCounter, gameOfLifeField.getStatistics(), System.nanoTime() - startTime);
+        if (autosave != null)
+            autosave.generationsComputed(this);
+    }
+
+    /**
+     * Commits the flight recorder event of a step, which reached the current generation,
+     * if the event is recorded. Otherwise its fields are not even filled.
+     */
+    private void commitStepEvent(StepEvent stepEvent, int generations, int changes) {
+        if (!stepEvent.shouldCommit())
+            return;
+        stepEvent.engine = gameOfLifeField.getClass().getSimpleName();
+        stepEvent.generation = generationCounter;
+        stepEvent.generations = generations;
+        stepEvent.changedCells = changes;
+        stepEvent.population = gameOfLifeField.getStatistics().getPopulation();
+        stepEvent.commit();
+    }
+
+    /**
+     * Records the hash of the current generation for the cycle detection and remembers the first detected cycle.
+     */
+    private void recordForCycleDetection() {
+        if (cycleDetector.record(generationCounter, gameOfLifeField.getStateHash()) && cyclePeriod == 0) {
+            // The current generation looks like the entry generation,
+            // so the snapshot of the current generation is the snapshot of the entry generation
+            cycleEntryGeneration = cycleDetector.getEntryGeneration();
+            cyclePeriod = cycleDetector.getPeriod();
+            cycleStartSnapshot = gameOfLifeField.createSnapshot();
+        }
+    }
+
+    /**
+     * @return How many generations following the current one can be computed at once on the way to the given
+     * generation: at most generationsPerStep (1 while generations are archived) and none with manipulations, except the last one
+     * (it is applied by computeNextGeneration). Returns 1 if the next generation has to be computed alone.
+     */
+    private int getGenerationsWithoutManipulation(int targetGeneration) {
+        int generations = Math.min(historyArchive != null ? 1 : generationsPerStep, targetGeneration - generationCounter);
+        for (int manipulatedGeneration : manipulatedCells.keySet())
+            if (manipulatedGeneration > generationCounter)
+                generations = Math.min(generations, manipulatedGeneration - generationCounter - 1);
+        return Math.max(generations, 1);
+    }
+
+    /**
+     * @return true if the given generation can be computed from the snapshot of the known cycle. This is the case
+     * if the generation comes after the entry of the cycle and there is no manipulation in between.
+     */
+    private boolean canFastForwardTo(int generation) {
+        if (cyclePeriod == 0 || generation < cycleEntryGeneration)
+            return false;
+
+        for (int manipulatedGeneration : manipulatedCells.keySet())
+            if (manipulatedGeneration > cycleEntryGeneration && manipulatedGeneration <= generation)
+                return false;
+        return true;
+    }
+
+    /**
+     * Loads the snapshot of the entry generation of the known cycle
+     * and computes the remaining generations (less than one period) up to the given generation.
+     * The observers are not notified.
+     *
+     * @param generation generation for which canFastForwardTo returns true
+     */
+    private void fastForwardTo(int generation) {
+        int remainingGenerations = (generation - cycleEntryGeneration) % cyclePeriod;
+        // this generation looks like the entry generation, the remaining generations get their real numbers,
+        // so the statistics recorder, the autosave and the archive see the generations they belong to
+        int snapshotGeneration = generation - remainingGenerations;
+
+        SnapshotRestoreEvent restoreEvent = new SnapshotRestoreEvent();
+        restoreEvent.begin();
+        ArrayList<GofCell> restoredCells = gameOfLifeField.loadSnapshot(cycleStartSnapshot);
+        restoreEvent.end();
+        if (restoreEvent.shouldCommit()) {
+            restoreEvent.generation = snapshotGeneration;
+            restoreEvent.changedCells = restoredCells.size();
+            restoreEvent.commit();
+        }
+        // the cells which are not changed by loading the snapshot stay the same in the whole cycle,
+        // so they keep the generation of their last change
+        generationCounter = snapshotGeneration;
+        addChangedCells(restoredCells);
+
+        for (int i = 0; i < remainingGenerations; i++)
+            computeNextGeneration();
+        restartCycleDetection();
+    }
+
+    /**
+     * Loads an archived generation instead of computing it. The observers are not notified.
+     *
+     * @param generation generation for which the archive is not empty
+     */
+    private void loadArchivedGeneration(int generation) {
+        FieldSnapshot snapshot = historyArchive.getSnapshot(generation);
+        SnapshotRestoreEvent restoreEvent = new SnapshotRestoreEvent();
+        restoreEvent.begin();
+        gameOfLifeField.getStatistics().startGeneration();
+        ArrayList<GofCell> restoredCells = gameOfLifeField.loadSnapshot(snapshot);
+        restoreEvent.end();
+        if (restoreEvent.shouldCommit()) {
+            restoreEvent.generation = generation;
+            restoreEvent.changedCells = restoredCells.size();
+            restoreEvent.commit();
+        }
+        generationCounter = generation;
+        addChangedCells(restoredCells);
+        restartCycleDetection();
+    }
+
+    /**
+     * @return a copy of the current state of the field
+     */
+    FieldSnapshot createFieldSnapshot() {
+        return gameOfLifeField.createSnapshot();
+    }
+
+    /**
+     * @return a copy of the manipulations by generation. The cells are not copied, because they are not changed.
+     */
+    HashMap<Integer, ArrayList<GofCell>> copyManipulations() {
+        HashMap<Integer, ArrayList<GofCell>> copy = new HashMap<>();
+        for (Map.Entry<Integer, ArrayList<GofCell>> entry : manipulatedCells.entrySet())
+            copy.put(entry.getKey(), new ArrayList<>(entry.getValue()));
+        return copy;
+    }
+
+    /**
+     * Replaces the state of the game of life by a saved state (see {@link Autosave}) and notifies the observers.
+     *
+     * @param generation    the saved generation
+     * @param snapshot      the field in the saved generation
+     * @param manipulations the saved manipulations by generation
+     */
+    void restore(int generation, FieldSnapshot snapshot, HashMap<Integer, ArrayList<GofCell>> manipulations) {
+        manipulatedCells.clear();
+        manipulatedCells.putAll(manipulations);
+        forgetCycle();
+        if (historyArchive != null)
+            historyArchive.clear();
+        generationCounter = generation;
+        // the ages of another session are unknown
+        if (agePlane != null)
+            agePlane.clear(generation);
+        gameOfLifeField.getStatistics().startGeneration();
+        addChangedCells(gameOfLifeField.loadSnapshot(snapshot));
+        restartCycleDetection();
+        notifyObservers();
+    }
+
+    /**
+     * Forget the known cycle, because the generations following the first generation have changed.
+     */
+    private void forgetCycle() {
+        cyclePeriod = 0;
+        cycleEntryGeneration = 0;
+        cycleStartSnapshot = null;
+    }
+
+    /**
+     * Forget the generations recorded for the cycle detection
+     * and start again with the current generation.
+     */
+    private void restartCycleDetection() {
+        cycleDetector.reset();
+        cycleDetector.record(generationCounter, gameOfLifeField.getStateHash());
+    }
+
     /**
      * Updates the container that contains all cells manipulated by the user in each generation.
      *
@@ -203,6 +739,66 @@ public class GameOfLife implements Observable {
         // and use it to initialize a local variable.
         ArrayList<GofCell> manipulations = manipulatedCells.computeIfAbsent(generationCounter, k -> new ArrayList<>());
         manipulations.add(manipulatedCellCopy);
+        if (journal != null) {
+            journal.append(generationCounter, manipulatedCellCopy);
+            flushJournal();
+        }
+        if (historyArchive != null)
+            historyArchive.truncate(generationCounter);
+
+        // the manipulation changes the following generations, so a known cycle is no longer valid
+        forgetCycle();
+        if (autosave != null)
+            autosave.manipulated(this);
+    }
+
+    /**
+     * Writes the buffered records of the journal to its file.
+     *
+     * @throws UncheckedIOException if the file can not be written
+     */
+    private void flushJournal() {
+        try {
+            journal.flush();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * Kills all cells except the cells from the first generation and brings the cells of the first generation
+     * back to life. The observers are not notified.
+     */
+    private void restoreFirstGeneration() {
+        // kill all cells
+        ArrayList<GofCell> toggledCells = gameOfLifeField.killAllCells();
+
+        // get the manipulated cells of the first generation (the cells which were brought to life)
+        // and bring them to life
+        for (GofCell firstGenCell : manipulatedCells.get(1)) {
+            gameOfLifeField.setCellAt(firstGenCell.getRow(), firstGenCell.getColumn(), firstGenCell.isAlive(), firstGenCell.getColor());
+            toggledCells.add(firstGenCell);
+        }
+
+        generationCounter = 1;
+        restartCycleDetection();
+        gameOfLifeField.getStatistics().startGeneration();
+        addChangedCells(toggledCells);
+    }
+
+    private void addChangedCells(ArrayList<GofCell> cells) {
+        for (GofCell cell : cells)
+            addChangedCell(cell);
+    }
+
+    /**
+     * Adds a cell which got a new life state or color to the changes for the observers.
+     */
+    private void addChangedCell(GofCell cell) {
+        int index = cell.getRow() * gameOfLifeField.getWidth() + cell.getColumn();
+        changedCells.add(index, cell.isAlive() ? cell.getColor().getRGB() : 0);
+        if (agePlane != null)
+            agePlane.cellChanged(index, generationCounter);
     }
 
     /**
@@ -214,39 +810,84 @@ public class GameOfLife implements Observable {
         notifyObservers();
     }
 
+    /**
+     * Lets the observers be notified asynchronously, so the simulation does not wait for slow observers.
+     * Every observer gets a queue with the given capacity and its events are delivered one after another
+     * by tasks of the given executor (e.g. a dedicated thread pool). Observers which update Swing components
+     * pass the events on to the event dispatch thread themselves (see {@link Observer#updateLater}).
+     * If the queue of an observer is full, its {@link Observer#getDeliveryPolicy() delivery policy} decides
+     * whether the oldest event is dropped, the new event is merged with the newest queued one
+     * or the simulation waits. The simulation never waits in a thread of the executor or in the event dispatch
+     * thread, because the waiting thread could be needed to deliver the event, the events are merged instead.
+     *
+     * @param executor      executor delivering the events or null to notify the observers synchronously again,
+     *                      in which case all events which are not delivered yet are dropped
+     * @param queueCapacity how many events are queued for each observer at most
+     */
+    public void setAsyncDispatch(Executor executor, int queueCapacity) {
+        if (executor != null && queueCapacity <= 0)
+            throw new IllegalArgumentException("the capacity of the queues has to be positive");
+        for (ObserverQueue queue : observerQueues.values())
+            queue.clear();
+        observerQueues.clear();
+
+        dispatchExecutor = executor;
+        dispatchQueueCapacity = queueCapacity;
+        if (executor != null)
+            for (Observer observer : observers)
+                observerQueues.put(observer, new ObserverQueue(this, observer, queueCapacity, executor));
+    }
+
+    public boolean isAsyncDispatch() {
+        return dispatchExecutor != null;
+    }
+
     @Override
     public void register(Observer observer) {
         this.observers.add(observer);
+        if (dispatchExecutor != null)
+            observerQueues.put(observer, new ObserverQueue(this, observer, dispatchQueueCapacity, dispatchExecutor));
     }
 
     @Override
     public void unregister(Observer observer) {
         this.observers.remove(observer);
+        ObserverQueue queue = observerQueues.remove(observer);
+        if (queue != null)
+            queue.clear();
     }
 
+    /**
+     * Delivers the changes since the last notification to all observers as one event.
+     * If the observers are notified asynchronously, the event is only queued for them.
+     */
     @Override
     public void notifyObservers() {
-        for (Observer o : observers)
-            o.update(this);
+        ObserverDispatchEvent dispatchEvent = new ObserverDispatchEvent();
+        dispatchEvent.begin();
+        long startTime = profiler != null ? System.nanoTime() : 0;
+        ChangeEvent event = changeEventPool.acquire();
+        changedCells.moveTo(event);
+        event.setState(generationCounter, gameOfLifeField.getStatistics());
+        if (agePlane != null)
+            agePlane.setGeneration(generationCounter);
+        for (Observer o : observers) {
+            ObserverQueue queue = observerQueues.get(o);
+            if (queue != null)
+                queue.offer(event);
+            else
+                o.update(this, event);
+        }
+        dispatchEvent.end();
+        if (dispatchEvent.shouldCommit()) {
+            dispatchEvent.generation = generationCounter;
+            dispatchEvent.observers = observers.size();
+            dispatchEvent.changedCells = event.getChangeCount();
+            dispatchEvent.asynchronous = dispatchExecutor != null;
+            dispatchEvent.commit();
+        }
+        event.release();
+        if (profiler != null)
+            profiler.record(StepProfiler.Phase.OBSERVER_NOTIFICATION, System.nanoTime() - startTime);
     }
 }
-
-
-
-
-
-
-
-
-
-
-
-
-
-
-
-
-
-
-
-
@@ -1,5 +1,7 @@
 package main.model;
 
+import main.model.profiling.StepProfiler;
+
 import java.awt.*;
 import java.util.ArrayList;
 import java.util.HashMap;
@@ -7,16 +9,26 @@ import java.util.HashMap;
 /**
  * Contains the logic and data for the game of life
  */
-public class GameOfLifeField {
+public class GameOfLifeField implements SimulationEngine {
     private final GofCell[][] field;
     private final int WIDTH;
     private final int HEIGHT;
 
     /**
-     * Counter for how many cells are alive
+     * Population, births, deaths and bounding box of the living cells
+     */
+    private final FieldStatistics statistics;
+
+    /**
+     * Hash of the current state of the field (see {@link ZobristHash}).
+     * It is updated whenever a cell gets a new life state.
      */
-    private int livingCellsCounter = 0;
+    private long stateHash = 0;
 
+    /**
+     * Gets the time spent on the color resolution and the state application, if it is set
+     */
+    private StepProfiler profiler = null;
 
     /**
      * Create a field for the gameOfLife.
@@ -33,6 +45,7 @@ public class GameOfLifeField {
 
         WIDTH = width;
         HEIGHT = height;
+        statistics = new FieldStatistics(height, width);
     }
 
     /**
@@ -45,12 +58,12 @@ public class GameOfLifeField {
      * @param cellColor color of cell
      * @return returns false if row or column are outside the field and true if operation was successful
      */
+    @Override
     public boolean setCellAt(int row, int column, boolean alive, Color cellColor) {
         if (!isCoordinateInField(row, column))
             return false;
 
-        field[row][column].set(alive, cellColor);
-        livingCellsCounter++;
+        setCellState(field[row][column], alive, cellColor);
         return true;
     }
 
@@ -59,9 +72,12 @@ public class GameOfLifeField {
      *
      * @return the cells which got a new life state
      */
+    @Override
     public ArrayList<GofCell> getNextGeneration() {
         // contains the positions and colors of cells whose life state needs to be toggled
         HashMap<GofCell, Color> cellPositions = new HashMap<>();
+        // the cells which become alive, their colors are resolved after all cells are checked
+        ArrayList<GofCell> bornCells = new ArrayList<>();
 
         // apply rules of game of life
         for (GofCell[] cellRow : field)
@@ -69,32 +85,48 @@ public class GameOfLifeField {
                 int neighboursAmount = getAmountLivingNeighbours(cell.getRow(), cell.getColumn());
 
                 if (!cell.isAlive() && neighboursAmount == 3) { // dead cell becomes alive
-                    cellPositions.put(cell, getMostFrequentlyColor(cell.getRow(), cell.getColumn()));
-                    livingCellsCounter++;
+                    bornCells.add(cell);
                 } else if (cell.isAlive() && (neighboursAmount < 2 || neighboursAmount > 3)) { // cell dies
                     cellPositions.put(cell, GofCell.DEAD_CELL_COLOR);
-                    livingCellsCounter--;
                 }
             }
 
+        // resolve the colors of the born cells (measured as a whole, not per cell)
+        long startTime = profiler != null ? System.nanoTime() : 0;
+        for (GofCell cell : bornCells)
+            cellPositions.put(cell, getMostFrequentlyColor(cell.getRow(), cell.getColumn()));
+        if (profiler != null) {
+            long colorsResolvedTime = System.nanoTime();
+            profiler.add(StepProfiler.Phase.COLOR_RESOLUTION, colorsResolvedTime - startTime);
+            startTime = colorsResolvedTime;
+        }
+
         // toggle the life state at every cell position in the field
         for (GofCell cell : cellPositions.keySet()) {
             // if cell is alive, kill it
             if (cell.isAlive()) {
-                cell.killCell();
+                setCellState(cell, false, GofCell.DEAD_CELL_COLOR);
             } else { // if cell is dead, bring it to life and set its (new) color
-                cell.set(true, cellPositions.get(cell));
+                setCellState(cell, true, cellPositions.get(cell));
             }
         }
+        if (profiler != null)
+            profiler.add(StepProfiler.Phase.STATE_APPLICATION, System.nanoTime() - startTime);
 
         return new ArrayList<>(cellPositions.keySet());
     }
 
+    @Override
+    public void setProfiler(StepProfiler profiler) {
+        this.profiler = profiler;
+    }
+
     /**
      * Kills all cells in the field.
      *
      * @return the cells which got a new life state
      */
+    @Override
     public ArrayList<GofCell> killAllCells() {
         ArrayList<GofCell> killedCells = new ArrayList<>();
 
@@ -107,22 +139,60 @@ public class GameOfLifeField {
                     killedCells.add(cell);
                 }
             }
-        livingCellsCounter = 0;
+        statistics.clear();
+        stateHash = 0;
         return killedCells;
     }
 
+    /**
+     * @return a copy of the current state of the field
+     */
+    @Override
+    public FieldSnapshot createSnapshot() {
+        Color[] colors = new Color[HEIGHT * WIDTH];
+        for (GofCell[] cellRow : field)
+            for (GofCell cell : cellRow)
+                if (cell.isAlive())
+                    colors[getIndex(cell)] = cell.getColor();
+        return new FieldSnapshot(HEIGHT, WIDTH, colors);
+    }
+
+    /**
+     * Sets the life state and the color of every cell to the state saved in the given snapshot.
+     *
+     * @param snapshot snapshot of a field with the same size as this field
+     * @return the cells which got a new life state or color
+     */
+    @Override
+    public ArrayList<GofCell> loadSnapshot(FieldSnapshot snapshot) {
+        if (snapshot.getHeight() != HEIGHT || snapshot.getWidth() != WIDTH)
+            throw new IllegalArgumentException("snapshot has a different size than the field");
+
+        ArrayList<GofCell> changedCells = new ArrayList<>();
+        for (GofCell[] cellRow : field)
+            for (GofCell cell : cellRow) {
+                boolean alive = snapshot.isAliveAt(cell.getRow(), cell.getColumn());
+                Color color = snapshot.getColorAt(cell.getRow(), cell.getColumn());
+                if (cell.isAlive() != alive || !cell.getColor().equals(color)) {
+                    setCellAt(cell.getRow(), cell.getColumn(), alive, color);
+                    changedCells.add(cell);
+                }
+            }
+        return changedCells;
+    }
+
     /**
      * @return What percentage of the field is living cells. The value is rounded to one decimal place.
      */
+    @Override
     public double getLivingCellsCoverage() {
-        double preciseCoverage = (double) livingCellsCounter / (WIDTH * HEIGHT);
-        int temp = (int) (preciseCoverage * 1000.0);
-        return ((double) temp) / 10.0;
+        return statistics.getCoverage();
     }
 
     /**
      * @return the color at the given coordinate. Returns null if the coordinate is outside the field
      */
+    @Override
     public Color getCellColorAt(int row, int column) {
         if (!isCoordinateInField(row, column))
             return null;
@@ -132,16 +202,36 @@ public class GameOfLifeField {
     /**
      * @return the cell at the given coordinate. Returns null if the coordinate is outside the field
      */
+    @Override
     public GofCell getCellAt(int row, int column) {
         if (!isCoordinateInField(row, column))
             return null;
         return field[row][column];
     }
 
+    /**
+     * @return the statistics about the living cells, which are kept up to date with every change of the field
+     */
+    @Override
+    public FieldStatistics getStatistics() {
+        return statistics;
+    }
+
+    /**
+     * @return The hash of the current state of the field. Fields with the same living cells
+     * (with the same colors) have the same hash.
+     */
+    @Override
+    public long getStateHash() {
+        return stateHash;
+    }
+
+    @Override
     public int getHeight() {
         return HEIGHT;
     }
 
+    @Override
     public int getWidth() {
         return WIDTH;
     }
@@ -150,6 +240,30 @@ public class GameOfLifeField {
         return row >= 0 && row < HEIGHT && column >= 0 && column < WIDTH;
     }
 
+    /**
+     * Set the life state and the color of the given cell and update the hash and the statistics of the field.
+     */
+    private void setCellState(GofCell cell, boolean alive, Color color) {
+        Color oldColor = cell.isAlive() ? cell.getColor() : null;
+        Color newColor = alive ? color : null;
+
+        // remove the key of the old state and add the key of the new state
+        if (oldColor != null)
+            stateHash ^= ZobristHash.key(getIndex(cell), oldColor);
+        if (newColor != null)
+            stateHash ^= ZobristHash.key(getIndex(cell), newColor);
+        statistics.cellChanged(cell.getRow(), cell.getColumn(), oldColor, newColor);
+
+        cell.set(alive, color);
+    }
+
+    /**
+     * @return the index of the given cell in the field, counted row by row
+     */
+    private int getIndex(GofCell cell) {
+        return cell.getRow() * WIDTH + cell.getColumn();
+    }
+
     /**
      * Return row, which is next to the given row, if given row is outside the field boundaries.
      * If the given row is inside the field boundaries, the given row will be returned.
@@ -183,11 +297,14 @@ public class GameOfLifeField {
     /**
      * @return The color which occurs most frequently in the 8 cells around the cell
      * at the given coordinate (row, column). If there are multiple most frequently colors,
-     * one of them is returned.
+     * the one which is found first (going through the surrounding cells row by row) is returned.
      * If all cells surrounding the given cell are dead, null is returned
      */
     public Color getMostFrequentlyColor(int row, int column) {
-        HashMap<Color, Integer> colorAmount = new HashMap<>();
+        // the different colors around the cell in the order they are found and how often they occur
+        Color[] colors = new Color[9];
+        int[] colorAmount = new int[9];
+        int differentColors = 0;
 
         for (int i = row - 1; i <= row + 1; i++)
             for (int k = column - 1; k <= column + 1; k++) {
@@ -196,18 +313,25 @@ public class GameOfLifeField {
                 int currentColumn = getNextTorusColumn(k);
 
                 Color currentColor = field[currentRow][currentColumn].getColor();
+                if (currentColor == GofCell.DEAD_CELL_COLOR)
+                    continue;
+
                 // increase the amount of the current color
-                if (currentColor != GofCell.DEAD_CELL_COLOR)
-                    colorAmount.put(currentColor, colorAmount.getOrDefault(currentColor, 0) + 1);
+                int colorIndex = 0;
+                while (colorIndex < differentColors && !colors[colorIndex].equals(currentColor))
+                    colorIndex++;
+                if (colorIndex == differentColors)
+                    colors[differentColors++] = currentColor;
+                colorAmount[colorIndex]++;
             }
 
         // determine which color occurs most
         Color mostFrequentlyColor = null;
         int max = 0;
-        for (Color color : colorAmount.keySet()) {
-            if (colorAmount.get(color) > max) {
-                mostFrequentlyColor = color;
-                max = colorAmount.get(color);
+        for (int i = 0; i < differentColors; i++) {
+            if (colorAmount[i] > max) {
+                mostFrequentlyColor = colors[i];
+                max = colorAmount[i];
             }
         }
         return mostFrequentlyColor;
@@ -0,0 +1,544 @@
+package main.model;
+
+import main.model.engine.DirectBuffers;
+
+import java.awt.*;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Keeps the generations of a game of life (see {@link GameOfLife#setHistoryArchive(GenerationArchive)}),
+ * so any archived generation can be loaded without computing the generations before it.
+ * Every generation is saved as the difference to the generation before (the changed cells) and every
+ * {@code keyframeInterval} generations as keyframe (all cells), so loading a generation decodes one keyframe and
+ * less than {@code keyframeInterval} differences.
+ * <p>
+ * The records are compressed: a keyframe consists of runs of cells with the same color (length as varint and color),
+ * a difference of runs of consecutive changed cells (gap to the end of the run before and length as varint,
+ * followed by the colors of the cells). A color is 0 for dead cells, 1 + the index in {@link GofCell#PALETTE}
+ * or {@value #OTHER_COLOR} followed by the rgb value (int).
+ * The records are stored in segments outside the Java heap. If the segments exceed the memory cap,
+ * the oldest segments are moved to a temporary file.
+ * <p>
+ * Generations are only appended after the last archived one. Generations which are skipped (e.g. by a fast-forward
+ * inside a cycle) stay missing. The methods are synchronized, so the archive can be read by other threads
+ * (e.g. the UI) while the simulation thread appends generations.
+ */
+public class GenerationArchive implements AutoCloseable {
+    public static final int DEFAULT_KEYFRAME_INTERVAL = 64;
+    public static final int DEFAULT_SEGMENT_SIZE = 1 << 20;
+
+    /**
+     * Color code of colors outside the palette, followed by the rgb value
+     */
+    private static final int OTHER_COLOR = GofCell.PALETTE.length + 1;
+
+    private final int height;
+    private final int width;
+    private final int keyframeInterval;
+    private final int segmentSize;
+    private final long memoryCap;
+    private final Path spillDirectory;
+
+    /**
+     * A block of records, in memory or moved to the spill file
+     */
+    private static class Segment {
+        private ByteBuffer memory;
+        private long filePosition = -1;
+        private int used = 0;
+
+        private Segment(ByteBuffer memory) {
+            this.memory = memory;
+        }
+    }
+
+    /**
+     * The segments in the order they were written. The segments moved to the spill file are always the oldest ones.
+     */
+    private final ArrayList<Segment> segments = new ArrayList<>();
+    private long memoryBytes = 0;
+    private FileChannel spillFile = null;
+    private Path spillPath = null;
+    private long spillEnd = 0;
+
+    /*
+     * Where the record of every generation since firstGeneration is stored: segment, offset and length (0 for missing
+     * generations) and whether it is a keyframe.
+     */
+    private int firstGeneration = 0;
+    private int generationCount = 0;
+    private int[] recordSegments = new int[256];
+    private int[] recordOffsets = new int[256];
+    private int[] recordLengths = new int[256];
+    private boolean[] keyframes = new boolean[256];
+
+    /**
+     * How many differences were archived since the last keyframe
+     */
+    private int differencesSinceKeyframe = 0;
+
+    /**
+     * Buffer for encoding a record before it is copied into a segment
+     */
+    private ByteBuffer scratch = ByteBuffer.allocate(4096);
+
+    /**
+     * Create an archive with the default keyframe interval and segment size.
+     *
+     * @param memoryCap      how many bytes the segments in memory may use before they are moved to a file
+     * @param spillDirectory directory of the file or null for the default directory for temporary files
+     */
+    public GenerationArchive(int height, int width, long memoryCap, Path spillDirectory) {
+        this(height, width, DEFAULT_KEYFRAME_INTERVAL, DEFAULT_SEGMENT_SIZE, memoryCap, spillDirectory);
+    }
+
+    /**
+     * Create an archive.
+     *
+     * @param keyframeInterval after how many generations a keyframe is archived instead of a difference
+     * @param segmentSize      the size of a segment in bytes (larger records get their own segment)
+     * @param memoryCap        how many bytes the segments in memory may use before they are moved to a file.
+     *                         The segment which is written at the moment always stays in memory.
+     * @param spillDirectory   directory of the file or null for the default directory for temporary files
+     */
+    public GenerationArchive(int height, int width, int keyframeInterval, int segmentSize, long memoryCap,
+                             Path spillDirectory) {
+        if (keyframeInterval <= 0 || segmentSize <= 0 || memoryCap < 0)
+            throw new IllegalArgumentException("keyframeInterval and segmentSize must be positive");
+        this.height = height;
+        this.width = width;
+        this.keyframeInterval = keyframeInterval;
+        this.segmentSize = segmentSize;
+        this.memoryCap = memoryCap;
+        this.spillDirectory = spillDirectory;
+    }
+
+    public int getHeight() {
+        return height;
+    }
+
+    public int getWidth() {
+        return width;
+    }
+
+    /**
+     * @return the first archived generation or 0 if the archive is empty
+     */
+    public synchronized int getFirstGeneration() {
+        return firstGeneration;
+    }
+
+    /**
+     * @return the last archived generation or 0 if the archive is empty
+     */
+    public synchronized int getLastGeneration() {
+        return generationCount > 0 ? firstGeneration + generationCount - 1 : 0;
+    }
+
+    public synchronized boolean contains(int generation) {
+        int index = generation - firstGeneration;
+        return generationCount > 0 && index >= 0 && index < generationCount && recordLengths[index] > 0;
+    }
+
+    /**
+     * @return the latest archived generation up to the given one or 0 if there is none
+     */
+    public synchronized int getLatestArchived(int generation) {
+        for (int index = Math.min(generation - firstGeneration, generationCount - 1); index >= 0; index--)
+            if (recordLengths[index] > 0)
+                return firstGeneration + index;
+        return 0;
+    }
+
+    /**
+     * @return how many bytes the segments in memory use
+     */
+    public synchronized long getMemoryBytes() {
+        return memoryBytes;
+    }
+
+    /**
+     * @return how many bytes were moved to the file
+     */
+    public synchronized long getSpilledBytes() {
+        return spillEnd;
+    }
+
+    /**
+     * Archives the current state of the field as the given generation, if it comes after the last archived generation.
+     * It is archived as difference to the generation before, if that generation is the last archived one,
+     * the changes are given and the keyframe interval has not passed. Otherwise the whole field is archived.
+     *
+     * @param changes the cells which changed since the generation before (the last occurrence of a cell describes its
+     *                state) or null if they are unknown
+     * @throws UncheckedIOException if the archive exceeds its memory cap and the spill file can not be written
+     */
+    public synchronized void record(int generation, SimulationEngine field, List<GofCell> changes) {
+        if (generationCount > 0 && generation <= getLastGeneration())
+            return;
+        if (generationCount == 0 || generation != getLastGeneration() + 1 || changes == null
+                || differencesSinceKeyframe + 1 >= keyframeInterval) {
+            encodeKeyframe(field.createSnapshot());
+            store(generation, true);
+            differencesSinceKeyframe = 0;
+        } else {
+            encodeDifference(changes);
+            store(generation, false);
+            differencesSinceKeyframe++;
+        }
+    }
+
+    /**
+     * @return the given generation or null if it is not archived
+     */
+    public synchronized FieldSnapshot getSnapshot(int generation) {
+        if (!contains(generation))
+            return null;
+        int keyframeIndex = generation - firstGeneration;
+        while (!keyframes[keyframeIndex])
+            keyframeIndex--;
+
+        int[] rgbs = new int[height * width];
+        decodeKeyframe(read(keyframeIndex), rgbs);
+        for (int index = keyframeIndex + 1; index <= generation - firstGeneration; index++)
+            decodeDifference(read(index), rgbs);
+
+        Color[] colors = new Color[rgbs.length];
+        for (int i = 0; i < rgbs.length; i++)
+            if (rgbs[i] != 0)
+                colors[i] = GofCell.colorOf(rgbs[i]);
+        return new FieldSnapshot(height, width, colors);
+    }
+
+    /**
+     * Removes the given generation and all following generations, e.g. because they are changed by a manipulation.
+     */
+    public synchronized void truncate(int generation) {
+        if (generationCount == 0 || generation > getLastGeneration())
+            return;
+        if (generation <= firstGeneration) {
+            clear();
+            return;
+        }
+
+        // the first stored record which is removed marks the end of the remaining records
+        int newCount = generation - firstGeneration;
+        int removedIndex = newCount;
+        while (removedIndex < generationCount && recordLengths[removedIndex] == 0)
+            removedIndex++;
+        if (removedIndex < generationCount) {
+            int segmentIndex = recordSegments[removedIndex];
+            int offset = recordOffsets[removedIndex];
+            while (segments.size() > segmentIndex + 1)
+                removeLastSegment();
+            Segment segment = segments.get(segmentIndex);
+            if (segment.memory != null) {
+                segment.used = offset;
+            } else {
+                // a segment in the file is not written anymore, the next record starts a new segment
+                truncateSpillFile(segment.filePosition + offset);
+                segment.used = offset;
+            }
+        }
+
+        // missing generations at the end are not kept
+        while (newCount > 0 && recordLengths[newCount - 1] == 0)
+            newCount--;
+        generationCount = newCount;
+        if (generationCount == 0) {
+            clear();
+            return;
+        }
+        differencesSinceKeyframe = 0;
+        for (int index = generationCount - 1; index >= 0 && !keyframes[index]; index--)
+            differencesSinceKeyframe++;
+    }
+
+    /**
+     * Removes all generations.
+     */
+    public synchronized void clear() {
+        while (!segments.isEmpty())
+            removeLastSegment();
+        truncateSpillFile(0);
+        firstGeneration = 0;
+        generationCount = 0;
+        differencesSinceKeyframe = 0;
+    }
+
+    /**
+     * Removes all generations and deletes the spill file.
+     */
+    @Override
+    public synchronized void close() throws IOException {
+        clear();
+        if (spillFile != null) {
+            spillFile.close();
+            Files.deleteIfExists(spillPath);
+            spillFile = null;
+        }
+    }
+
+    private void removeLastSegment() {
+        Segment segment = segments.remove(segments.size() - 1);
+        if (segment.memory != null) {
+            memoryBytes -= segment.memory.capacity();
+            DirectBuffers.free(segment.memory);
+        } else {
+            truncateSpillFile(segment.filePosition);
+        }
+    }
+
+    /**
+     * Copies the record in the scratch buffer into a segment and remembers it as the record of the given generation.
+     */
+    private void store(int generation, boolean keyframe) {
+        scratch.flip();
+        int length = scratch.remaining();
+        Segment segment = segments.isEmpty() ? null : segments.get(segments.size() - 1);
+        if (segment == null || segment.memory == null || segment.memory.capacity() - segment.used < length) {
+            ByteBuffer memory = DirectBuffers.allocate(Math.max(segmentSize, length));
+            memoryBytes += memory.capacity();
+            segment = new Segment(memory);
+            segments.add(segment);
+        }
+        segment.memory.put(segment.used, scratch, 0, length);
+
+        if (generationCount == 0)
+            firstGeneration = generation;
+        int index = generation - firstGeneration;
+        ensureIndexCapacity(index + 1);
+        // generations between the last archived one and this one are missing
+        for (int i = generationCount; i < index; i++)
+            recordLengths[i] = 0;
+        recordSegments[index] = segments.size() - 1;
+        recordOffsets[index] = segment.used;
+        recordLengths[index] = length;
+        keyframes[index] = keyframe;
+        generationCount = index + 1;
+        segment.used += length;
+
+        spillIfNecessary();
+    }
+
+    /**
+     * Moves the oldest segments in memory to the file until the memory cap is kept. The last segment stays in memory.
+     */
+    private void spillIfNecessary() {
+        for (int i = 0; i < segments.size() - 1 && memoryBytes > memoryCap; i++) {
+            Segment segment = segments.get(i);
+            if (segment.memory == null)
+                continue;
+            try {
+                if (spillFile == null) {
+                    spillPath = spillDirectory != null ? Files.createTempFile(spillDirectory, "gol-history-", ".bin")
+                            : Files.createTempFile("gol-history-", ".bin");
+                    spillPath.toFile().deleteOnExit();
+                    spillFile = FileChannel.open(spillPath, StandardOpenOption.READ, StandardOpenOption.WRITE);
+                }
+                ByteBuffer content = segment.memory.duplicate().position(0).limit(segment.used);
+                long position = spillEnd;
+                while (content.hasRemaining())
+                    position += spillFile.write(content, position);
+                segment.filePosition = spillEnd;
+                spillEnd = position;
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+            memoryBytes -= segment.memory.capacity();
+            DirectBuffers.free(segment.memory);
+            segment.memory = null;
+        }
+    }
+
+    private void truncateSpillFile(long size) {
+        if (spillEnd <= size)
+            return;
+        spillEnd = size;
+        try {
+            if (spillFile != null)
+                spillFile.truncate(size);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * @return the record with the given index in the generation arrays
+     */
+    private ByteBuffer read(int index) {
+        Segment segment = segments.get(recordSegments[index]);
+        int offset = recordOffsets[index];
+        int length = recordLengths[index];
+        if (segment.memory != null)
+            return segment.memory.duplicate().position(offset).limit(offset + length);
+
+        ByteBuffer record = ByteBuffer.allocate(length);
+        try {
+            long position = segment.filePosition + offset;
+            while (record.hasRemaining()) {
+                int read = spillFile.read(record, position);
+                if (read < 0)
+                    throw new IOException("the spill file of the history archive is incomplete");
+                position += read;
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return record.flip();
+    }
+
+    private void ensureIndexCapacity(int capacity) {
+        if (capacity <= recordLengths.length)
+            return;
+        int newCapacity = Math.max(capacity, 2 * recordLengths.length);
+        recordSegments = Arrays.copyOf(recordSegments, newCapacity);
+        recordOffsets = Arrays.copyOf(recordOffsets, newCapacity);
+        recordLengths = Arrays.copyOf(recordLengths, newCapacity);
+        keyframes = Arrays.copyOf(keyframes, newCapacity);
+    }
+
+    private void encodeKeyframe(FieldSnapshot snapshot) {
+        scratch.clear();
+        int runRgb = 0;
+        int runLength = 0;
+        for (int row = 0; row < height; row++)
+            for (int column = 0; column < width; column++) {
+                int rgb = snapshot.isAliveAt(row, column) ? snapshot.getColorAt(row, column).getRGB() : 0;
+                if (rgb != runRgb && runLength > 0) {
+                    putVarint(runLength);
+                    putColor(runRgb);
+                    runLength = 0;
+                }
+                runRgb = rgb;
+                runLength++;
+            }
+        putVarint(runLength);
+        putColor(runRgb);
+    }
+
+    private void decodeKeyframe(ByteBuffer record, int[] rgbs) {
+        int index = 0;
+        while (record.hasRemaining()) {
+            int runLength = getVarint(record);
+            int rgb = getColor(record);
+            Arrays.fill(rgbs, index, index + runLength, rgb);
+            index += runLength;
+        }
+    }
+
+    private void encodeDifference(List<GofCell> changes) {
+        // sort the changes by index and keep the last occurrence of every cell:
+        // the order of the changes is part of the sort key, the last entry of every index is used
+        long[] keys = new long[changes.size()];
+        int[] rgbs = new int[changes.size()];
+        for (int i = 0; i < keys.length; i++) {
+            GofCell cell = changes.get(i);
+            keys[i] = (long) (cell.getRow() * width + cell.getColumn()) << 32 | i;
+            rgbs[i] = cell.isAlive() ? cell.getColor().getRGB() : 0;
+        }
+        Arrays.sort(keys);
+        int[] indices = new int[keys.length];
+        int[] colors = new int[keys.length];
+        int count = 0;
+        for (int i = 0; i < keys.length; i++) {
+            int index = (int) (keys[i] >>> 32);
+            if (i + 1 < keys.length && (int) (keys[i + 1] >>> 32) == index)
+                continue;
+            indices[count] = index;
+            colors[count++] = rgbs[(int) keys[i]];
+        }
+
+        scratch.clear();
+        int runCount = 0;
+        for (int i = 0; i < count; i++)
+            if (i == 0 || indices[i] != indices[i - 1] + 1)
+                runCount++;
+        putVarint(runCount);
+        int end = 0;
+        for (int start = 0; start < count; ) {
+            int length = 1;
+            while (start + length < count && indices[start + length] == indices[start] + length)
+                length++;
+            putVarint(indices[start] - end);
+            putVarint(length);
+            for (int i = start; i < start + length; i++)
+                putColor(colors[i]);
+            end = indices[start] + length;
+            start += length;
+        }
+    }
+
+    private void decodeDifference(ByteBuffer record, int[] rgbs) {
+        int runCount = getVarint(record);
+        int end = 0;
+        for (int run = 0; run < runCount; run++) {
+            int start = end + getVarint(record);
+            int length = getVarint(record);
+            for (int index = start; index < start + length; index++)
+                rgbs[index] = getColor(record);
+            end = start + length;
+        }
+    }
+
+    private void putVarint(int value) {
+        ensureScratchSpace(5);
+        while ((value & ~0x7F) != 0) {
+            scratch.put((byte) (value & 0x7F | 0x80));
+            value >>>= 7;
+        }
+        scratch.put((byte) value);
+    }
+
+    private static int getVarint(ByteBuffer record) {
+        int value = 0;
+        for (int shift = 0; ; shift += 7) {
+            byte b = record.get();
+            value |= (b & 0x7F) << shift;
+            if (b >= 0)
+                return value;
+        }
+    }
+
+    private void putColor(int rgb) {
+        ensureScratchSpace(5);
+        if (rgb == 0) {
+            scratch.put((byte) 0);
+            return;
+        }
+        int paletteIndex = GofCell.getPaletteIndex(GofCell.colorOf(rgb));
+        if (paletteIndex >= 0) {
+            scratch.put((byte) (paletteIndex + 1));
+        } else {
+            scratch.put((byte) OTHER_COLOR);
+            scratch.putInt(rgb);
+        }
+    }
+
+    private static int getColor(ByteBuffer record) {
+        int code = record.get();
+        if (code == 0)
+            return 0;
+        if (code == OTHER_COLOR)
+            return record.getInt();
+        return GofCell.PALETTE[code - 1].getRGB();
+    }
+
+    private void ensureScratchSpace(int bytes) {
+        if (scratch.remaining() >= bytes)
+            return;
+        ByteBuffer larger = ByteBuffer.allocate(2 * scratch.capacity() + bytes);
+        scratch.flip();
+        larger.put(scratch);
+        scratch = larger;
+    }
+}
@@ -1,6 +1,7 @@
 package main.model;
 
 import java.awt.*;
+import java.util.concurrent.ConcurrentHashMap;
 
 /**
  * A class representing a cell in the game of life.
@@ -8,6 +9,22 @@ import java.awt.*;
 public class GofCell implements Cloneable {
     public static final Color DEAD_CELL_COLOR = Color.WHITE;
 
+    /**
+     * The colors the user can choose for living cells
+     */
+    public static final Color[] PALETTE = {Color.RED, Color.GREEN, Color.BLUE, Color.YELLOW, Color.MAGENTA};
+
+    /**
+     * Colors by their rgb value, so that converting rgb values back to colors returns the same instances.
+     */
+    private static final ConcurrentHashMap<Integer, Color> COLORS_BY_RGB = new ConcurrentHashMap<>();
+
+    static {
+        COLORS_BY_RGB.put(DEAD_CELL_COLOR.getRGB(), DEAD_CELL_COLOR);
+        for (Color color : PALETTE)
+            COLORS_BY_RGB.put(color.getRGB(), color);
+    }
+
     private boolean alive = false;
     private Color color = DEAD_CELL_COLOR;
     private final int row;
@@ -44,6 +61,24 @@ public class GofCell implements Cloneable {
     }
 
 
+    /**
+     * @return the index of the given color in the PALETTE or -1 if the color is not part of the palette
+     */
+    public static int getPaletteIndex(Color color) {
+        for (int i = 0; i < PALETTE.length; i++)
+            if (PALETTE[i].equals(color))
+                return i;
+        return -1;
+    }
+
+    /**
+     * Converts an rgb value (including alpha, see {@link Color#getRGB()}) back to a color.
+     * The colors of the palette and the dead cell color are returned as the same instances as the constants.
+     */
+    public static Color colorOf(int rgb) {
+        return COLORS_BY_RGB.computeIfAbsent(rgb, k -> new Color(k, true));
+    }
+
     public boolean isAlive() {
         return alive;
     }
@@ -0,0 +1,289 @@
+package main.model;
+
+import main.model.engine.SimulationEngines;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Map;
+import java.util.Random;
+import java.util.TreeMap;
+
+/**
+ * An append-only file of all manipulations of a game of life (see {@link GameOfLife#setJournal(ManipulationJournal)}),
+ * from which any generation of the session can be computed again (see {@link #replay(Path, String, int)}).
+ * The first generation consists of the manipulations in generation 1, so the journal contains everything
+ * needed to reproduce a session.
+ * <p>
+ * The file starts with a header (magic number as long, height and width of the field as int, a random session id
+ * as long, which identifies the journal, see {@link Autosave}), followed by one
+ * record per manipulation (little endian): the generation (int), the index of the cell (row * width + column, int)
+ * and the color (byte): the index in {@link GofCell#PALETTE}, {@value #KILLED} for killed cells or
+ * {@value #OTHER_COLOR} followed by the rgb value (int) for colors outside the palette.
+ * When the game of life is reset, a record with generation 0 and no further content is written.
+ * The records are collected in a buffer and written when it is full or the journal is flushed or closed,
+ * so a crash loses the records since the last flush. The game of life flushes the journal after every manipulation
+ * and reset. A partially written record at the end is ignored when reading.
+ */
+public class ManipulationJournal implements AutoCloseable {
+    /**
+     * First bytes of a journal file
+     */
+    public static final long FILE_MAGIC = 0x474F4C4A4F55524EL; // "GOLJOURN"
+    private static final int HEADER_SIZE = 24;
+
+    /*
+     * Values of the color byte which are not palette indices
+     */
+    private static final byte KILLED = -1;
+    private static final byte OTHER_COLOR = -2;
+
+    /**
+     * Generation of the record written when the game of life is reset
+     */
+    private static final int RESET_GENERATION = 0;
+
+    private static final int BUFFER_SIZE = 64 * 1024;
+    private static final int MAX_RECORD_SIZE = 13;
+
+    private final FileChannel channel;
+    private final ByteBuffer buffer = ByteBuffer.allocateDirect(BUFFER_SIZE).order(ByteOrder.LITTLE_ENDIAN);
+    private final int height;
+    private final int width;
+    private final long sessionId;
+
+    /**
+     * How many records were appended (including resets)
+     */
+    private long recordCount = 0;
+
+    private ManipulationJournal(FileChannel channel, int height, int width, long sessionId) {
+        this.channel = channel;
+        this.height = height;
+        this.width = width;
+        this.sessionId = sessionId;
+    }
+
+    /**
+     * Create a journal for a field of the given size. An existing file is overwritten.
+     */
+    public static ManipulationJournal create(Path file, int height, int width) throws IOException {
+        FileChannel channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                StandardOpenOption.TRUNCATE_EXISTING);
+        ManipulationJournal journal = new ManipulationJournal(channel, height, width, new Random().nextLong());
+        journal.buffer.putLong(FILE_MAGIC).putInt(height).putInt(width).putLong(journal.sessionId);
+        return journal;
+    }
+
+    public int getHeight() {
+        return height;
+    }
+
+    public int getWidth() {
+        return width;
+    }
+
+    public long getSessionId() {
+        return sessionId;
+    }
+
+    /**
+     * @return how many records were appended (manipulations and resets)
+     */
+    public synchronized long getRecordCount() {
+        return recordCount;
+    }
+
+    /**
+     * Appends a manipulation.
+     *
+     * @param generation in which generation the cell was manipulated
+     * @param cell       the state of the cell after the manipulation
+     * @throws UncheckedIOException if the buffer was full and could not be written
+     */
+    public synchronized void append(int generation, GofCell cell) {
+        ensureSpace();
+        buffer.putInt(generation).putInt(cell.getRow() * width + cell.getColumn());
+        int paletteIndex = GofCell.getPaletteIndex(cell.getColor());
+        if (!cell.isAlive())
+            buffer.put(KILLED);
+        else if (paletteIndex >= 0)
+            buffer.put((byte) paletteIndex);
+        else
+            buffer.put(OTHER_COLOR).putInt(cell.getColor().getRGB());
+        recordCount++;
+    }
+
+    /**
+     * Appends that the game of life was reset, so the manipulations before do not belong to the following generations.
+     *
+     * @throws UncheckedIOException if the buffer was full and could not be written
+     */
+    public synchronized void appendReset() {
+        ensureSpace();
+        buffer.putInt(RESET_GENERATION);
+        recordCount++;
+    }
+
+    /**
+     * Writes the buffered records to the file.
+     */
+    public synchronized void flush() throws IOException {
+        buffer.flip();
+        while (buffer.hasRemaining())
+            channel.write(buffer);
+        buffer.clear();
+    }
+
+    @Override
+    public synchronized void close() throws IOException {
+        try {
+            flush();
+        } finally {
+            channel.close();
+        }
+    }
+
+    private void ensureSpace() {
+        if (buffer.remaining() >= MAX_RECORD_SIZE)
+            return;
+        try {
+            flush();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * Computes a generation of the session recorded in the given journal: the manipulations since the last reset are
+     * applied in the generations they were made in, the generations in between are computed like
+     * {@link GameOfLife#goToGeneration(int)} does (several at once, fast-forwarding inside cycles).
+     *
+     * @param engine     the name of the engine computing the generations (see {@link SimulationEngines})
+     * @param generation the number of the generation
+     * @return a game of life in the given generation, whose manipulations are the manipulations of the journal
+     * @throws IOException if the file can not be read or is not a journal
+     */
+    public static GameOfLife replay(Path file, String engine, int generation) throws IOException {
+        Records records = read(file);
+
+        // the manipulations since the last reset in the order they were made, by generation
+        TreeMap<Integer, ArrayList<GofCell>> manipulations = new TreeMap<>();
+        for (int i = 0; i < records.cells.size(); i++) {
+            if (records.cells.get(i) == null)
+                manipulations.clear();
+            else
+                manipulations.computeIfAbsent(records.generations.get(i), k -> new ArrayList<>())
+                        .add(records.cells.get(i));
+        }
+
+        GameOfLife gof = new GameOfLife(SimulationEngines.create(engine, records.height, records.width));
+        for (Map.Entry<Integer, ArrayList<GofCell>> entry : manipulations.entrySet()) {
+            if (entry.getKey() > generation)
+                break;
+            gof.goToGeneration(entry.getKey());
+            for (GofCell cell : entry.getValue())
+                manipulate(gof, cell);
+        }
+        gof.goToGeneration(generation);
+        return gof;
+    }
+
+    /**
+     * Repeats the manipulations and resets of the journal in the order they were made, starting with the given record:
+     * for every manipulation the game of life goes to its generation and makes it.
+     *
+     * @param firstRecord the number of the first repeated record (the records are counted from 0, resets included)
+     * @param sessionId   the session id of the journal the record number belongs to
+     * @return whether the records were repeated. They are not repeated if the journal belongs to another session.
+     * @throws IOException if the file can not be read or is not a journal for a field of the size of the game of life
+     */
+    static boolean repeat(Path file, long sessionId, long firstRecord, GameOfLife gof) throws IOException {
+        Records records = read(file);
+        if (records.height != gof.getFieldHeight() || records.width != gof.getFieldWidth())
+            throw new IOException(file + " is a journal for a field of another size");
+        if (records.sessionId != sessionId)
+            return false;
+        for (int i = (int) firstRecord; i < records.cells.size(); i++) {
+            if (records.cells.get(i) == null) {
+                gof.resetGameOfLife();
+            } else {
+                gof.goToGeneration(records.generations.get(i));
+                manipulate(gof, records.cells.get(i));
+            }
+        }
+        return true;
+    }
+
+    private static void manipulate(GameOfLife gof, GofCell cell) {
+        if (cell.isAlive())
+            gof.reviveCellAt(cell.getRow(), cell.getColumn(), cell.getColor());
+        else
+            gof.killCellAt(cell.getRow(), cell.getColumn());
+    }
+
+    /**
+     * The content of a journal file
+     */
+    private static class Records {
+        private int height;
+        private int width;
+        private long sessionId;
+
+        /**
+         * The generation and the manipulated cell of every record, the cell is null for resets
+         */
+        private final ArrayList<Integer> generations = new ArrayList<>();
+        private final ArrayList<GofCell> cells = new ArrayList<>();
+    }
+
+    private static Records read(Path file) throws IOException {
+        ByteBuffer content;
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            content = ByteBuffer.allocate((int) channel.size()).order(ByteOrder.LITTLE_ENDIAN);
+            while (content.hasRemaining())
+                if (channel.read(content) < 0)
+                    break;
+            content.flip();
+        }
+        if (content.remaining() < HEADER_SIZE || content.getLong() != FILE_MAGIC)
+            throw new IOException(file + " is not a manipulation journal");
+        Records records = new Records();
+        records.height = content.getInt();
+        records.width = content.getInt();
+        records.sessionId = content.getLong();
+
+        while (content.remaining() >= 4) {
+            int generation = content.getInt();
+            if (generation == RESET_GENERATION) {
+                records.generations.add(generation);
+                records.cells.add(null);
+                continue;
+            }
+            if (content.remaining() < 5)
+                break;
+            int index = content.getInt();
+            byte color = content.get();
+            GofCell cell = new GofCell(index / records.width, index % records.width);
+            if (color == KILLED) {
+                cell.set(false, GofCell.DEAD_CELL_COLOR);
+            } else if (color == OTHER_COLOR) {
+                if (content.remaining() < 4)
+                    break;
+                cell.set(true, GofCell.colorOf(content.getInt()));
+            } else if (color >= 0 && color < GofCell.PALETTE.length) {
+                cell.set(true, GofCell.PALETTE[color]);
+            } else {
+                throw new IOException(file + " contains an invalid color: " + color);
+            }
+            records.generations.add(generation);
+            records.cells.add(cell);
+        }
+        return records;
+    }
+}
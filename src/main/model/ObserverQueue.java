@@ -0,0 +1,159 @@
+package main.model;
+
+import main.view.Observer;
+
+import java.awt.*;
+import java.util.ArrayDeque;
+import java.util.Collections;
+import java.util.Set;
+import java.util.WeakHashMap;
+import java.util.concurrent.Executor;
+
+/**
+ * Delivers the change events of an observable to one observer asynchronously.
+ * The events are queued and delivered one after another in their order by a task of the executor,
+ * so the observable does not wait for the observer. If the queue is full, the policy of the observer decides
+ * what happens with a new event.
+ * <p>
+ * A thread which delivers events of the queue or the event dispatch thread never waits for a full queue with the
+ * policy BLOCK, because the delivery could be queued behind its current task. The new event is merged with the
+ * newest queued one instead (like COALESCE_LATEST).
+ */
+class ObserverQueue {
+    private final Observable observable;
+    private final Observer observer;
+    private final DeliveryPolicy policy;
+    private final int capacity;
+    private final Executor executor;
+
+    /**
+     * The retained events which are not delivered yet
+     */
+    private final ArrayDeque<ChangeEvent> events = new ArrayDeque<>();
+
+    /**
+     * true while a task delivering the queued events is submitted to the executor or running
+     */
+    private boolean deliveryScheduled = false;
+
+    /**
+     * The threads of the executor which delivered events of this queue
+     */
+    private final Set<Thread> deliveryThreads = Collections.newSetFromMap(new WeakHashMap<>());
+
+    /**
+     * @param capacity how many events are queued at most
+     */
+    ObserverQueue(Observable observable, Observer observer, int capacity, Executor executor) {
+        if (capacity <= 0)
+            throw new IllegalArgumentException("the capacity of the queue has to be positive");
+        this.observable = observable;
+        this.observer = observer;
+        this.policy = observer.getDeliveryPolicy();
+        this.capacity = capacity;
+        this.executor = executor;
+    }
+
+    Observer getObserver() {
+        return observer;
+    }
+
+    /**
+     * Queues an event for the observer. The event is retained until it is delivered or dropped.
+     * With the policy BLOCK this method waits while the queue is full, unless the current thread may be needed
+     * for the delivery.
+     */
+    synchronized void offer(ChangeEvent event) {
+        if (events.size() >= capacity) {
+            switch (policy) {
+                case DROP_OLDEST -> events.poll().release();
+                case COALESCE_LATEST -> {
+                    mergeWithLatest(event);
+                    return;
+                }
+                case BLOCK -> {
+                    if (mayDeliver(Thread.currentThread())) {
+                        mergeWithLatest(event);
+                        return;
+                    }
+                    awaitSpace();
+                }
+            }
+        }
+
+        event.retain();
+        events.add(event);
+        scheduleDelivery();
+    }
+
+    /**
+     * Drops all queued events. Events which are delivered at the moment are not affected.
+     */
+    synchronized void clear() {
+        ChangeEvent event;
+        while ((event = events.poll()) != null)
+            event.release();
+        notifyAll();
+    }
+
+    private void mergeWithLatest(ChangeEvent event) {
+        ChangeEvent latest = events.pollLast();
+        events.add(latest.merge(event));
+        latest.release();
+        scheduleDelivery();
+    }
+
+    /**
+     * @return true if the given thread delivered events of this queue before or is the event dispatch thread,
+     * so waiting in it could wait for itself
+     */
+    private boolean mayDeliver(Thread thread) {
+        return deliveryThreads.contains(thread) || EventQueue.isDispatchThread();
+    }
+
+    private void awaitSpace() {
+        try {
+            while (events.size() >= capacity)
+                wait();
+        } catch (InterruptedException e) {
+            // the event is queued anyway, so the observer does not miss any changes
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private void scheduleDelivery() {
+        if (deliveryScheduled)
+            return;
+        deliveryScheduled = true;
+        executor.execute(this::deliverQueuedEvents);
+    }
+
+    private void deliverQueuedEvents() {
+        synchronized (this) {
+            deliveryThreads.add(Thread.currentThread());
+        }
+        while (true) {
+            ChangeEvent event;
+            synchronized (this) {
+                event = events.poll();
+                if (event == null) {
+                    deliveryScheduled = false;
+                    return;
+                }
+                notifyAll();
+            }
+
+            try {
+                observer.update(observable, event);
+            } catch (RuntimeException e) {
+                // the remaining events are delivered by a new task when the next event is offered
+                synchronized (this) {
+                    deliveryScheduled = false;
+                }
+                throw e;
+            } finally {
+                event.release();
+            }
+        }
+    }
+}
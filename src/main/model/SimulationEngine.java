@@ -0,0 +1,117 @@
+package main.model;
+
+import main.model.profiling.StepProfiler;
+
+import java.awt.*;
+import java.util.ArrayList;
+
+/**
+ * The field of a game of life, which stores the cells and computes the following generations.
+ * {@link GameOfLife} only uses a field through this interface, so different implementations
+ * (e.g. a field distributed over multiple processes) can be used for the same game of life.
+ * An engine provides access to single cells, computes one or more generations at once,
+ * loads and exports the whole field as {@link FieldSnapshot} and reports which cells changed.
+ * Every engine has to compute the same generations as the reference engine {@link GameOfLifeField},
+ * including the colors of the born cells. Engines are selected by name in {@link main.model.engine.SimulationEngines}.
+ * <p>
+ * The returned cells describe the state of the cell at the time they are returned.
+ * Implementations may return their own cells instead of copies, so they must not be changed by the caller.
+ */
+public interface SimulationEngine {
+    /**
+     * Set the life state and the color of one cell in the field at the given coordinate (row, column),
+     * if the coordinate is inside the field boundaries.
+     *
+     * @return returns false if row or column are outside the field and true if operation was successful
+     */
+    boolean setCellAt(int row, int column, boolean alive, Color cellColor);
+
+    /**
+     * @return the cell at the given coordinate. Returns null if the coordinate is outside the field
+     */
+    GofCell getCellAt(int row, int column);
+
+    /**
+     * @return the color at the given coordinate. Returns null if the coordinate is outside the field
+     */
+    Color getCellColorAt(int row, int column);
+
+    /**
+     * Loads the next generation of the game of life.
+     *
+     * @return the cells which got a new life state
+     */
+    ArrayList<GofCell> getNextGeneration();
+
+    /**
+     * Loads the given amount of following generations. Engines may compute several generations at once,
+     * so the statistics only contain the births and deaths of all these generations together.
+     *
+     * @param generations how many generations are loaded
+     * @return the cells which got a new life state. A cell may be contained multiple times,
+     * the last occurrence describes its state after all generations.
+     */
+    default ArrayList<GofCell> getNextGenerations(int generations) {
+        ArrayList<GofCell> changedCells = new ArrayList<>();
+        for (int i = 0; i < generations; i++)
+            changedCells.addAll(getNextGeneration());
+        return changedCells;
+    }
+
+    /**
+     * Kills all cells in the field.
+     *
+     * @return the cells which got a new life state
+     */
+    ArrayList<GofCell> killAllCells();
+
+    /**
+     * @return a copy of the current state of the field
+     */
+    FieldSnapshot createSnapshot();
+
+    /**
+     * Sets the life state and the color of every cell to the state saved in the given snapshot.
+     *
+     * @return the cells which got a new life state or color
+     */
+    ArrayList<GofCell> loadSnapshot(FieldSnapshot snapshot);
+
+    /**
+     * @return the statistics about the living cells, which are kept up to date with every change of the field
+     */
+    FieldStatistics getStatistics();
+
+    /**
+     * @return The hash of the current state of the field (see {@link ZobristHash}).
+     * Fields with the same living cells (with the same colors) have the same hash.
+     */
+    long getStateHash();
+
+    /**
+     * @return What percentage of the field is living cells. The value is rounded to one decimal place.
+     */
+    default double getLivingCellsCoverage() {
+        return getStatistics().getCoverage();
+    }
+
+    /**
+     * Frees the memory of the cells, which is not needed while all cells are dead.
+     * It is called when the game of life is reset. The field can still be used afterwards.
+     */
+    default void release() {
+    }
+
+    int getHeight();
+
+    int getWidth();
+
+    /**
+     * Set the profiler to which the engine reports the time it spends on the color resolution
+     * and the state application during a step. Engines which do not report anything ignore it.
+     *
+     * @param profiler the profiler or null to stop reporting
+     */
+    default void setProfiler(StepProfiler profiler) {
+    }
+}
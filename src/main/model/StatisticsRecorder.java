@@ -0,0 +1,230 @@
+package main.model;
+
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Records the statistics of every generation (population, births, deaths, population per color and step time)
+ * into a ring buffer of fixed size, which is allocated outside the Java heap.
+ * If the buffer is full, the oldest generation is overwritten.
+ * Recording a generation doesn't allocate any memory.
+ */
+public class StatisticsRecorder {
+    /*
+     * Layout of one record in the buffer (in bytes):
+     * 0 generation (int), 4 population (int), 8 births (int), 12 deaths (int), 16 step time in nanoseconds (long),
+     * 24 population per palette color and of all other colors (int each)
+     */
+    private static final int GENERATION_OFFSET = 0;
+    private static final int POPULATION_OFFSET = 4;
+    private static final int BIRTHS_OFFSET = 8;
+    private static final int DEATHS_OFFSET = 12;
+    private static final int STEP_NANOS_OFFSET = 16;
+    private static final int COLOR_POPULATION_OFFSET = 24;
+    private static final int COLOR_COUNT = GofCell.PALETTE.length + 1;
+    public static final int RECORD_SIZE = COLOR_POPULATION_OFFSET + 4 * COLOR_COUNT;
+
+    /**
+     * First bytes of a binary statistics file
+     */
+    public static final long BINARY_FILE_MAGIC = 0x474F4C5354415453L; // "GOLSTATS"
+
+    /**
+     * How many buckets the downsampled series have
+     */
+    public static final int SERIES_BUCKET_COUNT = 512;
+
+    private final ByteBuffer buffer;
+    private final int capacity;
+
+    /*
+     * Downsampled series of the population and the population per color since the recorder was created or cleared.
+     * Unlike the buffer, they cover all recorded generations (at a lower resolution).
+     */
+    private final DownsampledSeries populationSeries = new DownsampledSeries(SERIES_BUCKET_COUNT);
+    private final DownsampledSeries[] colorPopulationSeries = new DownsampledSeries[COLOR_COUNT];
+
+    /**
+     * index of the record which is written next
+     */
+    private int nextIndex = 0;
+    private int size = 0;
+
+    /**
+     * Create a recorder.
+     *
+     * @param capacity How many generations are kept at most
+     */
+    public StatisticsRecorder(int capacity) {
+        if (capacity <= 0)
+            throw new IllegalArgumentException("capacity must be positive");
+        this.capacity = capacity;
+        buffer = ByteBuffer.allocateDirect(capacity * RECORD_SIZE).order(ByteOrder.LITTLE_ENDIAN);
+        for (int i = 0; i < COLOR_COUNT; i++)
+            colorPopulationSeries[i] = new DownsampledSeries(SERIES_BUCKET_COUNT);
+    }
+
+    /**
+     * Record the statistics of a generation.
+     *
+     * @param generation The number of the generation
+     * @param statistics The statistics of the field in this generation
+     * @param stepNanos  How long it took to compute the generation in nanoseconds
+     */
+    public synchronized void record(int generation, FieldStatistics statistics, long stepNanos) {
+        int offset = nextIndex * RECORD_SIZE;
+        buffer.putInt(offset + GENERATION_OFFSET, generation);
+        buffer.putInt(offset + POPULATION_OFFSET, statistics.getPopulation());
+        buffer.putInt(offset + BIRTHS_OFFSET, statistics.getBirths());
+        buffer.putInt(offset + DEATHS_OFFSET, statistics.getDeaths());
+        buffer.putLong(offset + STEP_NANOS_OFFSET, stepNanos);
+        for (int i = 0; i < COLOR_COUNT; i++)
+            buffer.putInt(offset + COLOR_POPULATION_OFFSET + 4 * i, statistics.getColorPopulation(i));
+
+        populationSeries.add(statistics.getPopulation());
+        for (int i = 0; i < COLOR_COUNT; i++)
+            colorPopulationSeries[i].add(statistics.getColorPopulation(i));
+
+        nextIndex = (nextIndex + 1) % capacity;
+        if (size < capacity)
+            size++;
+    }
+
+    /**
+     * Forget all recorded generations.
+     */
+    public synchronized void clear() {
+        nextIndex = 0;
+        size = 0;
+        populationSeries.clear();
+        for (DownsampledSeries series : colorPopulationSeries)
+            series.clear();
+    }
+
+    /**
+     * @return How many generations are recorded
+     */
+    public synchronized int getSize() {
+        return size;
+    }
+
+    public int getCapacity() {
+        return capacity;
+    }
+
+    /**
+     * @return The downsampled population of all recorded generations
+     */
+    public DownsampledSeries getPopulationSeries() {
+        return populationSeries;
+    }
+
+    /**
+     * @param paletteIndex index of a color in {@link GofCell#PALETTE}
+     *                     or the length of the palette for all colors outside the palette
+     * @return The downsampled population of the color of all recorded generations
+     */
+    public DownsampledSeries getColorPopulationSeries(int paletteIndex) {
+        return colorPopulationSeries[paletteIndex];
+    }
+
+    /*
+     * Getters for the values of a recorded generation.
+     * The index 0 refers to the oldest recorded generation, getSize() - 1 to the latest one.
+     */
+
+    public synchronized int getGeneration(int index) {
+        return buffer.getInt(getOffset(index) + GENERATION_OFFSET);
+    }
+
+    public synchronized int getPopulation(int index) {
+        return buffer.getInt(getOffset(index) + POPULATION_OFFSET);
+    }
+
+    public synchronized int getBirths(int index) {
+        return buffer.getInt(getOffset(index) + BIRTHS_OFFSET);
+    }
+
+    public synchronized int getDeaths(int index) {
+        return buffer.getInt(getOffset(index) + DEATHS_OFFSET);
+    }
+
+    public synchronized long getStepNanos(int index) {
+        return buffer.getLong(getOffset(index) + STEP_NANOS_OFFSET);
+    }
+
+    /**
+     * @param paletteIndex index of a color in {@link GofCell#PALETTE}
+     *                     or the length of the palette for all colors outside the palette
+     */
+    public synchronized int getColorPopulation(int index, int paletteIndex) {
+        return buffer.getInt(getOffset(index) + COLOR_POPULATION_OFFSET + 4 * paletteIndex);
+    }
+
+    /**
+     * Write all recorded generations (oldest first) to a csv file with a header line.
+     *
+     * @param path path of the file, an existing file is overwritten
+     */
+    public synchronized void writeCsv(Path path) throws IOException {
+        try (PrintWriter writer = new PrintWriter(Files.newBufferedWriter(path))) {
+            StringBuilder header = new StringBuilder("generation,population,births,deaths,stepNanos");
+            for (int i = 0; i < GofCell.PALETTE.length; i++)
+                header.append(",population_").append(String.format("%06x", GofCell.PALETTE[i].getRGB() & 0xFFFFFF));
+            writer.println(header.append(",population_other"));
+
+            for (int i = 0; i < size; i++) {
+                StringBuilder line = new StringBuilder();
+                line.append(getGeneration(i)).append(',').append(getPopulation(i)).append(',')
+                        .append(getBirths(i)).append(',').append(getDeaths(i)).append(',').append(getStepNanos(i));
+                for (int k = 0; k < COLOR_COUNT; k++)
+                    line.append(',').append(getColorPopulation(i, k));
+                writer.println(line);
+            }
+        }
+    }
+
+    /**
+     * Write all recorded generations (oldest first) to a binary file.
+     * The file starts with a header (magic number as long, record size as int, amount of records as int),
+     * followed by the records in the layout of the buffer (little endian).
+     *
+     * @param path path of the file, an existing file is overwritten
+     */
+    public synchronized void writeBinary(Path path) throws IOException {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                StandardOpenOption.TRUNCATE_EXISTING)) {
+            ByteBuffer header = ByteBuffer.allocate(16).order(ByteOrder.LITTLE_ENDIAN);
+            header.putLong(BINARY_FILE_MAGIC).putInt(RECORD_SIZE).putInt(size).flip();
+            writeFully(channel, header);
+
+            // the records are written directly from the buffer: first from the oldest record to the end of the buffer,
+            // then (if the buffer wrapped around) from the start of the buffer to the latest record
+            int oldestIndex = (nextIndex - size + capacity) % capacity;
+            int firstPart = Math.min(size, capacity - oldestIndex);
+            writeFully(channel, buffer.duplicate().position(oldestIndex * RECORD_SIZE)
+                    .limit((oldestIndex + firstPart) * RECORD_SIZE));
+            writeFully(channel, buffer.duplicate().position(0).limit((size - firstPart) * RECORD_SIZE));
+        }
+    }
+
+    private static void writeFully(FileChannel channel, ByteBuffer source) throws IOException {
+        while (source.hasRemaining())
+            channel.write(source);
+    }
+
+    /**
+     * @return the offset in the buffer of the record with the given index (0 = oldest)
+     */
+    private int getOffset(int index) {
+        if (index < 0 || index >= size)
+            throw new IndexOutOfBoundsException("index " + index + " is outside of the recorded generations");
+        return ((nextIndex - size + index + capacity) % capacity) * RECORD_SIZE;
+    }
+}
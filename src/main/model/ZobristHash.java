@@ -0,0 +1,39 @@
+package main.model;
+
+import java.awt.*;
+
+/**
+ * Helper for hashing the state of a game of life field (Zobrist hashing).
+ * Every living cell contributes a pseudo random 64-bit key, which depends on its position and its color.
+ * The hash of a field is the XOR of the keys of all living cells,
+ * so it can be updated incrementally whenever a single cell gets a new life state.
+ */
+public final class ZobristHash {
+
+    private ZobristHash() {
+        throw new UnsupportedOperationException("Utility class cannot be instantiated");
+    }
+
+    /**
+     * @param index The index of the cell in the field (row * width + column)
+     * @param color The color of the living cell
+     * @return The key of a living cell with the given color at the given index
+     */
+    public static long key(int index, Color color) {
+        return key(index, color.getRGB());
+    }
+
+    /**
+     * @param index The index of the cell in the field (row * width + column)
+     * @param rgb   The rgb value of the color of the living cell
+     * @return The key of a living cell with the given color at the given index
+     */
+    public static long key(int index, int rgb) {
+        // index and color are combined into one unique long, which is then scrambled (SplitMix64 finalizer).
+        // The keys are computed on the fly, so no table of keys has to be kept for huge fields.
+        long z = ((long) index << 32) ^ (rgb & 0xFFFFFFFFL);
+        z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+        z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+        return z ^ (z >>> 31);
+    }
+}
@@ -0,0 +1,312 @@
+package main.model.engine;
+
+import main.model.*;
+import main.model.profiling.StepProfiler;
+
+import java.awt.*;
+import java.util.ArrayList;
+import java.util.Arrays;
+
+/**
+ * Base class for fields which store the cells as rgb values (0 for dead cells) instead of {@link GofCell} objects.
+ * It keeps the statistics and the hash of the field up to date, so the subclasses only have to store
+ * the rgb values and report every changed cell to {@link #cellChanged(int, int, int, ArrayList)}.
+ * The cells are addressed by their index in the field, counted row by row.
+ */
+public abstract class AbstractRgbField implements SimulationEngine {
+    protected final int height;
+    protected final int width;
+
+    private final FieldStatistics statistics;
+    private long stateHash = 0;
+
+    /*
+     * The changes of the next generation, which are applied together by applyPendingChanges,
+     * because the colors of the born cells depend on the colors of the current generation:
+     * index, old rgb value and new rgb value of every changed cell
+     */
+    private int[] pendingChanges = new int[3 * 256];
+    private int pendingChangeCount = 0;
+
+    /**
+     * The numbers of the pending changes which are births, whose colors are resolved by applyPendingChanges
+     */
+    private int[] pendingBirths = new int[256];
+    private int pendingBirthCount = 0;
+
+    /**
+     * Gets the time spent on the color resolution and the state application, if it is set
+     */
+    private StepProfiler profiler = null;
+
+    /**
+     * Create an empty field.
+     *
+     * @param height The height of the field
+     * @param width  The width of the field
+     */
+    protected AbstractRgbField(int height, int width) {
+        this.height = height;
+        this.width = width;
+        statistics = new FieldStatistics(height, width);
+    }
+
+    /**
+     * @return the rgb value of the cell with the given index (0 if it is dead)
+     */
+    protected abstract int getRgb(int index);
+
+    /**
+     * Stores the rgb value of the cell with the given index without updating the statistics and the hash.
+     */
+    protected abstract void setRgb(int index, int rgb);
+
+    @Override
+    public void setProfiler(StepProfiler profiler) {
+        this.profiler = profiler;
+    }
+
+    @Override
+    public boolean setCellAt(int row, int column, boolean alive, Color cellColor) {
+        if (!isCoordinateInField(row, column))
+            return false;
+
+        setCell(row * width + column, alive ? cellColor.getRGB() : 0, null);
+        return true;
+    }
+
+    @Override
+    public GofCell getCellAt(int row, int column) {
+        if (!isCoordinateInField(row, column))
+            return null;
+        return createCell(row, column, getRgb(row * width + column));
+    }
+
+    @Override
+    public Color getCellColorAt(int row, int column) {
+        if (!isCoordinateInField(row, column))
+            return null;
+        int rgb = getRgb(row * width + column);
+        return rgb != 0 ? GofCell.colorOf(rgb) : GofCell.DEAD_CELL_COLOR;
+    }
+
+    @Override
+    public ArrayList<GofCell> killAllCells() {
+        ArrayList<GofCell> killedCells = new ArrayList<>();
+        for (int index = 0; index < height * width; index++)
+            setCell(index, 0, killedCells);
+        statistics.clear();
+        return killedCells;
+    }
+
+    @Override
+    public FieldSnapshot createSnapshot() {
+        Color[] colors = new Color[height * width];
+        for (int index = 0; index < colors.length; index++) {
+            int rgb = getRgb(index);
+            if (rgb != 0)
+                colors[index] = GofCell.colorOf(rgb);
+        }
+        return new FieldSnapshot(height, width, colors);
+    }
+
+    @Override
+    public ArrayList<GofCell> loadSnapshot(FieldSnapshot snapshot) {
+        if (snapshot.getHeight() != height || snapshot.getWidth() != width)
+            throw new IllegalArgumentException("snapshot has a different size than the field");
+
+        ArrayList<GofCell> changedCells = new ArrayList<>();
+        for (int row = 0; row < height; row++)
+            for (int column = 0; column < width; column++)
+                setCell(row * width + column,
+                        snapshot.isAliveAt(row, column) ? snapshot.getColorAt(row, column).getRGB() : 0, changedCells);
+        return changedCells;
+    }
+
+    @Override
+    public FieldStatistics getStatistics() {
+        return statistics;
+    }
+
+    @Override
+    public long getStateHash() {
+        return stateHash;
+    }
+
+    @Override
+    public int getHeight() {
+        return height;
+    }
+
+    @Override
+    public int getWidth() {
+        return width;
+    }
+
+    public boolean isCoordinateInField(int row, int column) {
+        return row >= 0 && row < height && column >= 0 && column < width;
+    }
+
+    /**
+     * Updates the statistics and the hash because a cell got a new rgb value and adds the cell to the given list.
+     *
+     * @param changedCells list for the changed cell or null if the cell is not needed
+     */
+    protected void cellChanged(int index, int oldRgb, int newRgb, ArrayList<GofCell> changedCells) {
+        int row = index / width;
+        int column = index % width;
+        if (oldRgb != 0)
+            stateHash ^= ZobristHash.key(index, oldRgb);
+        if (newRgb != 0)
+            stateHash ^= ZobristHash.key(index, newRgb);
+        statistics.cellChanged(row, column, oldRgb != 0 ? GofCell.colorOf(oldRgb) : null,
+                newRgb != 0 ? GofCell.colorOf(newRgb) : null);
+
+        if (changedCells != null)
+            changedCells.add(createCell(row, column, newRgb));
+    }
+
+    /**
+     * Remembers a change of a cell, which is applied by {@link #applyPendingChanges()}.
+     */
+    protected void addPendingChange(int index, int oldRgb, int newRgb) {
+        if (3 * pendingChangeCount == pendingChanges.length)
+            pendingChanges = Arrays.copyOf(pendingChanges, 2 * pendingChanges.length);
+        pendingChanges[3 * pendingChangeCount] = index;
+        pendingChanges[3 * pendingChangeCount + 1] = oldRgb;
+        pendingChanges[3 * pendingChangeCount + 2] = newRgb;
+        pendingChangeCount++;
+    }
+
+    /**
+     * Remembers the birth of a cell, which is applied by {@link #applyPendingChanges()}.
+     * Its color is resolved there together with the colors of the other born cells.
+     */
+    protected void addPendingBirth(int index) {
+        if (pendingBirthCount == pendingBirths.length)
+            pendingBirths = Arrays.copyOf(pendingBirths, 2 * pendingBirths.length);
+        pendingBirths[pendingBirthCount++] = pendingChangeCount;
+        addPendingChange(index, 0, 0);
+    }
+
+    /**
+     * Resolves the colors of the pending births from the current generation (see {@link #getMostFrequentlyRgb(int, int)}),
+     * stores the new rgb values of all pending changes and reports them.
+     * Both passes are measured as a whole, so the profiler costs two time measurements per generation.
+     *
+     * @return the changed cells
+     */
+    protected ArrayList<GofCell> applyPendingChanges() {
+        long startTime = profiler != null ? System.nanoTime() : 0;
+        for (int i = 0; i < pendingBirthCount; i++) {
+            int change = 3 * pendingBirths[i];
+            int index = pendingChanges[change];
+            pendingChanges[change + 2] = getMostFrequentlyRgb(index / width, index % width);
+        }
+        pendingBirthCount = 0;
+        if (profiler != null) {
+            long colorsResolvedTime = System.nanoTime();
+            profiler.add(StepProfiler.Phase.COLOR_RESOLUTION, colorsResolvedTime - startTime);
+            startTime = colorsResolvedTime;
+        }
+
+        ArrayList<GofCell> changedCells = new ArrayList<>(pendingChangeCount);
+        for (int i = 0; i < 3 * pendingChangeCount; i += 3) {
+            setRgb(pendingChanges[i], pendingChanges[i + 2]);
+            cellChanged(pendingChanges[i], pendingChanges[i + 1], pendingChanges[i + 2], changedCells);
+        }
+        pendingChangeCount = 0;
+        if (profiler != null)
+            profiler.add(StepProfiler.Phase.STATE_APPLICATION, System.nanoTime() - startTime);
+        return changedCells;
+    }
+
+    /**
+     * @return a new cell with the given rgb value (0 for a dead cell)
+     */
+    protected static GofCell createCell(int row, int column, int rgb) {
+        GofCell cell = new GofCell(row, column);
+        if (rgb != 0)
+            cell.set(true, GofCell.colorOf(rgb));
+        return cell;
+    }
+
+    /**
+     * Same rule as {@link GameOfLifeField#getMostFrequentlyColor(int, int)}: the most frequent color
+     * of the cells surrounding the given cell, ties are won by the color found first. The field is a torus.
+     *
+     * @return the most frequent rgb value or 0 if all surrounding cells are dead
+     */
+    protected int getMostFrequentlyRgb(int row, int column) {
+        int[] rows = {(row - 1 + height) % height, row, (row + 1) % height};
+        int[] columns = {(column - 1 + width) % width, column, (column + 1) % width};
+        int[] neighbourhood = new int[9];
+        for (int i = 0; i < 9; i++)
+            neighbourhood[i] = getRgb(rows[i / 3] * width + columns[i % 3]);
+        return getMostFrequentlyRgb(neighbourhood, 0, 3, 6, 0, 1, 2);
+    }
+
+    /**
+     * Same rule as {@link GameOfLifeField#getMostFrequentlyColor(int, int)} for cells stored as rgb values
+     * in an array without wrapping: the most frequent color of the surrounding cells,
+     * ties are won by the color found first (going through the surrounding cells row by row).
+     *
+     * @param cells  the rgb values row by row
+     * @param index  index of the cell, which must not be in the first or last row or column of the array
+     * @param stride amount of cells in a row of the array
+     * @return the most frequent rgb value or 0 if all surrounding cells are dead
+     */
+    protected static int getMostFrequentlyRgb(int[] cells, int index, int stride) {
+        return getMostFrequentlyRgb(cells, index - stride, index, index + stride, -1, 0, 1);
+    }
+
+    /**
+     * Same rule as {@link #getMostFrequentlyRgb(int[], int, int)} for cells whose neighbours are given explicitly,
+     * e.g. because they wrap around the field. The surrounding cells are cells[rowOffset + column]
+     * for the three row offsets and the three columns, except the cell itself (middleRow + column).
+     *
+     * @return the most frequent rgb value or 0 if all surrounding cells are dead
+     */
+    protected static int getMostFrequentlyRgb(int[] cells, int rowAbove, int middleRow, int rowBelow,
+                                              int leftColumn, int column, int rightColumn) {
+        int[] rgbs = new int[8];
+        int[] rgbAmount = new int[8];
+        int differentRgbs = 0;
+
+        for (int k = 0; k < 9; k++) {
+            if (k == 4)
+                continue; // the cell itself
+            int rowOffset = k < 3 ? rowAbove : k < 6 ? middleRow : rowBelow;
+            int currentColumn = k % 3 == 0 ? leftColumn : k % 3 == 1 ? column : rightColumn;
+            int rgb = cells[rowOffset + currentColumn];
+            if (rgb == 0)
+                continue;
+            int rgbIndex = 0;
+            while (rgbIndex < differentRgbs && rgbs[rgbIndex] != rgb)
+                rgbIndex++;
+            if (rgbIndex == differentRgbs)
+                rgbs[differentRgbs++] = rgb;
+            rgbAmount[rgbIndex]++;
+        }
+
+        int mostFrequentlyRgb = 0;
+        int max = 0;
+        for (int i = 0; i < differentRgbs; i++)
+            if (rgbAmount[i] > max) {
+                mostFrequentlyRgb = rgbs[i];
+                max = rgbAmount[i];
+            }
+        return mostFrequentlyRgb;
+    }
+
+    /**
+     * Sets the rgb value of a cell and reports the change, if the value differs from the current one.
+     */
+    private void setCell(int index, int rgb, ArrayList<GofCell> changedCells) {
+        int oldRgb = getRgb(index);
+        if (oldRgb != rgb) {
+            setRgb(index, rgb);
+            cellChanged(index, oldRgb, rgb, changedCells);
+        }
+    }
+}
@@ -0,0 +1,92 @@
+package main.model.engine;
+
+/**
+ * Applies the rules of the game of life to rows of cells stored as bits, 64 cells in one long
+ * (bit i of word w is column 64 * w + i, the unused bits of the last word are 0).
+ * The neighbours are counted by adding the shifted words of the surrounding rows with bitwise adders
+ * (each bit position is a separate counter), so there is no branch per cell.
+ */
+final class BitRowKernel {
+    private final int wordsPerRow;
+
+    /**
+     * The bit of the last column in the last word of a row
+     */
+    private final int lastBit;
+
+    /**
+     * The valid bits of the last word of a row
+     */
+    private final long lastWordMask;
+
+    /**
+     * @param width amount of cells in a row
+     */
+    BitRowKernel(int width) {
+        wordsPerRow = (width + 63) / 64;
+        lastBit = (width - 1) % 64;
+        lastWordMask = lastBit == 63 ? -1L : (1L << (lastBit + 1)) - 1;
+    }
+
+    int getWordsPerRow() {
+        return wordsPerRow;
+    }
+
+    /**
+     * Computes the life states of a row in the next generation. The columns wrap around the row.
+     * The rows are given as arrays and the index of their first word, so they can be part of a larger array.
+     *
+     * @param next      receives the row in the next generation
+     * @param nextStart index of the first word of the next row
+     */
+    void computeRow(long[] above, int aboveStart, long[] middle, int middleStart, long[] below, int belowStart,
+                    long[] next, int nextStart) {
+        for (int word = 0; word < wordsPerRow; word++) {
+            long northWest = getWestWord(above, aboveStart, word), north = above[aboveStart + word];
+            long northEast = getEastWord(above, aboveStart, word);
+            long west = getWestWord(middle, middleStart, word), east = getEastWord(middle, middleStart, word);
+            long southWest = getWestWord(below, belowStart, word), south = below[belowStart + word];
+            long southEast = getEastWord(below, belowStart, word);
+
+            // add the neighbours of each row to a two bit number (ones and twos)
+            long aboveOnes = northWest ^ north ^ northEast;
+            long aboveTwos = northWest & north | northEast & (northWest ^ north);
+            long middleOnes = west ^ east;
+            long middleTwos = west & east;
+            long belowOnes = southWest ^ south ^ southEast;
+            long belowTwos = southWest & south | southEast & (southWest ^ south);
+
+            // add the three numbers. The cell is alive in the next generation if there are 3 neighbours
+            // or 2 neighbours and it is alive already. Both mean that exactly one of the twos is set
+            long ones = aboveOnes ^ middleOnes ^ belowOnes;
+            long onesCarry = aboveOnes & middleOnes | belowOnes & (aboveOnes ^ middleOnes);
+            long twos01 = aboveTwos ^ middleTwos;
+            long twos23 = belowTwos ^ onesCarry;
+            long exactlyOneTwo = (twos01 ^ twos23) & ~(aboveTwos & middleTwos | belowTwos & onesCarry);
+
+            long nextWord = exactlyOneTwo & (ones | middle[middleStart + word]);
+            next[nextStart + word] = word == wordsPerRow - 1 ? nextWord & lastWordMask : nextWord;
+        }
+    }
+
+    /**
+     * @return the word whose bit i is the cell left of column 64 * word + i
+     */
+    private long getWestWord(long[] row, int start, int word) {
+        long previousBit = word > 0
+                ? row[start + word - 1] >>> 63
+                : row[start + wordsPerRow - 1] >>> lastBit & 1;
+        return row[start + word] << 1 | previousBit;
+    }
+
+    /**
+     * @return the word whose bit i is the cell right of column 64 * word + i
+     */
+    private long getEastWord(long[] row, int start, int word) {
+        long current = row[start + word];
+        if (word < wordsPerRow - 1)
+            return current >>> 1 | row[start + word + 1] << 63;
+        // the cell right of the last column is the first column
+        return current >>> 1 | (row[start] & 1) << lastBit;
+    }
+}
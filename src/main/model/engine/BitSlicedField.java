@@ -0,0 +1,90 @@
+package main.model.engine;
+
+import main.model.GofCell;
+
+import java.util.ArrayList;
+
+/**
+ * A field which stores the life states as bits, 64 cells of a row in one long.
+ * The next generation is computed for 64 cells at once (see {@link BitRowKernel}).
+ * Only the colors of the cells which are born are computed one by one.
+ */
+public class BitSlicedField extends AbstractRgbField {
+    private final BitRowKernel kernel;
+    private final int wordsPerRow;
+
+    /*
+     * The life states row by row (bit i of word w is column 64 * w + i) and the buffer for the next generation
+     */
+    private long[] alive;
+    private long[] nextAlive;
+
+    /*
+     * The rgb values of the cells row by row (0 for dead cells)
+     */
+    private final int[] rgbs;
+
+    /**
+     * Create a field.
+     *
+     * @param height The height of the field
+     * @param width  The width of the field
+     */
+    public BitSlicedField(int height, int width) {
+        super(height, width);
+        kernel = new BitRowKernel(width);
+        wordsPerRow = kernel.getWordsPerRow();
+        alive = new long[height * wordsPerRow];
+        nextAlive = new long[height * wordsPerRow];
+        rgbs = new int[height * width];
+    }
+
+    @Override
+    public ArrayList<GofCell> getNextGeneration() {
+        for (int row = 0; row < height; row++) {
+            int above = (row - 1 + height) % height * wordsPerRow;
+            int middle = row * wordsPerRow;
+            int below = (row + 1) % height * wordsPerRow;
+            kernel.computeRow(alive, above, alive, middle, alive, below, nextAlive, middle);
+            for (int word = 0; word < wordsPerRow; word++) {
+                long next = nextAlive[middle + word];
+                long current = alive[middle + word];
+                long births = next & ~current;
+                long deaths = current & ~next;
+                while (births != 0) {
+                    int column = 64 * word + Long.numberOfTrailingZeros(births);
+                    addPendingBirth(row * width + column);
+                    births &= births - 1;
+                }
+                while (deaths != 0) {
+                    int index = row * width + 64 * word + Long.numberOfTrailingZeros(deaths);
+                    addPendingChange(index, rgbs[index], 0);
+                    deaths &= deaths - 1;
+                }
+            }
+        }
+
+        long[] swap = alive;
+        alive = nextAlive;
+        nextAlive = swap;
+
+        return applyPendingChanges();
+    }
+
+    @Override
+    protected int getRgb(int index) {
+        return rgbs[index];
+    }
+
+    @Override
+    protected void setRgb(int index, int rgb) {
+        rgbs[index] = rgb;
+        int row = index / width;
+        int column = index % width;
+        int word = row * wordsPerRow + column / 64;
+        if (rgb != 0)
+            alive[word] |= 1L << column;
+        else
+            alive[word] &= ~(1L << column);
+    }
+}
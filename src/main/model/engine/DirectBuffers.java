@@ -0,0 +1,60 @@
+package main.model.engine;
+
+import java.lang.reflect.Field;
+import java.lang.reflect.Method;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+
+/**
+ * Allocates and frees memory outside the Java heap.
+ * The memory of a direct buffer is normally only freed when the buffer is garbage collected,
+ * which may take very long for a few large buffers. If the JDK allows it, {@link #free(ByteBuffer)}
+ * frees the memory immediately.
+ */
+public final class DirectBuffers {
+    /*
+     * sun.misc.Unsafe and its method invokeCleaner(ByteBuffer) or null if they are not available
+     */
+    private static final Object UNSAFE;
+    private static final Method INVOKE_CLEANER;
+
+    static {
+        Object unsafe = null;
+        Method invokeCleaner = null;
+        try {
+            Class<?> unsafeClass = Class.forName("sun.misc.Unsafe");
+            Field theUnsafe = unsafeClass.getDeclaredField("theUnsafe");
+            theUnsafe.setAccessible(true);
+            unsafe = theUnsafe.get(null);
+            invokeCleaner = unsafeClass.getMethod("invokeCleaner", ByteBuffer.class);
+        } catch (ReflectiveOperationException | RuntimeException e) {
+            // the memory is freed by the garbage collector
+        }
+        UNSAFE = unsafe;
+        INVOKE_CLEANER = invokeCleaner;
+    }
+
+    private DirectBuffers() {
+        throw new UnsupportedOperationException();
+    }
+
+    /**
+     * @return a new direct buffer with the given size filled with zeros and with little endian byte order
+     */
+    public static ByteBuffer allocate(int size) {
+        return ByteBuffer.allocateDirect(size).order(ByteOrder.LITTLE_ENDIAN);
+    }
+
+    /**
+     * Frees the memory of a buffer created by {@link #allocate(int)}. The buffer must not be used anymore.
+     */
+    public static void free(ByteBuffer buffer) {
+        if (INVOKE_CLEANER == null || buffer == null || !buffer.isDirect())
+            return;
+        try {
+            INVOKE_CLEANER.invoke(UNSAFE, buffer);
+        } catch (ReflectiveOperationException | RuntimeException e) {
+            // the memory is freed by the garbage collector
+        }
+    }
+}
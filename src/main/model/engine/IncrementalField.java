@@ -0,0 +1,121 @@
+package main.model.engine;
+
+import main.model.GofCell;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+
+/**
+ * A field which keeps the amount of living neighbours of every cell instead of counting them every generation.
+ * When a cell is born or dies, only the counts of its eight neighbours are adjusted, and only the cells
+ * whose count changed (and the cells set from outside) are evaluated in the next generation.
+ * So a generation costs time proportional to the births and deaths of the previous generation
+ * instead of the area of the field, which is much faster for large fields with little activity.
+ */
+public class IncrementalField extends AbstractRgbField {
+    /*
+     * The rgb values of the cells row by row (0 for dead cells) and the amount of living neighbours of every cell
+     */
+    private final int[] rgbs;
+    private final byte[] neighbourCounts;
+
+    /*
+     * The cells which have to be evaluated in the next generation. Bit i of the bitmap is set if cell i is in the list.
+     */
+    private final long[] candidateBits;
+    private int[] candidates = new int[256];
+    private int candidateCount = 0;
+
+    /**
+     * The candidates of the generation which is computed at the moment
+     */
+    private int[] evaluatedCandidates = new int[256];
+
+    /**
+     * Offsets of the eight neighbours as rows and columns
+     */
+    private static final int[] NEIGHBOUR_ROWS = {-1, -1, -1, 0, 0, 1, 1, 1};
+    private static final int[] NEIGHBOUR_COLUMNS = {-1, 0, 1, -1, 1, -1, 0, 1};
+
+    /**
+     * Create a field.
+     *
+     * @param height The height of the field
+     * @param width  The width of the field
+     */
+    public IncrementalField(int height, int width) {
+        super(height, width);
+        rgbs = new int[height * width];
+        neighbourCounts = new byte[height * width];
+        candidateBits = new long[(height * width + 63) / 64];
+    }
+
+    /**
+     * @return how many cells will be evaluated in the next generation
+     */
+    public int getCandidateCount() {
+        return candidateCount;
+    }
+
+    @Override
+    public ArrayList<GofCell> getNextGeneration() {
+        // take the candidates, so the changes applied below collect the candidates of the following generation
+        int[] swap = evaluatedCandidates;
+        evaluatedCandidates = candidates;
+        candidates = swap;
+        int count = candidateCount;
+        candidateCount = 0;
+
+        for (int i = 0; i < count; i++) {
+            int index = evaluatedCandidates[i];
+            candidateBits[index >>> 6] &= ~(1L << index);
+
+            int neighbours = neighbourCounts[index];
+            int rgb = rgbs[index];
+            if (rgb == 0 && neighbours == 3)
+                addPendingBirth(index);
+            else if (rgb != 0 && neighbours != 2 && neighbours != 3)
+                addPendingChange(index, rgb, 0);
+        }
+        return applyPendingChanges();
+    }
+
+    @Override
+    protected int getRgb(int index) {
+        return rgbs[index];
+    }
+
+    @Override
+    protected void setRgb(int index, int rgb) {
+        boolean wasAlive = rgbs[index] != 0;
+        rgbs[index] = rgb;
+        // a cell set from outside may have to change in the next generation even if its neighbours do not change.
+        // For cells changed by a generation this is not necessary, but cheaper than telling both cases apart.
+        addCandidate(index);
+        if (wasAlive == (rgb != 0))
+            return;
+
+        int row = index / width;
+        int column = index % width;
+        int delta = rgb != 0 ? 1 : -1;
+        for (int i = 0; i < NEIGHBOUR_ROWS.length; i++) {
+            int neighbour = (row + NEIGHBOUR_ROWS[i] + height) % height * width
+                    + (column + NEIGHBOUR_COLUMNS[i] + width) % width;
+            // in very small fields a cell can be its own neighbour, which does not count
+            if (neighbour == index)
+                continue;
+            neighbourCounts[neighbour] += delta;
+            addCandidate(neighbour);
+        }
+    }
+
+    private void addCandidate(int index) {
+        long bit = 1L << index;
+        if ((candidateBits[index >>> 6] & bit) != 0)
+            return;
+        candidateBits[index >>> 6] |= bit;
+        if (candidateCount == candidates.length)
+            candidates = Arrays.copyOf(candidates, 2 * candidateCount);
+        candidates[candidateCount++] = index;
+    }
+}
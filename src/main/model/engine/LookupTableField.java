@@ -0,0 +1,128 @@
+package main.model.engine;
+
+import main.model.GofCell;
+
+import java.util.ArrayList;
+
+/**
+ * A field which computes the next generation in blocks of 2x2 cells with a table:
+ * the life states of the 4x4 cells around a block are an index into a table of 65536 entries,
+ * which contains the life states of the 2x2 cells in the middle in the next generation.
+ * The table is computed once from the rules of the game of life. The table pass only collects the born cells,
+ * their colors are resolved afterwards in a separate pass over the births (see {@link #addPendingBirth(int)}).
+ */
+public class LookupTableField extends AbstractRgbField {
+    /**
+     * A cell is born with this amount of neighbours (bit n) or survives with this amount of neighbours
+     */
+    private static final int BIRTH_RULE = 1 << 3;
+    private static final int SURVIVAL_RULE = 1 << 2 | 1 << 3;
+
+    /**
+     * The next life states of the four cells in the middle of every 4x4 neighbourhood
+     * (see {@link #getNextBlock(int)})
+     */
+    private static final byte[] TABLE = createTable();
+
+    /*
+     * The life states (1 for living cells) and the rgb values (0 for dead cells) of the cells row by row
+     */
+    private final byte[] alive;
+    private final int[] rgbs;
+
+    /**
+     * Create a field.
+     *
+     * @param height The height of the field
+     * @param width  The width of the field
+     */
+    public LookupTableField(int height, int width) {
+        super(height, width);
+        alive = new byte[height * width];
+        rgbs = new int[height * width];
+    }
+
+    /**
+     * @param neighbourhood the life states of 4x4 cells: bit 4 * row + column is set if the cell is alive
+     * @return the life states of the cells in the middle (row and column 1 and 2) in the next generation:
+     * bit 2 * (row - 1) + column - 1 is set if the cell is alive
+     */
+    public static int getNextBlock(int neighbourhood) {
+        return TABLE[neighbourhood];
+    }
+
+    @Override
+    public ArrayList<GofCell> getNextGeneration() {
+        // the changes are applied at the end, so the whole pass reads the current generation
+        for (int row = 0; row < height; row += 2) {
+            int[] rowOffsets = {
+                    (row - 1 + height) % height * width, row * width,
+                    (row + 1) % height * width, (row + 2) % height * width};
+            for (int column = 0; column < width; column += 2) {
+                int left = (column - 1 + width) % width;
+                int right = (column + 1) % width;
+                int farRight = (column + 2) % width;
+                int neighbourhood = 0;
+                for (int i = 0; i < 4; i++) {
+                    int offset = rowOffsets[i];
+                    neighbourhood |= (alive[offset + left] | alive[offset + column] << 1
+                            | alive[offset + right] << 2 | alive[offset + farRight] << 3) << (4 * i);
+                }
+
+                int next = TABLE[neighbourhood];
+                for (int cell = 0; cell < 4; cell++) {
+                    int cellRow = row + cell / 2;
+                    int cellColumn = column + cell % 2;
+                    // with an odd height or width the last blocks reach over the edge
+                    if (cellRow < height && cellColumn < width)
+                        addChange(cellRow, cellColumn, (next >> cell & 1) != 0);
+                }
+            }
+        }
+        return applyPendingChanges();
+    }
+
+    private void addChange(int row, int column, boolean nextAlive) {
+        int index = row * width + column;
+        if (nextAlive == (alive[index] != 0))
+            return;
+        if (nextAlive)
+            addPendingBirth(index);
+        else
+            addPendingChange(index, rgbs[index], 0);
+    }
+
+    @Override
+    protected int getRgb(int index) {
+        return rgbs[index];
+    }
+
+    @Override
+    protected void setRgb(int index, int rgb) {
+        rgbs[index] = rgb;
+        alive[index] = (byte) (rgb != 0 ? 1 : 0);
+    }
+
+    private static byte[] createTable() {
+        byte[] table = new byte[1 << 16];
+        for (int neighbourhood = 0; neighbourhood < table.length; neighbourhood++) {
+            int next = 0;
+            for (int cell = 0; cell < 4; cell++) {
+                int row = 1 + cell / 2;
+                int column = 1 + cell % 2;
+                int neighbours = 0;
+                for (int i = row - 1; i <= row + 1; i++)
+                    for (int k = column - 1; k <= column + 1; k++)
+                        if ((i != row || k != column) && (neighbourhood >> (4 * i + k) & 1) != 0)
+                            neighbours++;
+
+                boolean cellAlive = (neighbourhood >> (4 * row + column) & 1) != 0;
+                int rule = cellAlive ? SURVIVAL_RULE : BIRTH_RULE;
+                if ((rule >> neighbours & 1) != 0)
+                    next |= 1 << cell;
+            }
+            table[neighbourhood] = (byte) next;
+        }
+        return table;
+    }
+}
@@ -0,0 +1,277 @@
+package main.model.engine;
+
+import main.model.GofCell;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.LongBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+
+/**
+ * A field which stores the cells outside the Java heap, so even very large fields do not need a large heap
+ * and do not slow down the garbage collector. The life states are stored as bits and the colors as rgb values
+ * in direct buffers. Each buffer holds a chunk of rows, because a buffer is limited to 2 GB.
+ * The generations are computed like in {@link BitSlicedField}, row by row through small buffers on the heap.
+ * <p>
+ * The memory is allocated when the first cell is brought to life and freed by {@link #release()},
+ * which is called when the game of life is reset. The state of the field can be written to a file
+ * and a field can be created from such a file.
+ */
+public class OffHeapField extends AbstractRgbField {
+    /**
+     * The maximum size of the buffer for the colors of a chunk of rows
+     */
+    private static final int MAX_CHUNK_SIZE = 1 << 30;
+
+    /**
+     * Identifies files written by {@link #writeTo(Path)}
+     */
+    public static final long FILE_MAGIC = 0x474F4C4649454C44L;
+    private static final int FILE_HEADER_SIZE = 16;
+
+    private final BitRowKernel kernel;
+    private final int wordsPerRow;
+    private final int rowsPerChunk;
+
+    /*
+     * The chunks of the life states (the words of the rows as in BitSlicedField), of the buffer for the next generation
+     * and of the rgb values of the cells (0 for dead cells). They are null if the memory is not allocated.
+     */
+    private LongBuffer[] aliveChunks;
+    private LongBuffer[] nextAliveChunks;
+    private ByteBuffer[] rgbChunks;
+
+    /**
+     * All allocated buffers, which are freed by release
+     */
+    private final ArrayList<ByteBuffer> allocatedBuffers = new ArrayList<>();
+
+    /*
+     * The rows around the row whose next generation is computed and the row of the next generation
+     */
+    private long[] rowAbove;
+    private long[] row;
+    private long[] rowBelow;
+    private final long[] nextRow;
+
+    /**
+     * Create a field. The memory is allocated when the first cell is brought to life.
+     *
+     * @param height The height of the field
+     * @param width  The width of the field
+     */
+    public OffHeapField(int height, int width) {
+        this(height, width, Math.max(1, MAX_CHUNK_SIZE / (4 * width)));
+    }
+
+    /**
+     * Create a field whose rows are stored in chunks of the given size.
+     *
+     * @param height       The height of the field
+     * @param width        The width of the field
+     * @param rowsPerChunk How many rows are stored in one buffer
+     */
+    public OffHeapField(int height, int width, int rowsPerChunk) {
+        super(height, width);
+        if (rowsPerChunk <= 0 || (long) rowsPerChunk * width * 4 > Integer.MAX_VALUE)
+            throw new IllegalArgumentException("a chunk of " + rowsPerChunk + " rows does not fit into a buffer");
+        kernel = new BitRowKernel(width);
+        wordsPerRow = kernel.getWordsPerRow();
+        this.rowsPerChunk = Math.min(rowsPerChunk, height);
+        rowAbove = new long[wordsPerRow];
+        row = new long[wordsPerRow];
+        rowBelow = new long[wordsPerRow];
+        nextRow = new long[wordsPerRow];
+    }
+
+    /**
+     * Create a field with the state saved in a file by {@link #writeTo(Path)}.
+     * The file is mapped into memory and copied into the buffers of the field.
+     */
+    public static OffHeapField readFrom(Path file) throws IOException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            ByteBuffer header = ByteBuffer.allocate(FILE_HEADER_SIZE).order(ByteOrder.LITTLE_ENDIAN);
+            channel.read(header, 0);
+            header.flip();
+            if (header.remaining() < FILE_HEADER_SIZE || header.getLong() != FILE_MAGIC)
+                throw new IOException("not a field file: " + file);
+            int height = header.getInt();
+            int width = header.getInt();
+            if (channel.size() != FILE_HEADER_SIZE + 4L * height * width)
+                throw new IOException("field file has the wrong size: " + file);
+
+            OffHeapField field = new OffHeapField(height, width);
+            field.allocate();
+            long position = FILE_HEADER_SIZE;
+            for (ByteBuffer chunk : field.rgbChunks) {
+                MappedByteBuffer mapped = channel.map(FileChannel.MapMode.READ_ONLY, position, chunk.capacity());
+                chunk.put(0, mapped, 0, chunk.capacity());
+                position += chunk.capacity();
+            }
+
+            // set the life states, the statistics and the hash of the living cells
+            for (int index = 0; index < height * width; index++) {
+                int rgb = field.getRgb(index);
+                if (rgb != 0) {
+                    field.setRgb(index, rgb);
+                    field.cellChanged(index, 0, rgb, null);
+                }
+            }
+            field.getStatistics().startGeneration();
+            return field;
+        }
+    }
+
+    /**
+     * Writes the color of every cell (0 for dead cells) into a file, which can be loaded by {@link #readFrom(Path)}.
+     */
+    public void writeTo(Path file) throws IOException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                StandardOpenOption.TRUNCATE_EXISTING)) {
+            ByteBuffer header = ByteBuffer.allocate(FILE_HEADER_SIZE).order(ByteOrder.LITTLE_ENDIAN);
+            header.putLong(FILE_MAGIC).putInt(height).putInt(width).flip();
+            writeFully(channel, header);
+
+            if (rgbChunks != null) {
+                for (ByteBuffer chunk : rgbChunks)
+                    writeFully(channel, chunk.duplicate().clear());
+            } else { // all cells are dead
+                ByteBuffer zeros = ByteBuffer.allocate(4 * width);
+                for (int i = 0; i < height; i++)
+                    writeFully(channel, zeros.clear());
+            }
+        }
+    }
+
+    /**
+     * Frees the memory of the cells. All cells have to be dead.
+     * The memory is allocated again when the next cell is brought to life.
+     */
+    @Override
+    public void release() {
+        if (getStatistics().getPopulation() != 0)
+            throw new IllegalStateException("the memory can only be released if all cells are dead");
+        if (rgbChunks == null)
+            return;
+
+        for (ByteBuffer buffer : allocatedBuffers)
+            DirectBuffers.free(buffer);
+        allocatedBuffers.clear();
+        aliveChunks = null;
+        nextAliveChunks = null;
+        rgbChunks = null;
+    }
+
+    /**
+     * @return true if the memory of the cells is allocated
+     */
+    public boolean isAllocated() {
+        return rgbChunks != null;
+    }
+
+    @Override
+    public ArrayList<GofCell> getNextGeneration() {
+        // if the memory is not allocated, all cells are dead
+        if (rgbChunks == null)
+            return new ArrayList<>();
+
+        readRow(aliveChunks, height - 1, rowAbove);
+        readRow(aliveChunks, 0, row);
+        for (int currentRow = 0; currentRow < height; currentRow++) {
+            readRow(aliveChunks, (currentRow + 1) % height, rowBelow);
+            kernel.computeRow(rowAbove, 0, row, 0, rowBelow, 0, nextRow, 0);
+            writeRow(nextAliveChunks, currentRow, nextRow);
+
+            for (int word = 0; word < wordsPerRow; word++) {
+                long births = nextRow[word] & ~row[word];
+                long deaths = row[word] & ~nextRow[word];
+                while (births != 0) {
+                    int column = 64 * word + Long.numberOfTrailingZeros(births);
+                    addPendingBirth(currentRow * width + column);
+                    births &= births - 1;
+                }
+                while (deaths != 0) {
+                    int index = currentRow * width + 64 * word + Long.numberOfTrailingZeros(deaths);
+                    addPendingChange(index, getRgb(index), 0);
+                    deaths &= deaths - 1;
+                }
+            }
+
+            long[] swap = rowAbove;
+            rowAbove = row;
+            row = rowBelow;
+            rowBelow = swap;
+        }
+
+        LongBuffer[] swap = aliveChunks;
+        aliveChunks = nextAliveChunks;
+        nextAliveChunks = swap;
+
+        return applyPendingChanges();
+    }
+
+    @Override
+    protected int getRgb(int index) {
+        if (rgbChunks == null)
+            return 0;
+        int row = index / width;
+        return rgbChunks[row / rowsPerChunk].getInt(4 * (index - row / rowsPerChunk * rowsPerChunk * width));
+    }
+
+    @Override
+    protected void setRgb(int index, int rgb) {
+        if (rgbChunks == null) {
+            if (rgb == 0)
+                return;
+            allocate();
+        }
+
+        int row = index / width;
+        int column = index % width;
+        int chunk = row / rowsPerChunk;
+        rgbChunks[chunk].putInt(4 * (index - chunk * rowsPerChunk * width), rgb);
+
+        int wordIndex = (row - chunk * rowsPerChunk) * wordsPerRow + column / 64;
+        long word = aliveChunks[chunk].get(wordIndex);
+        aliveChunks[chunk].put(wordIndex, rgb != 0 ? word | 1L << column : word & ~(1L << column));
+    }
+
+    private void allocate() {
+        int chunkCount = (height + rowsPerChunk - 1) / rowsPerChunk;
+        aliveChunks = new LongBuffer[chunkCount];
+        nextAliveChunks = new LongBuffer[chunkCount];
+        rgbChunks = new ByteBuffer[chunkCount];
+        for (int chunk = 0; chunk < chunkCount; chunk++) {
+            int rows = Math.min(rowsPerChunk, height - chunk * rowsPerChunk);
+            aliveChunks[chunk] = allocateBuffer(8 * rows * wordsPerRow).asLongBuffer();
+            nextAliveChunks[chunk] = allocateBuffer(8 * rows * wordsPerRow).asLongBuffer();
+            rgbChunks[chunk] = allocateBuffer(4 * rows * width);
+        }
+    }
+
+    private ByteBuffer allocateBuffer(int size) {
+        ByteBuffer buffer = DirectBuffers.allocate(size);
+        allocatedBuffers.add(buffer);
+        return buffer;
+    }
+
+    private void readRow(LongBuffer[] chunks, int row, long[] words) {
+        int chunk = row / rowsPerChunk;
+        chunks[chunk].get((row - chunk * rowsPerChunk) * wordsPerRow, words);
+    }
+
+    private void writeRow(LongBuffer[] chunks, int row, long[] words) {
+        int chunk = row / rowsPerChunk;
+        chunks[chunk].put((row - chunk * rowsPerChunk) * wordsPerRow, words);
+    }
+
+    private static void writeFully(FileChannel channel, ByteBuffer buffer) throws IOException {
+        while (buffer.hasRemaining())
+            channel.write(buffer);
+    }
+}
@@ -0,0 +1,87 @@
+package main.model.engine;
+
+import main.model.GameOfLifeField;
+import main.model.SimulationEngine;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.function.BiFunction;
+
+/**
+ * Registry of the available engines ({@link SimulationEngine} implementations) by name.
+ * The engine used by a new game of life is configured with the system property {@value #ENGINE_PROPERTY}
+ * (or the command line argument --engine=NAME, which sets it). Without configuration the reference engine is used.
+ */
+public final class SimulationEngines {
+    /**
+     * System property containing the name of the engine for new games of life
+     */
+    public static final String ENGINE_PROPERTY = "gol.engine";
+
+    /**
+     * The engine storing the cells as objects ({@link GameOfLifeField}), which all other engines have to match
+     */
+    public static final String REFERENCE_ENGINE = "reference";
+
+    /**
+     * Factories by engine name. A factory gets the height and the width of the field.
+     */
+    private static final LinkedHashMap<String, BiFunction<Integer, Integer, SimulationEngine>> FACTORIES =
+            new LinkedHashMap<>();
+
+    static {
+        register(REFERENCE_ENGINE, GameOfLifeField::new);
+        register("blocking", TemporalBlockingField::new);
+        register("bitsliced", BitSlicedField::new);
+        register("offheap", OffHeapField::new);
+        register("incremental", IncrementalField::new);
+        register("lookup", LookupTableField::new);
+    }
+
+    private SimulationEngines() {
+        throw new UnsupportedOperationException();
+    }
+
+    /**
+     * Make an engine available under the given name. An engine registered with the same name before is replaced.
+     *
+     * @param factory creates an empty field of the engine with the given height and width
+     */
+    public static synchronized void register(String name, BiFunction<Integer, Integer, SimulationEngine> factory) {
+        FACTORIES.put(name, factory);
+    }
+
+    /**
+     * @return an empty field of the engine with the given name
+     * @throws IllegalArgumentException if there is no engine with the given name
+     */
+    public static synchronized SimulationEngine create(String name, int height, int width) {
+        BiFunction<Integer, Integer, SimulationEngine> factory = FACTORIES.get(name);
+        if (factory == null)
+            throw new IllegalArgumentException("unknown engine: " + name + " (available: " + FACTORIES.keySet() + ")");
+        return factory.apply(height, width);
+    }
+
+    /**
+     * @return an empty field of the engine configured by the system property {@value #ENGINE_PROPERTY}
+     */
+    public static SimulationEngine createConfigured(int height, int width) {
+        return create(getConfiguredName(), height, width);
+    }
+
+    /**
+     * @return the name of the engine configured by the system property {@value #ENGINE_PROPERTY}
+     * or the name of the reference engine if the property is not set
+     */
+    public static String getConfiguredName() {
+        return System.getProperty(ENGINE_PROPERTY, REFERENCE_ENGINE);
+    }
+
+    /**
+     * @return the names of all registered engines in the order they were registered
+     */
+    public static synchronized List<String> getNames() {
+        return new ArrayList<>(FACTORIES.keySet());
+    }
+}
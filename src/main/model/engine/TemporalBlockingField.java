@@ -0,0 +1,196 @@
+package main.model.engine;
+
+import main.model.GofCell;
+
+import java.util.ArrayList;
+
+/**
+ * A field which computes several generations at once with temporal blocking.
+ * <p>
+ * The field is divided into tiles which fit into the cache. Every tile is copied together with a halo
+ * (the surrounding cells) into a small buffer and the generations are computed in this buffer.
+ * With every generation the cells at the border of the buffer become invalid, because their neighbours are missing,
+ * so a halo of k cells is needed to compute k generations. Then only the tile is written back.
+ * This way the whole field is read and written once per k generations instead of once per generation,
+ * which makes the computation of large fields much faster, because it is limited by the memory bandwidth.
+ */
+public class TemporalBlockingField extends AbstractRgbField {
+    /**
+     * Default amount of generations computed per pass through the field
+     */
+    public static final int DEFAULT_BLOCK_GENERATIONS = 8;
+
+    /**
+     * Default height and width of a tile. A tile with its halo fits into the L2 cache.
+     */
+    public static final int DEFAULT_TILE_SIZE = 128;
+
+    private final int blockGenerations;
+    private final int tileHeight;
+    private final int tileWidth;
+
+    /*
+     * The rgb values of the cells row by row (0 for dead cells) and the buffer the next generations are written to
+     */
+    private int[] cells;
+    private int[] nextCells;
+
+    /*
+     * Buffers for a tile with its halo. The generations are computed alternately from one into the other.
+     */
+    private final int[] tileBuffer;
+    private final int[] nextTileBuffer;
+
+    /**
+     * Create a field with the default block and tile size.
+     *
+     * @param height The height of the field
+     * @param width  The width of the field
+     */
+    public TemporalBlockingField(int height, int width) {
+        this(height, width, DEFAULT_BLOCK_GENERATIONS, DEFAULT_TILE_SIZE);
+    }
+
+    /**
+     * Create a field.
+     *
+     * @param height           The height of the field
+     * @param width            The width of the field
+     * @param blockGenerations How many generations are computed per pass through the field at most
+     * @param tileSize         Height and width of the tiles
+     */
+    public TemporalBlockingField(int height, int width, int blockGenerations, int tileSize) {
+        super(height, width);
+        if (blockGenerations <= 0 || tileSize <= 0)
+            throw new IllegalArgumentException("blockGenerations and tileSize must be positive");
+        this.blockGenerations = blockGenerations;
+        tileHeight = Math.min(tileSize, height);
+        tileWidth = Math.min(tileSize, width);
+
+        cells = new int[height * width];
+        nextCells = new int[height * width];
+        int bufferSize = (tileHeight + 2 * blockGenerations) * (tileWidth + 2 * blockGenerations);
+        tileBuffer = new int[bufferSize];
+        nextTileBuffer = new int[bufferSize];
+    }
+
+    @Override
+    public ArrayList<GofCell> getNextGeneration() {
+        return getNextGenerations(1);
+    }
+
+    /**
+     * Computes the generations in passes of at most blockGenerations generations.
+     * The returned cells contain the changes of every pass in the order of the passes.
+     */
+    @Override
+    public ArrayList<GofCell> getNextGenerations(int generations) {
+        ArrayList<GofCell> changedCells = new ArrayList<>();
+        while (generations > 0) {
+            int passGenerations = Math.min(generations, blockGenerations);
+            computePass(passGenerations, changedCells);
+            generations -= passGenerations;
+        }
+        return changedCells;
+    }
+
+    public int getBlockGenerations() {
+        return blockGenerations;
+    }
+
+    @Override
+    protected int getRgb(int index) {
+        return cells[index];
+    }
+
+    @Override
+    protected void setRgb(int index, int rgb) {
+        cells[index] = rgb;
+    }
+
+    /**
+     * Computes the given amount of generations tile by tile.
+     */
+    private void computePass(int generations, ArrayList<GofCell> changedCells) {
+        for (int tileRow = 0; tileRow < height; tileRow += tileHeight)
+            for (int tileColumn = 0; tileColumn < width; tileColumn += tileWidth) {
+                int rows = Math.min(tileHeight, height - tileRow);
+                int columns = Math.min(tileWidth, width - tileColumn);
+                computeTile(tileRow, tileColumn, rows, columns, generations, changedCells);
+            }
+
+        int[] swap = cells;
+        cells = nextCells;
+        nextCells = swap;
+    }
+
+    private void computeTile(int tileRow, int tileColumn, int rows, int columns, int generations,
+                             ArrayList<GofCell> changedCells) {
+        int bufferWidth = columns + 2 * generations;
+        int bufferHeight = rows + 2 * generations;
+
+        // copy the tile with its halo into the buffer (the field is a torus)
+        for (int bufferRow = 0; bufferRow < bufferHeight; bufferRow++) {
+            int row = Math.floorMod(tileRow - generations + bufferRow, height);
+            copyRow(row, tileColumn - generations, bufferRow * bufferWidth, bufferWidth);
+        }
+
+        // compute the generations. After g generations, only the cells with a distance of at least g
+        // to the border of the buffer are valid
+        int[] current = tileBuffer;
+        int[] next = nextTileBuffer;
+        for (int g = 1; g <= generations; g++) {
+            for (int bufferRow = g; bufferRow < bufferHeight - g; bufferRow++)
+                for (int index = bufferRow * bufferWidth + g; index < (bufferRow + 1) * bufferWidth - g; index++)
+                    next[index] = computeCell(current, index, bufferWidth);
+            int[] swap = current;
+            current = next;
+            next = swap;
+        }
+
+        // write the tile back and report the changed cells
+        for (int row = 0; row < rows; row++) {
+            int bufferIndex = (row + generations) * bufferWidth + generations;
+            int index = (tileRow + row) * width + tileColumn;
+            for (int column = 0; column < columns; column++, bufferIndex++, index++) {
+                int rgb = current[bufferIndex];
+                nextCells[index] = rgb;
+                if (rgb != cells[index])
+                    cellChanged(index, cells[index], rgb, changedCells);
+            }
+        }
+    }
+
+    /**
+     * Copies cells of a row of the field into the tile buffer. The columns wrap around the field.
+     */
+    private void copyRow(int row, int firstColumn, int bufferIndex, int length) {
+        int column = Math.floorMod(firstColumn, width);
+        while (length > 0) {
+            int segment = Math.min(length, width - column);
+            System.arraycopy(cells, row * width + column, tileBuffer, bufferIndex, segment);
+            bufferIndex += segment;
+            length -= segment;
+            column = 0;
+        }
+    }
+
+    /**
+     * Applies the rules of the game of life to one cell in the tile buffer.
+     *
+     * @return the rgb value of the cell in the next generation
+     */
+    private static int computeCell(int[] buffer, int index, int bufferWidth) {
+        int above = index - bufferWidth;
+        int below = index + bufferWidth;
+        int neighboursAmount = (buffer[above - 1] != 0 ? 1 : 0) + (buffer[above] != 0 ? 1 : 0)
+                + (buffer[above + 1] != 0 ? 1 : 0) + (buffer[index - 1] != 0 ? 1 : 0)
+                + (buffer[index + 1] != 0 ? 1 : 0) + (buffer[below - 1] != 0 ? 1 : 0)
+                + (buffer[below] != 0 ? 1 : 0) + (buffer[below + 1] != 0 ? 1 : 0);
+
+        int rgb = buffer[index];
+        if (rgb == 0)
+            return neighboursAmount == 3 ? getMostFrequentlyRgb(buffer, index, bufferWidth) : 0;
+        return neighboursAmount == 2 || neighboursAmount == 3 ? rgb : 0;
+    }
+}
@@ -0,0 +1,108 @@
+package main.model.profiling;
+
+import java.util.Arrays;
+
+/**
+ * A histogram of durations in nanoseconds with a fixed amount of memory, like an HdrHistogram:
+ * values below 32 have their own bucket, every larger power of two range is split into 16 buckets,
+ * so a value is known with a relative error of at most 1/16 and recording a value is only an array increment.
+ * The exact count, total, minimum and maximum are kept as well.
+ * The methods are synchronized, so the histogram can be read by other threads (e.g. through JMX).
+ */
+public class LatencyHistogram {
+    private static final int SUB_BUCKETS = 16;
+    private static final int LINEAR_BUCKETS = 2 * SUB_BUCKETS;
+
+    /**
+     * Buckets for the values below 32 and for every power of two range from 2^5 to 2^62
+     */
+    private final long[] counts = new long[LINEAR_BUCKETS + 58 * SUB_BUCKETS];
+
+    private long count = 0;
+    private long total = 0;
+    private long min = Long.MAX_VALUE;
+    private long max = 0;
+
+    /**
+     * @param value a duration in nanoseconds. Negative values are recorded as 0.
+     */
+    public synchronized void record(long value) {
+        value = Math.max(0, value);
+        counts[getBucket(value)]++;
+        count++;
+        total += value;
+        min = Math.min(min, value);
+        max = Math.max(max, value);
+    }
+
+    public synchronized long getCount() {
+        return count;
+    }
+
+    public synchronized long getTotal() {
+        return total;
+    }
+
+    /**
+     * @return the smallest recorded value or 0 if there is none
+     */
+    public synchronized long getMin() {
+        return count == 0 ? 0 : min;
+    }
+
+    public synchronized long getMax() {
+        return max;
+    }
+
+    /**
+     * @return the average of the recorded values or 0 if there is none
+     */
+    public synchronized double getMean() {
+        return count == 0 ? 0 : (double) total / count;
+    }
+
+    /**
+     * @param percentile between 0 and 100
+     * @return the highest value of the bucket containing the given percentile of the recorded values
+     * (but at most the maximum) or 0 if there is none
+     */
+    public synchronized long getPercentile(double percentile) {
+        if (percentile < 0 || percentile > 100)
+            throw new IllegalArgumentException("percentile must be between 0 and 100");
+        if (count == 0)
+            return 0;
+
+        long rank = Math.max(1, (long) Math.ceil(percentile / 100 * count));
+        long seen = 0;
+        for (int bucket = 0; bucket < counts.length; bucket++) {
+            seen += counts[bucket];
+            if (seen >= rank)
+                return Math.min(max, getHighestValue(bucket));
+        }
+        return max;
+    }
+
+    public synchronized void reset() {
+        Arrays.fill(counts, 0);
+        count = 0;
+        total = 0;
+        min = Long.MAX_VALUE;
+        max = 0;
+    }
+
+    private static int getBucket(long value) {
+        if (value < LINEAR_BUCKETS)
+            return (int) value;
+        // the shift makes the value a number from 16 to 31
+        int shift = 63 - Long.numberOfLeadingZeros(value) - 4;
+        return LINEAR_BUCKETS + (shift - 1) * SUB_BUCKETS + (int) (value >>> shift) - SUB_BUCKETS;
+    }
+
+    private static long getHighestValue(int bucket) {
+        if (bucket < LINEAR_BUCKETS)
+            return bucket;
+        int shift = (bucket - LINEAR_BUCKETS) / SUB_BUCKETS + 1;
+        long subBucket = (bucket - LINEAR_BUCKETS) % SUB_BUCKETS + SUB_BUCKETS;
+        return ((subBucket + 1) << shift) - 1;
+    }
+}
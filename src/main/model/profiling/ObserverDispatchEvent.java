@@ -0,0 +1,25 @@
+package main.model.profiling;
+
+import jdk.jfr.*;
+
+/**
+ * Flight recorder event for notifying the observers of a game of life
+ * (or queueing the change event for them if they are notified asynchronously).
+ */
+@Name("gameoflife.ObserverDispatch")
+@Label("Observer Dispatch")
+@Category("Game of Life")
+@StackTrace(false)
+public class ObserverDispatchEvent extends Event {
+    @Label("Generation")
+    public int generation;
+
+    @Label("Observers")
+    public int observers;
+
+    @Label("Changed Cells")
+    public int changedCells;
+
+    @Label("Asynchronous")
+    public boolean asynchronous;
+}
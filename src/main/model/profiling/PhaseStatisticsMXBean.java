@@ -0,0 +1,33 @@
+package main.model.profiling;
+
+/**
+ * The durations of one phase of the generations measured by a {@link StepProfiler}, as seen through JMX.
+ * All durations are in nanoseconds.
+ */
+public interface PhaseStatisticsMXBean {
+    String getPhase();
+
+    /**
+     * @return how often the duration of the phase was recorded
+     */
+    long getCount();
+
+    long getTotalNanos();
+
+    double getMeanNanos();
+
+    long getMinNanos();
+
+    long getMaxNanos();
+
+    long getMedianNanos();
+
+    long getP90Nanos();
+
+    long getP99Nanos();
+
+    /**
+     * Forgets the recorded durations of the phase.
+     */
+    void reset();
+}
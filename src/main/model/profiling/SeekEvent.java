@@ -0,0 +1,32 @@
+package main.model.profiling;
+
+import jdk.jfr.*;
+
+/**
+ * Flight recorder event for going to a generation, from the start to the end of the seek.
+ */
+@Name("gameoflife.Seek")
+@Label("Seek")
+@Category("Game of Life")
+@StackTrace(false)
+public class SeekEvent extends Event {
+    @Label("Start Generation")
+    public int startGeneration;
+
+    @Label("Target Generation")
+    public int targetGeneration;
+
+    @Label("Reached Generation")
+    public int reachedGeneration;
+
+    @Label("Cancelled")
+    public boolean cancelled;
+
+    @Label("Fast Forward")
+    @Description("Whether the target was computed from the snapshot of a detected cycle")
+    public boolean fastForward;
+
+    @Label("Changed Cells")
+    @Description("How many cells changed between the start and the reached generation (each cell counted once)")
+    public int changedCells;
+}
@@ -0,0 +1,19 @@
+package main.model.profiling;
+
+import jdk.jfr.*;
+
+/**
+ * Flight recorder event for loading a snapshot into the engine of a game of life.
+ */
+@Name("gameoflife.SnapshotRestore")
+@Label("Snapshot Restore")
+@Category("Game of Life")
+@StackTrace(false)
+public class SnapshotRestoreEvent extends Event {
+    @Label("Generation")
+    @Description("The generation of the snapshot")
+    public int generation;
+
+    @Label("Changed Cells")
+    public int changedCells;
+}
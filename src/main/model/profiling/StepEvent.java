@@ -0,0 +1,30 @@
+package main.model.profiling;
+
+import jdk.jfr.*;
+
+/**
+ * Flight recorder event for the computation of one or more generations by the engine of a game of life
+ * (without the manipulations and the notification of the observers).
+ */
+@Name("gameoflife.Step")
+@Label("Simulation Step")
+@Category("Game of Life")
+@StackTrace(false)
+public class StepEvent extends Event {
+    @Label("Engine")
+    public String engine;
+
+    @Label("Generation")
+    @Description("The generation reached by the step")
+    public int generation;
+
+    @Label("Generations")
+    @Description("How many generations the step computed")
+    public int generations;
+
+    @Label("Changed Cells")
+    public int changedCells;
+
+    @Label("Population")
+    public int population;
+}
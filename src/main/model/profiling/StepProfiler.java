@@ -0,0 +1,215 @@
+package main.model.profiling;
+
+import javax.management.InstanceAlreadyExistsException;
+import javax.management.InstanceNotFoundException;
+import javax.management.JMException;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+import java.lang.management.ManagementFactory;
+import java.util.ArrayList;
+import java.util.EnumMap;
+
+/**
+ * Measures how long the phases of the generations take with System.nanoTime and records the durations in histograms.
+ * The game of life measures the whole step of the engine, the manipulations and the notification of the observers.
+ * Engines report the time they spend on the color resolution and the state application during a step
+ * with {@link #add(Phase, long)}; the rest of the step counts as neighbour counting. Engines measure every phase
+ * as a whole (e.g. the colors of all born cells in one pass), not per cell, so profiling costs a few time
+ * measurements per step and does not distort the phases.
+ * Engines which do not report anything count completely as neighbour counting.
+ * <p>
+ * The statistics can be printed with {@link #dump()} or read through JMX after {@link #registerMBeans()}.
+ */
+public class StepProfiler {
+    /**
+     * The JMX domain of the MBeans of the phases
+     */
+    public static final String JMX_DOMAIN = "gameoflife";
+
+    public enum Phase {
+        NEIGHBOUR_COUNTING,
+        COLOR_RESOLUTION,
+        STATE_APPLICATION,
+        MANIPULATION_REPLAY,
+        OBSERVER_NOTIFICATION
+    }
+
+    private final EnumMap<Phase, LatencyHistogram> histograms = new EnumMap<>(Phase.class);
+
+    /**
+     * The durations reported by the engine during the current step, which are recorded when the step is finished
+     */
+    private long colorResolutionNanos = 0;
+    private long stateApplicationNanos = 0;
+
+    private final ArrayList<ObjectName> registeredNames = new ArrayList<>();
+
+    public StepProfiler() {
+        for (Phase phase : Phase.values())
+            histograms.put(phase, new LatencyHistogram());
+    }
+
+    /**
+     * Adds a duration to the color resolution or the state application of the current step of the engine.
+     * Durations of other phases are recorded directly.
+     *
+     * @param nanos duration in nanoseconds
+     */
+    public void add(Phase phase, long nanos) {
+        switch (phase) {
+            case COLOR_RESOLUTION -> colorResolutionNanos += nanos;
+            case STATE_APPLICATION -> stateApplicationNanos += nanos;
+            default -> record(phase, nanos);
+        }
+    }
+
+    /**
+     * Records the duration of one execution of a phase.
+     *
+     * @param nanos duration in nanoseconds
+     */
+    public void record(Phase phase, long nanos) {
+        histograms.get(phase).record(nanos);
+    }
+
+    /**
+     * Records the phases of a finished step of the engine: the durations added for the color resolution
+     * and the state application and the remaining time of the step as neighbour counting.
+     *
+     * @param stepNanos how long the whole step took in nanoseconds
+     */
+    public void recordEngineStep(long stepNanos) {
+        record(Phase.COLOR_RESOLUTION, colorResolutionNanos);
+        record(Phase.STATE_APPLICATION, stateApplicationNanos);
+        record(Phase.NEIGHBOUR_COUNTING, stepNanos - colorResolutionNanos - stateApplicationNanos);
+        colorResolutionNanos = 0;
+        stateApplicationNanos = 0;
+    }
+
+    public LatencyHistogram getHistogram(Phase phase) {
+        return histograms.get(phase);
+    }
+
+    public void reset() {
+        for (LatencyHistogram histogram : histograms.values())
+            histogram.reset();
+        colorResolutionNanos = 0;
+        stateApplicationNanos = 0;
+    }
+
+    /**
+     * @return a table with the count and the durations in microseconds of every phase
+     */
+    public String dump() {
+        StringBuilder table = new StringBuilder(String.format("%-22s %10s %12s %10s %10s %10s %10s %10s%n",
+                "phase", "count", "total ms", "mean us", "p50 us", "p90 us", "p99 us", "max us"));
+        for (Phase phase : Phase.values()) {
+            LatencyHistogram histogram = histograms.get(phase);
+            table.append(String.format("%-22s %10d %12.1f %10.1f %10.1f %10.1f %10.1f %10.1f%n",
+                    phase.name().toLowerCase(), histogram.getCount(), histogram.getTotal() / 1e6,
+                    histogram.getMean() / 1e3, histogram.getPercentile(50) / 1e3, histogram.getPercentile(90) / 1e3,
+                    histogram.getPercentile(99) / 1e3, histogram.getMax() / 1e3));
+        }
+        return table.toString();
+    }
+
+    /**
+     * Makes the statistics of every phase available as MBean of the platform MBean server
+     * with the name gameoflife:type=StepProfiler,phase=PHASE.
+     *
+     * @throws IllegalStateException if MBeans with these names are already registered
+     */
+    public synchronized void registerMBeans() {
+        MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+        try {
+            for (Phase phase : Phase.values()) {
+                ObjectName name = new ObjectName(JMX_DOMAIN + ":type=StepProfiler,phase=" + phase.name());
+                server.registerMBean(new PhaseStatistics(phase, histograms.get(phase)), name);
+                registeredNames.add(name);
+            }
+        } catch (InstanceAlreadyExistsException e) {
+            unregisterMBeans();
+            throw new IllegalStateException("the MBeans of another step profiler are registered", e);
+        } catch (JMException e) {
+            unregisterMBeans();
+            throw new IllegalStateException(e);
+        }
+    }
+
+    /**
+     * Removes the MBeans registered by {@link #registerMBeans()}.
+     */
+    public synchronized void unregisterMBeans() {
+        MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+        for (ObjectName name : registeredNames) {
+            try {
+                server.unregisterMBean(name);
+            } catch (InstanceNotFoundException e) {
+                // already unregistered
+            } catch (JMException e) {
+                throw new IllegalStateException(e);
+            }
+        }
+        registeredNames.clear();
+    }
+
+    private static class PhaseStatistics implements PhaseStatisticsMXBean {
+        private final Phase phase;
+        private final LatencyHistogram histogram;
+
+        PhaseStatistics(Phase phase, LatencyHistogram histogram) {
+            this.phase = phase;
+            this.histogram = histogram;
+        }
+
+        @Override
+        public String getPhase() {
+            return phase.name();
+        }
+
+        @Override
+        public long getCount() {
+            return histogram.getCount();
+        }
+
+        @Override
+        public long getTotalNanos() {
+            return histogram.getTotal();
+        }
+
+        @Override
+        public double getMeanNanos() {
+            return histogram.getMean();
+        }
+
+        @Override
+        public long getMinNanos() {
+            return histogram.getMin();
+        }
+
+        @Override
+        public long getMaxNanos() {
+            return histogram.getMax();
+        }
+
+        @Override
+        public long getMedianNanos() {
+            return histogram.getPercentile(50);
+        }
+
+        @Override
+        public long getP90Nanos() {
+            return histogram.getPercentile(90);
+        }
+
+        @Override
+        public long getP99Nanos() {
+            return histogram.getPercentile(99);
+        }
+
+        @Override
+        public void reset() {
+            histogram.reset();
+        }
+    }
+}
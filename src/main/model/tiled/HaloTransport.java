@@ -0,0 +1,23 @@
+package main.model.tiled;
+
+import java.io.IOException;
+
+/**
+ * Exchanges the boundary rows of a tile with the tiles above and below it.
+ * The rows contain the rgb values of the cells (0 for dead cells).
+ */
+public interface HaloTransport extends AutoCloseable {
+    /**
+     * Send the own boundary rows to the neighbouring tiles and receive their boundary rows.
+     * All tiles have to call this method once per generation.
+     *
+     * @param topRow    the first row of this tile, which is sent to the tile above
+     * @param bottomRow the last row of this tile, which is sent to the tile below
+     * @param haloAbove receives the last row of the tile above
+     * @param haloBelow receives the first row of the tile below
+     */
+    void exchange(int[] topRow, int[] bottomRow, int[] haloAbove, int[] haloBelow) throws IOException;
+
+    @Override
+    void close() throws IOException;
+}
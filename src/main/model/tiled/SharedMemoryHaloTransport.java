@@ -0,0 +1,184 @@
+package main.model.tiled;
+
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Exchanges the boundary rows through a memory-mapped file which is shared by all tiles on the same host.
+ * <p>
+ * Every tile publishes its boundary rows in its own slots of the file and then increases its sequence number.
+ * The neighbours wait until the sequence number has reached their own exchange count and copy the rows out of the file.
+ * Each tile has two slots used alternately, so a tile never overwrites rows its neighbours may still read:
+ * a tile can only be one exchange ahead of its neighbours, because it needs their rows to compute the next generation.
+ * <p>
+ * A row is stored packed: one bit per cell for the life state followed by the rgb values of the living cells only.
+ * So the exchange of a sparse row costs only a few cache lines.
+ */
+public class SharedMemoryHaloTransport implements HaloTransport {
+    private static final int CACHE_LINE_SIZE = 64;
+
+    /**
+     * How often a waiting tile checks the sequence number before it starts to park
+     */
+    private static final int SPIN_COUNT = 10_000;
+    private static final long MAX_PARK_NANOS = TimeUnit.MILLISECONDS.toNanos(1);
+
+    /**
+     * How long a tile waits for a neighbour before it gives up
+     */
+    private static final long TIMEOUT_NANOS = TimeUnit.SECONDS.toNanos(30);
+
+    /*
+     * Access to the sequence numbers with memory ordering, so the rows are visible before the sequence number
+     */
+    private static final VarHandle LONG_HANDLE =
+            MethodHandles.byteBufferViewVarHandle(long[].class, ByteOrder.nativeOrder());
+
+    private final MappedByteBuffer buffer;
+    private final int tileIndex;
+    private final int upperTileIndex;
+    private final int lowerTileIndex;
+    private final int width;
+
+    /*
+     * Size of the alive bits of a row (in longs) and of a packed row (in bytes, aligned to cache lines)
+     */
+    private final int bitWords;
+    private final int rowSize;
+    private final int headerSize;
+
+    private long exchangeCount = 0;
+
+    /**
+     * Map the shared file. The file has to be created with {@link #getFileSize(int, int)} bytes before.
+     *
+     * @param file      the file shared by all tiles
+     * @param tileIndex index of this tile (tiles are numbered from top to bottom)
+     * @param tileCount amount of tiles sharing the file
+     * @param width     the width of the field (amount of cells in a row)
+     */
+    public SharedMemoryHaloTransport(Path file, int tileIndex, int tileCount, int width) throws IOException {
+        this.tileIndex = tileIndex;
+        this.upperTileIndex = (tileIndex - 1 + tileCount) % tileCount;
+        this.lowerTileIndex = (tileIndex + 1) % tileCount;
+        this.width = width;
+        bitWords = (width + 63) / 64;
+        rowSize = getRowSize(width);
+        headerSize = tileCount * CACHE_LINE_SIZE;
+
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+            long fileSize = getFileSize(tileCount, width);
+            if (channel.size() < fileSize)
+                throw new IOException("shared halo file is smaller than " + fileSize + " bytes");
+            buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0, fileSize);
+        }
+        buffer.order(ByteOrder.nativeOrder());
+    }
+
+    /**
+     * @return the size of the shared file for the given amount of tiles and width of the field
+     */
+    public static long getFileSize(int tileCount, int width) {
+        // one sequence number per tile and two slots with a top and a bottom row per tile
+        return (long) tileCount * CACHE_LINE_SIZE + (long) tileCount * 2 * 2 * getRowSize(width);
+    }
+
+    @Override
+    public void exchange(int[] topRow, int[] bottomRow, int[] haloAbove, int[] haloBelow) throws IOException {
+        int parity = (int) (exchangeCount & 1);
+        writeRow(getRowOffset(tileIndex, parity, false), topRow);
+        writeRow(getRowOffset(tileIndex, parity, true), bottomRow);
+        exchangeCount++;
+        LONG_HANDLE.setRelease(buffer, getSequenceOffset(tileIndex), exchangeCount);
+
+        awaitSequence(upperTileIndex);
+        readRow(getRowOffset(upperTileIndex, parity, true), haloAbove);
+        awaitSequence(lowerTileIndex);
+        readRow(getRowOffset(lowerTileIndex, parity, false), haloBelow);
+    }
+
+    @Override
+    public void close() {
+        // the mapping is released when the buffer is garbage collected
+    }
+
+    /**
+     * Waits until the given tile has published the rows of the current exchange.
+     * Spins first, because the neighbours usually finish at about the same time, then parks for increasing times.
+     */
+    private void awaitSequence(int tile) throws IOException {
+        int sequenceOffset = getSequenceOffset(tile);
+        int spins = 0;
+        long parkNanos = 1_000;
+        long deadline = 0;
+        while ((long) LONG_HANDLE.getAcquire(buffer, sequenceOffset) < exchangeCount) {
+            if (spins < SPIN_COUNT) {
+                spins++;
+                Thread.onSpinWait();
+                continue;
+            }
+
+            if (deadline == 0)
+                deadline = System.nanoTime() + TIMEOUT_NANOS;
+            else if (System.nanoTime() > deadline)
+                throw new IOException("tile " + tile + " did not publish its halo rows in time");
+            LockSupport.parkNanos(parkNanos);
+            if (Thread.interrupted())
+                throw new InterruptedIOException("interrupted while waiting for the halo rows");
+            parkNanos = Math.min(2 * parkNanos, MAX_PARK_NANOS);
+        }
+    }
+
+    private void writeRow(int offset, int[] row) {
+        // alive bits first, then the rgb values of the living cells
+        int rgbOffset = offset + 8 * bitWords;
+        for (int word = 0; word < bitWords; word++) {
+            long bits = 0;
+            int end = Math.min(width, 64 * word + 64);
+            for (int column = 64 * word; column < end; column++)
+                if (row[column] != 0) {
+                    bits |= 1L << column;
+                    buffer.putInt(rgbOffset, row[column]);
+                    rgbOffset += 4;
+                }
+            buffer.putLong(offset + 8 * word, bits);
+        }
+    }
+
+    private void readRow(int offset, int[] row) {
+        int rgbOffset = offset + 8 * bitWords;
+        for (int word = 0; word < bitWords; word++) {
+            long bits = buffer.getLong(offset + 8 * word);
+            int end = Math.min(width, 64 * word + 64);
+            for (int column = 64 * word; column < end; column++)
+                if ((bits & 1L << column) != 0) {
+                    row[column] = buffer.getInt(rgbOffset);
+                    rgbOffset += 4;
+                } else {
+                    row[column] = 0;
+                }
+        }
+    }
+
+    private int getSequenceOffset(int tile) {
+        return tile * CACHE_LINE_SIZE;
+    }
+
+    private int getRowOffset(int tile, int parity, boolean bottomRow) {
+        return headerSize + ((tile * 2 + parity) * 2 + (bottomRow ? 1 : 0)) * rowSize;
+    }
+
+    private static int getRowSize(int width) {
+        int size = 8 * ((width + 63) / 64) + 4 * width;
+        return (size + CACHE_LINE_SIZE - 1) / CACHE_LINE_SIZE * CACHE_LINE_SIZE;
+    }
+}
@@ -0,0 +1,104 @@
+package main.model.tiled;
+
+import java.io.*;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.nio.ByteBuffer;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * Exchanges the boundary rows over TCP sockets. Every tile connects to the tile below it
+ * and accepts the connection of the tile above it, so the tiles form a ring (the field is a torus).
+ * A single tile connects to itself.
+ */
+public class SocketHaloTransport implements HaloTransport {
+    private final Socket lowerSocket;
+    private final Socket upperSocket;
+    private final DataOutputStream lowerOut;
+    private final DataOutputStream upperOut;
+    private final DataInputStream lowerIn;
+    private final DataInputStream upperIn;
+
+    /*
+     * The rows are sent on another thread while the rows of the neighbours are received.
+     * Otherwise, two tiles could block each other while sending rows that are larger than the socket buffers.
+     */
+    private final ExecutorService sender = Executors.newSingleThreadExecutor(r -> {
+        Thread thread = new Thread(r, "halo-sender");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    /*
+     * Buffers for converting rows to bytes and back, one per direction and thread
+     */
+    private final byte[] lowerSendBuffer;
+    private final byte[] upperSendBuffer;
+    private final byte[] receiveBuffer;
+
+    /**
+     * Connect to the tile below and accept the connection of the tile above.
+     *
+     * @param serverSocket socket on which the tile above connects
+     * @param lowerHost    host of the tile below
+     * @param lowerPort    port of the server socket of the tile below
+     * @param width        the width of the field (amount of cells in a row)
+     */
+    public SocketHaloTransport(ServerSocket serverSocket, String lowerHost, int lowerPort, int width) throws IOException {
+        lowerSocket = new Socket(lowerHost, lowerPort);
+        upperSocket = serverSocket.accept();
+        lowerSocket.setTcpNoDelay(true);
+        upperSocket.setTcpNoDelay(true);
+
+        lowerOut = new DataOutputStream(new BufferedOutputStream(lowerSocket.getOutputStream()));
+        upperOut = new DataOutputStream(new BufferedOutputStream(upperSocket.getOutputStream()));
+        lowerIn = new DataInputStream(new BufferedInputStream(lowerSocket.getInputStream()));
+        upperIn = new DataInputStream(new BufferedInputStream(upperSocket.getInputStream()));
+
+        lowerSendBuffer = new byte[4 * width];
+        upperSendBuffer = new byte[4 * width];
+        receiveBuffer = new byte[4 * width];
+    }
+
+    @Override
+    public void exchange(int[] topRow, int[] bottomRow, int[] haloAbove, int[] haloBelow) throws IOException {
+        Future<?> sending = sender.submit(() -> {
+            writeRow(lowerOut, bottomRow, lowerSendBuffer);
+            writeRow(upperOut, topRow, upperSendBuffer);
+            return null;
+        });
+
+        readRow(upperIn, haloAbove);
+        readRow(lowerIn, haloBelow);
+
+        try {
+            sending.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("interrupted while sending the halo rows");
+        } catch (ExecutionException e) {
+            throw new IOException("sending the halo rows failed", e.getCause());
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        sender.shutdownNow();
+        lowerSocket.close();
+        upperSocket.close();
+    }
+
+    private static void writeRow(DataOutputStream out, int[] row, byte[] buffer) throws IOException {
+        ByteBuffer.wrap(buffer).asIntBuffer().put(row);
+        out.write(buffer);
+        out.flush();
+    }
+
+    private void readRow(DataInputStream in, int[] row) throws IOException {
+        in.readFully(receiveBuffer);
+        ByteBuffer.wrap(receiveBuffer).asIntBuffer().get(row);
+    }
+}
@@ -0,0 +1,407 @@
+package main.model.tiled;
+
+import main.model.*;
+
+import java.awt.*;
+import java.io.*;
+import java.net.InetAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.net.SocketTimeoutException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * A field which is partitioned into tiles, each computed by its own worker process ({@link TileWorker}).
+ * The tiles are strips of consecutive rows, so only rows have to be exchanged between neighbouring tiles
+ * (the columns wrap around inside each tile). The rows are exchanged over sockets or, if all workers run
+ * on the same machine, through a shared memory-mapped file.
+ * The coordinator forwards all changes of cells to the worker owning the cell and keeps the statistics
+ * and the hash of the whole field, so it can be used by a {@link GameOfLife} like any other field.
+ * The generation counter and the manipulations stay in the game of life.
+ */
+public class TileCoordinator implements SimulationEngine, AutoCloseable {
+    /**
+     * How long the coordinator waits for the workers to connect
+     */
+    private static final int CONNECT_TIMEOUT_MILLIS = 60_000;
+
+    private final int height;
+    private final int width;
+    private final Tile[] tiles;
+
+    private final FieldStatistics statistics;
+    private long stateHash = 0;
+
+    /**
+     * The file through which the tiles exchange their boundary rows or null if they use sockets
+     */
+    private final Path haloFile;
+
+    /**
+     * A tile and the connection to the worker computing it
+     */
+    private static class Tile {
+        private final int firstRow;
+        private final int rowCount;
+        private final Socket socket;
+        private final DataInputStream in;
+        private final DataOutputStream out;
+        private final String haloHost;
+        private final int haloPort;
+        private Process process;
+
+        private Tile(int firstRow, int rowCount, Socket socket) throws IOException {
+            this.firstRow = firstRow;
+            this.rowCount = rowCount;
+            this.socket = socket;
+            socket.setTcpNoDelay(true);
+            in = new DataInputStream(new BufferedInputStream(socket.getInputStream()));
+            out = new DataOutputStream(new BufferedOutputStream(socket.getOutputStream()));
+            haloHost = in.readUTF();
+            haloPort = in.readInt();
+        }
+    }
+
+    /**
+     * Create a field whose tiles are computed by worker processes started on this machine.
+     *
+     * @param height    The height of the field
+     * @param width     The width of the field
+     * @param tileCount Into how many tiles the field is partitioned (at most one tile per row)
+     */
+    public TileCoordinator(int height, int width, int tileCount) throws IOException {
+        this(height, width, tileCount, true, null);
+    }
+
+    /**
+     * Create a field whose tiles are computed by worker processes.
+     *
+     * @param height       The height of the field
+     * @param width        The width of the field
+     * @param tileCount    Into how many tiles the field is partitioned (at most one tile per row)
+     * @param spawnWorkers Whether the workers are started on this machine. Otherwise, the coordinator waits
+     *                     until tileCount workers are started manually (e.g. on other nodes) and connect to the port
+     *                     printed to the standard output.
+     * @param sharedMemoryDirectory Directory for the file through which the tiles exchange their boundary rows
+     *                              (e.g. /dev/shm), which requires all workers to run on this machine.
+     *                              If it is null, the boundary rows are exchanged over sockets.
+     */
+    public TileCoordinator(int height, int width, int tileCount, boolean spawnWorkers, Path sharedMemoryDirectory)
+            throws IOException {
+        if (tileCount <= 0 || tileCount > height)
+            throw new IllegalArgumentException("tileCount must be between 1 and the height of the field");
+        this.height = height;
+        this.width = width;
+        this.statistics = new FieldStatistics(height, width);
+        this.tiles = new Tile[tileCount];
+
+        try (ServerSocket serverSocket = new ServerSocket(0, tileCount, spawnWorkers ? InetAddress.getLoopbackAddress() : null)) {
+            serverSocket.setSoTimeout(CONNECT_TIMEOUT_MILLIS);
+            Process[] processes = new Process[tileCount];
+            if (spawnWorkers)
+                for (int i = 0; i < tileCount; i++)
+                    processes[i] = startWorker(serverSocket.getLocalPort());
+            else
+                System.out.println("Waiting for " + tileCount + " tile workers on port " + serverSocket.getLocalPort());
+
+            // distribute the rows as evenly as possible over the tiles in the order the workers connect
+            int firstRow = 0;
+            for (int i = 0; i < tileCount; i++) {
+                int rowCount = height / tileCount + (i < height % tileCount ? 1 : 0);
+                try {
+                    tiles[i] = new Tile(firstRow, rowCount, serverSocket.accept());
+                } catch (SocketTimeoutException e) {
+                    destroyWorkers(processes);
+                    throw new IOException("tile worker did not connect in time", e);
+                }
+                tiles[i].process = processes[i];
+                firstRow += rowCount;
+            }
+        }
+
+        if (sharedMemoryDirectory != null) {
+            haloFile = Files.createTempFile(sharedMemoryDirectory, "gol-halo-", ".shm");
+            try (RandomAccessFile file = new RandomAccessFile(haloFile.toFile(), "rw")) {
+                file.setLength(SharedMemoryHaloTransport.getFileSize(tileCount, width));
+            }
+        } else {
+            haloFile = null;
+        }
+
+        // every tile gets its rows and how to reach its neighbours
+        // (with sockets the address of the tile below, the tile below the last tile is the first tile)
+        for (int i = 0; i < tileCount; i++) {
+            Tile tile = tiles[i];
+            tile.out.writeInt(width);
+            tile.out.writeInt(tile.firstRow);
+            tile.out.writeInt(tile.rowCount);
+            if (haloFile != null) {
+                tile.out.writeUTF(TileWorker.SHARED_MEMORY_TRANSPORT);
+                tile.out.writeUTF(haloFile.toAbsolutePath().toString());
+                tile.out.writeInt(i);
+                tile.out.writeInt(tileCount);
+            } else {
+                Tile lowerTile = tiles[(i + 1) % tileCount];
+                tile.out.writeUTF(TileWorker.SOCKET_TRANSPORT);
+                tile.out.writeUTF(lowerTile.haloHost);
+                tile.out.writeInt(lowerTile.haloPort);
+            }
+            tile.out.flush();
+        }
+        for (Tile tile : tiles)
+            if (tile.in.readByte() != TileWorker.READY)
+                throw new IOException("tile worker could not connect to its neighbours");
+    }
+
+    @Override
+    public boolean setCellAt(int row, int column, boolean alive, Color cellColor) {
+        if (!isCoordinateInField(row, column))
+            return false;
+
+        int newRgb = alive ? cellColor.getRGB() : 0;
+        try {
+            Tile tile = getTile(row);
+            tile.out.writeByte(TileWorker.SET_CELL);
+            tile.out.writeInt(row);
+            tile.out.writeInt(column);
+            tile.out.writeInt(newRgb);
+            tile.out.flush();
+            int oldRgb = tile.in.readInt();
+            applyChange(row * width + column, oldRgb, newRgb, null);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return true;
+    }
+
+    @Override
+    public GofCell getCellAt(int row, int column) {
+        if (!isCoordinateInField(row, column))
+            return null;
+        return createCell(row, column, getRgbAt(row, column));
+    }
+
+    @Override
+    public Color getCellColorAt(int row, int column) {
+        if (!isCoordinateInField(row, column))
+            return null;
+        int rgb = getRgbAt(row, column);
+        return rgb != 0 ? GofCell.colorOf(rgb) : GofCell.DEAD_CELL_COLOR;
+    }
+
+    @Override
+    public ArrayList<GofCell> getNextGeneration() {
+        return sendToAllTiles(TileWorker.STEP);
+    }
+
+    @Override
+    public ArrayList<GofCell> killAllCells() {
+        ArrayList<GofCell> killedCells = sendToAllTiles(TileWorker.KILL_ALL);
+        statistics.clear();
+        return killedCells;
+    }
+
+    @Override
+    public FieldSnapshot createSnapshot() {
+        Color[] colors = new Color[height * width];
+        try {
+            for (Tile tile : tiles) {
+                tile.out.writeByte(TileWorker.EXPORT);
+                tile.out.flush();
+            }
+            for (Tile tile : tiles)
+                for (int i = tile.firstRow * width; i < (tile.firstRow + tile.rowCount) * width; i++) {
+                    int rgb = tile.in.readInt();
+                    colors[i] = rgb != 0 ? GofCell.colorOf(rgb) : null;
+                }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return new FieldSnapshot(height, width, colors);
+    }
+
+    @Override
+    public ArrayList<GofCell> loadSnapshot(FieldSnapshot snapshot) {
+        if (snapshot.getHeight() != height || snapshot.getWidth() != width)
+            throw new IllegalArgumentException("snapshot has a different size than the field");
+
+        ArrayList<GofCell> changedCells = new ArrayList<>();
+        try {
+            for (Tile tile : tiles) {
+                tile.out.writeByte(TileWorker.IMPORT);
+                for (int row = tile.firstRow; row < tile.firstRow + tile.rowCount; row++)
+                    for (int column = 0; column < width; column++)
+                        tile.out.writeInt(snapshot.isAliveAt(row, column) ? snapshot.getColorAt(row, column).getRGB() : 0);
+                tile.out.flush();
+                readChanges(tile, changedCells);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return changedCells;
+    }
+
+    @Override
+    public FieldStatistics getStatistics() {
+        return statistics;
+    }
+
+    @Override
+    public long getStateHash() {
+        return stateHash;
+    }
+
+    @Override
+    public int getHeight() {
+        return height;
+    }
+
+    @Override
+    public int getWidth() {
+        return width;
+    }
+
+    public int getTileCount() {
+        return tiles.length;
+    }
+
+    /**
+     * Shuts down all workers.
+     */
+    @Override
+    public void close() throws IOException {
+        for (Tile tile : tiles) {
+            try {
+                tile.out.writeByte(TileWorker.SHUTDOWN);
+                tile.out.flush();
+            } catch (IOException ignored) {
+                // the worker is already gone
+            }
+            tile.socket.close();
+        }
+
+        Process[] processes = new Process[tiles.length];
+        for (int i = 0; i < tiles.length; i++)
+            processes[i] = tiles[i].process;
+        destroyWorkers(processes);
+        if (haloFile != null)
+            Files.deleteIfExists(haloFile);
+    }
+
+    /**
+     * Sends a command without parameters to all workers at once and collects the changed cells.
+     */
+    private ArrayList<GofCell> sendToAllTiles(byte command) {
+        ArrayList<GofCell> changedCells = new ArrayList<>();
+        try {
+            // all tiles have to receive the command before the first answer is read,
+            // because the tiles exchange their halo rows while computing the next generation
+            for (Tile tile : tiles) {
+                tile.out.writeByte(command);
+                tile.out.flush();
+            }
+            for (Tile tile : tiles)
+                readChanges(tile, changedCells);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return changedCells;
+    }
+
+    private void readChanges(Tile tile, ArrayList<GofCell> changedCells) throws IOException {
+        int changeCount = tile.in.readInt();
+        for (int i = 0; i < changeCount; i++)
+            applyChange(tile.in.readInt(), tile.in.readInt(), tile.in.readInt(), changedCells);
+    }
+
+    /**
+     * Updates the statistics and the hash because of a changed cell and adds the cell to the given list.
+     *
+     * @param changedCells list for the changed cell or null if the cell is not needed
+     */
+    private void applyChange(int index, int oldRgb, int newRgb, ArrayList<GofCell> changedCells) {
+        int row = index / width;
+        int column = index % width;
+        if (oldRgb != 0)
+            stateHash ^= ZobristHash.key(index, oldRgb);
+        if (newRgb != 0)
+            stateHash ^= ZobristHash.key(index, newRgb);
+        statistics.cellChanged(row, column, oldRgb != 0 ? GofCell.colorOf(oldRgb) : null,
+                newRgb != 0 ? GofCell.colorOf(newRgb) : null);
+
+        if (changedCells != null)
+            changedCells.add(createCell(row, column, newRgb));
+    }
+
+    private int getRgbAt(int row, int column) {
+        try {
+            Tile tile = getTile(row);
+            tile.out.writeByte(TileWorker.GET_CELL);
+            tile.out.writeInt(row);
+            tile.out.writeInt(column);
+            tile.out.flush();
+            return tile.in.readInt();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private static GofCell createCell(int row, int column, int rgb) {
+        GofCell cell = new GofCell(row, column);
+        if (rgb != 0)
+            cell.set(true, GofCell.colorOf(rgb));
+        return cell;
+    }
+
+    /**
+     * @return the tile containing the given row
+     */
+    private Tile getTile(int row) {
+        for (Tile tile : tiles)
+            if (row < tile.firstRow + tile.rowCount)
+                return tile;
+        throw new IllegalArgumentException("row " + row + " is outside the field");
+    }
+
+    private boolean isCoordinateInField(int row, int column) {
+        return row >= 0 && row < height && column >= 0 && column < width;
+    }
+
+    /**
+     * Starts a worker process with the same java installation and classpath as this process.
+     */
+    private static Process startWorker(int coordinatorPort) throws IOException {
+        String java = System.getProperty("java.home") + File.separator + "bin" + File.separator + "java";
+        // the classes may be loaded by a class loader which is not part of the classpath (e.g. by a test runner),
+        // so the location of the worker class is added to the classpath
+        String classPath = System.getProperty("java.class.path");
+        try {
+            classPath += File.pathSeparator
+                    + new File(TileWorker.class.getProtectionDomain().getCodeSource().getLocation().toURI()).getPath();
+        } catch (Exception ignored) {
+            // use the classpath of this process only
+        }
+
+        return new ProcessBuilder(java, "-cp", classPath, TileWorker.class.getName(),
+                InetAddress.getLoopbackAddress().getHostAddress(), String.valueOf(coordinatorPort))
+                .inheritIO()
+                .start();
+    }
+
+    private static void destroyWorkers(Process[] processes) {
+        for (Process process : processes) {
+            if (process == null)
+                continue;
+            try {
+                if (!process.waitFor(5, TimeUnit.SECONDS))
+                    process.destroyForcibly();
+            } catch (InterruptedException e) {
+                process.destroyForcibly();
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+}
@@ -0,0 +1,293 @@
+package main.model.tiled;
+
+import java.io.*;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.nio.file.Path;
+import java.util.Arrays;
+
+/**
+ * A worker process of a tiled game of life. It owns a strip of consecutive rows of the field (a tile)
+ * and computes the next generations of these rows. Before every generation it exchanges its first and last row
+ * with the tiles above and below it. The tile is controlled by a {@link TileCoordinator}.
+ * <p>
+ * Usage: java main.model.tiled.TileWorker &lt;coordinator host&gt; &lt;coordinator port&gt;
+ */
+public class TileWorker {
+    /*
+     * Commands sent by the coordinator
+     */
+    static final byte SET_CELL = 1;
+    static final byte GET_CELL = 2;
+    static final byte STEP = 3;
+    static final byte KILL_ALL = 4;
+    static final byte EXPORT = 5;
+    static final byte IMPORT = 6;
+    static final byte SHUTDOWN = 7;
+
+    /**
+     * Sent by the worker when its halo transport is connected
+     */
+    static final byte READY = 0;
+
+    /*
+     * Names of the halo transports
+     */
+    static final String SOCKET_TRANSPORT = "socket";
+    static final String SHARED_MEMORY_TRANSPORT = "shm";
+
+    private final int width;
+    private final int firstRow;
+    private final int rowCount;
+
+    /*
+     * The rgb values of the cells of the tile row by row (0 for dead cells).
+     * Row 0 and row rowCount + 1 are the halo rows, which contain the neighbouring rows of the tiles above and below.
+     */
+    private int[] cells;
+    private int[] nextCells;
+
+    /*
+     * The column left and right of every column (the field is a torus)
+     */
+    private final int[] leftColumns;
+    private final int[] rightColumns;
+
+    private final int[] topRow;
+    private final int[] bottomRow;
+    private final int[] haloAbove;
+    private final int[] haloBelow;
+
+    /*
+     * The changes of the last command: index in the field, old rgb value and new rgb value of every changed cell
+     */
+    private int[] changes = new int[3 * 64];
+    private int changeCount = 0;
+
+    private final HaloTransport haloTransport;
+
+    TileWorker(int width, int firstRow, int rowCount, HaloTransport haloTransport) {
+        this.width = width;
+        this.firstRow = firstRow;
+        this.rowCount = rowCount;
+        this.haloTransport = haloTransport;
+
+        cells = new int[(rowCount + 2) * width];
+        nextCells = new int[(rowCount + 2) * width];
+        leftColumns = new int[width];
+        rightColumns = new int[width];
+        for (int column = 0; column < width; column++) {
+            leftColumns[column] = (column - 1 + width) % width;
+            rightColumns[column] = (column + 1) % width;
+        }
+        topRow = new int[width];
+        bottomRow = new int[width];
+        haloAbove = new int[width];
+        haloBelow = new int[width];
+    }
+
+    public static void main(String[] args) throws IOException {
+        if (args.length != 2) {
+            System.err.println("Usage: java " + TileWorker.class.getName() + " <coordinator host> <coordinator port>");
+            System.exit(1);
+        }
+
+        try (Socket socket = new Socket(args[0], Integer.parseInt(args[1]));
+             ServerSocket haloServerSocket = new ServerSocket(0)) {
+            socket.setTcpNoDelay(true);
+            DataInputStream in = new DataInputStream(new BufferedInputStream(socket.getInputStream()));
+            DataOutputStream out = new DataOutputStream(new BufferedOutputStream(socket.getOutputStream()));
+
+            // tell the coordinator where the tile above can connect to this tile
+            out.writeUTF(socket.getLocalAddress().getHostAddress());
+            out.writeInt(haloServerSocket.getLocalPort());
+            out.flush();
+
+            // receive the size of the field, the rows of this tile and how to reach the neighbouring tiles
+            int width = in.readInt();
+            int firstRow = in.readInt();
+            int rowCount = in.readInt();
+            String transport = in.readUTF();
+            HaloTransport haloTransport;
+            if (SOCKET_TRANSPORT.equals(transport)) {
+                String lowerHost = in.readUTF();
+                int lowerPort = in.readInt();
+                haloTransport = new SocketHaloTransport(haloServerSocket, lowerHost, lowerPort, width);
+            } else if (SHARED_MEMORY_TRANSPORT.equals(transport)) {
+                Path file = Path.of(in.readUTF());
+                int tileIndex = in.readInt();
+                int tileCount = in.readInt();
+                haloTransport = new SharedMemoryHaloTransport(file, tileIndex, tileCount, width);
+            } else {
+                throw new IllegalArgumentException("unknown halo transport: " + transport);
+            }
+
+            try (haloTransport) {
+                out.writeByte(READY);
+                out.flush();
+                new TileWorker(width, firstRow, rowCount, haloTransport).run(in, out);
+            }
+        }
+    }
+
+    /**
+     * Executes the commands of the coordinator until it sends SHUTDOWN or closes the connection.
+     */
+    void run(DataInputStream in, DataOutputStream out) throws IOException {
+        while (true) {
+            int command;
+            try {
+                command = in.readByte();
+            } catch (EOFException e) {
+                return;
+            }
+
+            switch (command) {
+                case SET_CELL -> {
+                    // answers with the old rgb value of the cell
+                    int index = getLocalIndex(in.readInt(), in.readInt());
+                    int rgb = in.readInt();
+                    out.writeInt(cells[index]);
+                    cells[index] = rgb;
+                }
+                case GET_CELL -> out.writeInt(cells[getLocalIndex(in.readInt(), in.readInt())]);
+                case STEP -> {
+                    computeNextGeneration();
+                    writeChanges(out);
+                }
+                case KILL_ALL -> {
+                    changeCount = 0;
+                    for (int i = width; i < (rowCount + 1) * width; i++)
+                        setCell(i, 0);
+                    writeChanges(out);
+                }
+                case EXPORT -> {
+                    for (int i = width; i < (rowCount + 1) * width; i++)
+                        out.writeInt(cells[i]);
+                }
+                case IMPORT -> {
+                    changeCount = 0;
+                    for (int i = width; i < (rowCount + 1) * width; i++)
+                        setCell(i, in.readInt());
+                    writeChanges(out);
+                }
+                case SHUTDOWN -> {
+                    return;
+                }
+                default -> throw new IOException("unknown command " + command);
+            }
+            out.flush();
+        }
+    }
+
+    /**
+     * Exchanges the halo rows and applies the rules of the game of life to every cell of the tile.
+     */
+    void computeNextGeneration() throws IOException {
+        System.arraycopy(cells, width, topRow, 0, width);
+        System.arraycopy(cells, rowCount * width, bottomRow, 0, width);
+        haloTransport.exchange(topRow, bottomRow, haloAbove, haloBelow);
+        System.arraycopy(haloAbove, 0, cells, 0, width);
+        System.arraycopy(haloBelow, 0, cells, (rowCount + 1) * width, width);
+
+        changeCount = 0;
+        for (int row = 1; row <= rowCount; row++)
+            for (int column = 0; column < width; column++) {
+                int index = row * width + column;
+                int neighboursAmount = getAmountLivingNeighbours(row, column);
+                int rgb = cells[index];
+
+                if (rgb == 0 && neighboursAmount == 3) { // dead cell becomes alive
+                    int newRgb = getMostFrequentlyRgb(row, column);
+                    nextCells[index] = newRgb;
+                    addChange(index, 0, newRgb);
+                } else if (rgb != 0 && (neighboursAmount < 2 || neighboursAmount > 3)) { // cell dies
+                    nextCells[index] = 0;
+                    addChange(index, rgb, 0);
+                } else {
+                    nextCells[index] = rgb;
+                }
+            }
+
+        int[] swap = cells;
+        cells = nextCells;
+        nextCells = swap;
+    }
+
+    private int getAmountLivingNeighbours(int row, int column) {
+        int left = leftColumns[column];
+        int right = rightColumns[column];
+        int counter = 0;
+        for (int currentRow = row - 1; currentRow <= row + 1; currentRow++) {
+            int offset = currentRow * width;
+            if (cells[offset + left] != 0)
+                counter++;
+            if (cells[offset + right] != 0)
+                counter++;
+            if (currentRow != row && cells[offset + column] != 0)
+                counter++;
+        }
+        return counter;
+    }
+
+    /**
+     * Same rule as {@link main.model.GameOfLifeField#getMostFrequentlyColor(int, int)}:
+     * the most frequent color of the surrounding cells, ties are won by the color found first.
+     */
+    private int getMostFrequentlyRgb(int row, int column) {
+        int[] rgbs = new int[9];
+        int[] rgbAmount = new int[9];
+        int differentRgbs = 0;
+
+        for (int currentRow = row - 1; currentRow <= row + 1; currentRow++)
+            for (int k = 0; k < 3; k++) {
+                // left, middle and right column in this order
+                int currentColumn = k == 0 ? leftColumns[column] : k == 1 ? column : rightColumns[column];
+                int rgb = cells[currentRow * width + currentColumn];
+                if (rgb == 0)
+                    continue;
+                int rgbIndex = 0;
+                while (rgbIndex < differentRgbs && rgbs[rgbIndex] != rgb)
+                    rgbIndex++;
+                if (rgbIndex == differentRgbs)
+                    rgbs[differentRgbs++] = rgb;
+                rgbAmount[rgbIndex]++;
+            }
+
+        int mostFrequentlyRgb = 0;
+        int max = 0;
+        for (int i = 0; i < differentRgbs; i++)
+            if (rgbAmount[i] > max) {
+                mostFrequentlyRgb = rgbs[i];
+                max = rgbAmount[i];
+            }
+        return mostFrequentlyRgb;
+    }
+
+    private void setCell(int index, int rgb) {
+        if (cells[index] != rgb) {
+            addChange(index, cells[index], rgb);
+            cells[index] = rgb;
+        }
+    }
+
+    private void addChange(int localIndex, int oldRgb, int newRgb) {
+        if (3 * changeCount == changes.length)
+            changes = Arrays.copyOf(changes, 2 * changes.length);
+        // convert the local index to the index in the whole field
+        changes[3 * changeCount] = localIndex + (firstRow - 1) * width;
+        changes[3 * changeCount + 1] = oldRgb;
+        changes[3 * changeCount + 2] = newRgb;
+        changeCount++;
+    }
+
+    private void writeChanges(DataOutputStream out) throws IOException {
+        out.writeInt(changeCount);
+        for (int i = 0; i < 3 * changeCount; i++)
+            out.writeInt(changes[i]);
+    }
+
+    private int getLocalIndex(int row, int column) {
+        return (row - firstRow + 1) * width + column;
+    }
+}
@@ -1,92 +1,423 @@
 package main.view;
 
+import main.model.AgePlane;
+import main.model.ChangeEvent;
+import main.model.DeliveryPolicy;
 import main.model.GameOfLife;
 import main.model.GofCell;
 import main.model.Observable;
 
 import javax.swing.*;
+import javax.swing.event.ChangeListener;
 import java.awt.*;
-import java.awt.event.ActionListener;
+import java.awt.event.*;
+import java.awt.image.BufferedImage;
+import java.awt.image.DataBufferInt;
+import java.util.ArrayList;
 
 /**
- * A JPanel which can display all the cells of the game of life in a grid field
- * consisting of JButtons which represent cells.
+ * A JPanel which displays the cells of the game of life in a zoomable and pannable viewport.
+ * Zooming works with the mouse wheel or the keys + and -, panning by dragging the mouse or with the arrow keys.
+ * The key 0 shows the whole field again.
+ * If the cells are smaller than a pixel, every pixel shows how densely the cells it covers are populated.
+ * Clicking a cell fires an ActionEvent with the action command "alive,row,column" or "dead,row,column".
+ * The key H switches to the heat map, which shows how recently the cells changed, if the ages of the cells are set.
  */
 public class FieldPanel extends JPanel implements Observer {
-    private final JButton[][] jButtons;
+    private static final Color GRID_COLOR = new Color(0xDDDDDD);
+    private static final Color OUTSIDE_COLOR = Color.LIGHT_GRAY;
 
-    public FieldPanel(int rows, int columns) {
-        this.setLayout(new GridLayout(rows, columns));
-
-        jButtons = new JButton[rows][columns];
-        for (int row = 0; row < rows; row++) {
-            for (int col = 0; col < columns; col++) {
-                JButton btn = new JButton();
-                btn.setFocusable(false);
-                btn.setBackground(GofCell.DEAD_CELL_COLOR);
-                btn.setActionCommand(createActionCommandString(row, col, false));
-                this.add(btn);
-                jButtons[row][col] = btn;
-            }
+    /**
+     * Cells with at least this size in pixels get grid lines
+     */
+    private static final double MIN_GRID_CELL_SIZE = 6;
+    private static final double MAX_CELL_SIZE = 64;
+    private static final double ZOOM_FACTOR = 1.25;
+    private static final int PAN_STEP = 32;
+
+    /**
+     * How many pixels the mouse has to move while pressed until it counts as dragging instead of clicking
+     */
+    private static final int DRAG_THRESHOLD = 3;
+
+    /**
+     * Cells which changed less than this amount of generations ago are colored in the heat map
+     */
+    private static final int HEAT_GENERATIONS = 64;
+
+    /**
+     * Colors of the heat map by age from yellow (just changed) to dark red, and the color of older living cells
+     */
+    private static final int[] HEAT_RGBS = new int[HEAT_GENERATIONS];
+    private static final int STABLE_RGB = new Color(0x3A4E7A).getRGB();
+
+    static {
+        for (int age = 0; age < HEAT_GENERATIONS; age++) {
+            float heat = 1 - (float) age / HEAT_GENERATIONS;
+            HEAT_RGBS[age] = Color.HSBtoRGB(heat / 6, 1, 0.5f + heat / 2);
         }
     }
 
     /**
-     * add ActionListener to every button in the field. Every Button is a representation of a cell.
-     *
-     * @param buttonListener ActionListener to be added
+     * How many cells per row and column of a pixel block are looked at to find the youngest cell in the heat map
      */
-    public void addButtonActionListener(ActionListener buttonListener) {
-        for (JButton[] buttonRow : jButtons)
-            for (JButton button : buttonRow)
-                button.addActionListener(buttonListener);
-    }
+    private static final int HEAT_SAMPLES = 4;
 
-    private String createActionCommandString(int row, int column, boolean alive) {
-        return (alive ? "alive" : "dead") + "," + row + "," + column;
-    }
+    private final int rows;
+    private final int columns;
 
-    @Override
-    public void update(Observable observable) {
-        if (!(observable instanceof GameOfLife gameOfLife))
-            return;
+    /**
+     * The colors of the cells row by row (null for dead cells)
+     */
+    private final Color[] cellColors;
+    private final PopulationPyramid populationPyramid;
 
-        // get the positions of the cells which got a new life state and update field panel
-        for (GofCell cell : gameOfLife.clearCellsToBeUpdated()) {
-            JButton btn = jButtons[cell.getRow()][cell.getColumn()];
+    /*
+     * The ages of the cells (null if they are not tracked) and whether they are shown as heat map
+     */
+    private AgePlane agePlane = null;
+    private boolean heatMap = false;
 
-            btn.setBackground(cell.getColor());
+    /*
+     * The viewport: size of one cell in pixels and the position of the upper left corner of the panel in cells.
+     * The cell size is 0 until the panel is shown for the first time and the viewport is fitted to the panel.
+     */
+    private double cellSize = 0;
+    private double viewRow = 0;
+    private double viewColumn = 0;
 
-            // toggle life state in the action command of the button
-            boolean alive = btn.getActionCommand().split(",")[0].equals("alive");
-            btn.setActionCommand(createActionCommandString(cell.getRow(), cell.getColumn(), !alive));
-        }
-    }
-}
+    /**
+     * Image into which the visible cells are rasterized. It is recreated if the size of the panel changes.
+     */
+    private BufferedImage image;
 
+    /*
+     * The field column of every pixel column of the image and whether it is part of the grid.
+     * They have the width of the image and are recreated with it.
+     */
+    private int[] pixelColumns;
+    private boolean[] gridColumns;
 
+    private final ArrayList<ActionListener> cellListeners = new ArrayList<>();
+    private final ArrayList<ChangeListener> heatMapListeners = new ArrayList<>();
 
+    private Point pressPoint;
+    private Point lastDragPoint;
+
+    public FieldPanel(int rows, int columns) {
+        this.rows = rows;
+        this.columns = columns;
+        cellColors = new Color[rows * columns];
+        populationPyramid = new PopulationPyramid(rows, columns);
+
+        this.setFocusable(true);
+        this.setBackground(OUTSIDE_COLOR);
+        addMouseHandling();
+        addKeyHandling();
+    }
 
+    /**
+     * add ActionListener which is notified if a cell in the field is clicked.
+     *
+     * @param cellListener ActionListener to be added
+     */
+    public void addCellActionListener(ActionListener cellListener) {
+        cellListeners.add(cellListener);
+    }
+
+    /**
+     * add ChangeListener which is notified if the heat map is switched on or off (see {@link #isHeatMap()}),
+     * e.g. to track the ages of the cells only while they are shown.
+     *
+     * @param heatMapListener ChangeListener to be added
+     */
+    public void addHeatMapChangeListener(ChangeListener heatMapListener) {
+        heatMapListeners.add(heatMapListener);
+    }
 
+    private String createActionCommandString(int row, int column, boolean alive) {
+        return (alive ? "alive" : "dead") + "," + row + "," + column;
+    }
 
+    @Override
+    public void update(Observable observable, ChangeEvent event) {
+        if (Observer.updateLater(this, observable, event))
+            return;
+        // update the colors and the pyramid of the cells which got a new life state
+        for (int i = 0; i < event.getChangeCount(); i++) {
+            int index = event.getIndex(i);
+            cellColors[index] = event.isAlive(i) ? event.getColor(i) : null;
+            populationPyramid.setAlive(event.getRow(i), event.getColumn(i), event.isAlive(i));
+        }
+        repaint();
+    }
 
+    @Override
+    public DeliveryPolicy getDeliveryPolicy() {
+        // the panel needs every changed cell, but not every generation
+        return DeliveryPolicy.COALESCE_LATEST;
+    }
 
+    /**
+     * Set the ages of the cells, which are shown by the heat map.
+     *
+     * @param agePlane the ages or null if they are not tracked
+     */
+    public void setAgePlane(AgePlane agePlane) {
+        this.agePlane = agePlane;
+        repaint();
+    }
 
+    /**
+     * Show how many generations ago the cells changed instead of their colors.
+     * Has no effect without ages (see {@link #setAgePlane(AgePlane)}).
+     */
+    public void setHeatMap(boolean heatMap) {
+        if (this.heatMap == heatMap)
+            return;
+        this.heatMap = heatMap;
+        for (ChangeListener listener : heatMapListeners)
+            listener.stateChanged(new javax.swing.event.ChangeEvent(this));
+        repaint();
+    }
 
+    public boolean isHeatMap() {
+        return heatMap;
+    }
 
+    /**
+     * Show the whole field in the panel.
+     */
+    public void fitToPanel() {
+        if (getWidth() == 0 || getHeight() == 0)
+            return;
+        cellSize = Math.min((double) getWidth() / columns, (double) getHeight() / rows);
+        // center the field
+        viewColumn = (columns - getWidth() / cellSize) / 2;
+        viewRow = (rows - getHeight() / cellSize) / 2;
+        repaint();
+    }
 
+    /**
+     * Zoom in (factor > 1) or out (factor < 1) while the cell at the given point of the panel stays where it is.
+     */
+    public void zoom(double factor, Point anchor) {
+        double newCellSize = Math.min(MAX_CELL_SIZE, cellSize * factor);
+        // do not zoom out further than showing the whole field
+        double minCellSize = Math.min((double) getWidth() / columns, (double) getHeight() / rows);
+        newCellSize = Math.max(minCellSize, newCellSize);
+
+        viewColumn += anchor.x / cellSize - anchor.x / newCellSize;
+        viewRow += anchor.y / cellSize - anchor.y / newCellSize;
+        cellSize = newCellSize;
+        repaint();
+    }
 
+    /**
+     * Move the viewport by the given amount of pixels.
+     */
+    public void pan(int dx, int dy) {
+        viewColumn += dx / cellSize;
+        viewRow += dy / cellSize;
+        repaint();
+    }
 
+    @Override
+    protected void paintComponent(Graphics g) {
+        super.paintComponent(g);
+        if (getWidth() <= 0 || getHeight() <= 0)
+            return;
+        if (cellSize == 0)
+            fitToPanel();
 
+        if (image == null || image.getWidth() != getWidth() || image.getHeight() != getHeight()) {
+            image = new BufferedImage(getWidth(), getHeight(), BufferedImage.TYPE_INT_RGB);
+            pixelColumns = new int[getWidth()];
+            gridColumns = new boolean[getWidth()];
+        }
+        int[] pixels = ((DataBufferInt) image.getRaster().getDataBuffer()).getData();
 
+        if (cellSize >= 1)
+            rasterizeCells(pixels, image.getWidth(), image.getHeight());
+        else
+            rasterizeDensity(pixels, image.getWidth(), image.getHeight());
+        g.drawImage(image, 0, 0, null);
+    }
 
+    /**
+     * Draws every visible cell with its color (zoomed in, one cell covers one pixel or more).
+     */
+    private void rasterizeCells(int[] pixels, int imageWidth, int imageHeight) {
+        boolean drawGrid = cellSize >= MIN_GRID_CELL_SIZE;
+        boolean drawHeat = heatMap && agePlane != null;
+        int deadRgb = GofCell.DEAD_CELL_COLOR.getRGB();
+        int gridRgb = GRID_COLOR.getRGB();
+        int outsideRgb = OUTSIDE_COLOR.getRGB();
+
+        // the column of every pixel in the image is the same for all pixel rows, so it is computed once
+        for (int x = 0; x < imageWidth; x++) {
+            double column = viewColumn + x / cellSize;
+            pixelColumns[x] = (int) Math.floor(column);
+            gridColumns[x] = drawGrid && (column - pixelColumns[x]) * cellSize < 1;
+        }
 
+        for (int y = 0; y < imageHeight; y++) {
+            double rowPosition = viewRow + y / cellSize;
+            int row = (int) Math.floor(rowPosition);
+            boolean gridRow = drawGrid && (rowPosition - row) * cellSize < 1;
+            int offset = y * imageWidth;
+
+            for (int x = 0; x < imageWidth; x++) {
+                int column = pixelColumns[x];
+                if (row < 0 || row >= rows || column < 0 || column >= columns) {
+                    pixels[offset + x] = outsideRgb;
+                } else if (gridRow || gridColumns[x]) {
+                    pixels[offset + x] = gridRgb;
+                } else if (drawHeat) {
+                    int index = row * columns + column;
+                    int age = agePlane.getAge(index);
+                    if (age < HEAT_GENERATIONS)
+                        pixels[offset + x] = HEAT_RGBS[age];
+                    else
+                        pixels[offset + x] = cellColors[index] != null ? STABLE_RGB : deadRgb;
+                } else {
+                    Color color = cellColors[row * columns + column];
+                    pixels[offset + x] = color != null ? color.getRGB() : deadRgb;
+                }
+            }
+        }
+    }
 
+    /**
+     * Draws the density of living cells (zoomed out, one pixel covers multiple cells).
+     * Every pixel is looked up in the level of the population pyramid whose blocks are about as big as a pixel.
+     * In the heat map, pixels containing a recently changed cell get the color of the youngest cell instead.
+     */
+    private void rasterizeDensity(int[] pixels, int imageWidth, int imageHeight) {
+        int level = Math.min(populationPyramid.getHighestLevel(),
+                (int) Math.ceil(Math.log(1 / cellSize) / Math.log(2)));
+        int blockArea = 1 << (2 * level);
+        int outsideRgb = OUTSIDE_COLOR.getRGB();
+        boolean drawHeat = heatMap && agePlane != null;
+        // how many cells a pixel covers in each direction
+        int pixelCells = (int) Math.ceil(1 / cellSize);
+
+        for (int y = 0; y < imageHeight; y++) {
+            int row = (int) Math.floor(viewRow + y / cellSize);
+            int offset = y * imageWidth;
+
+            for (int x = 0; x < imageWidth; x++) {
+                int column = (int) Math.floor(viewColumn + x / cellSize);
+                if (row < 0 || row >= rows || column < 0 || column >= columns) {
+                    pixels[offset + x] = outsideRgb;
+                    continue;
+                }
+
+                int youngestAge = drawHeat ? getYoungestAge(row, column, pixelCells) : AgePlane.MAX_AGE;
+                if (youngestAge < HEAT_GENERATIONS) {
+                    pixels[offset + x] = HEAT_RGBS[youngestAge];
+                } else {
+                    // the more living cells there are in the block, the darker the pixel
+                    int population = populationPyramid.getPopulation(level, row, column);
+                    int brightness = 255 - Math.min(255, population * 255 * 4 / blockArea);
+                    pixels[offset + x] = (brightness << 16) | (brightness << 8) | brightness;
+                }
+            }
+        }
+    }
 
+    /**
+     * @return the lowest age of some cells spread over the square block with the given upper left cell and size.
+     * Looking at all cells of large blocks would be too slow.
+     */
+    private int getYoungestAge(int firstRow, int firstColumn, int size) {
+        int lastRow = Math.min(rows, firstRow + size);
+        int lastColumn = Math.min(columns, firstColumn + size);
+        int step = Math.max(1, size / HEAT_SAMPLES);
+        int youngestAge = AgePlane.MAX_AGE;
+        for (int row = firstRow; row < lastRow; row += step)
+            for (int column = firstColumn; column < lastColumn; column += step)
+                youngestAge = Math.min(youngestAge, agePlane.getAge(row, column));
+        return youngestAge;
+    }
 
+    /**
+     * Clicking a cell notifies the cell listeners, dragging moves the viewport and the mouse wheel zooms.
+     */
+    private void addMouseHandling() {
+        MouseAdapter mouseAdapter = new MouseAdapter() {
+            @Override
+            public void mousePressed(MouseEvent e) {
+                requestFocusInWindow();
+                pressPoint = e.getPoint();
+                lastDragPoint = e.getPoint();
+            }
 
+            @Override
+            public void mouseDragged(MouseEvent e) {
+                if (lastDragPoint == null)
+                    return;
+                pan(lastDragPoint.x - e.getX(), lastDragPoint.y - e.getY());
+                lastDragPoint = e.getPoint();
+            }
 
+            @Override
+            public void mouseReleased(MouseEvent e) {
+                if (pressPoint != null && SwingUtilities.isLeftMouseButton(e)
+                        && pressPoint.distance(e.getPoint()) <= DRAG_THRESHOLD)
+                    fireCellAction(e.getPoint());
+                pressPoint = null;
+                lastDragPoint = null;
+            }
 
+            @Override
+            public void mouseWheelMoved(MouseWheelEvent e) {
+                zoom(Math.pow(ZOOM_FACTOR, -e.getPreciseWheelRotation()), e.getPoint());
+            }
+        };
+        this.addMouseListener(mouseAdapter);
+        this.addMouseMotionListener(mouseAdapter);
+        this.addMouseWheelListener(mouseAdapter);
+    }
 
+    /**
+     * + and - zoom around the center of the panel, the arrow keys move the viewport, 0 shows the whole field
+     * and H switches the heat map on and off.
+     */
+    private void addKeyHandling() {
+        this.addKeyListener(new KeyAdapter() {
+            @Override
+            public void keyPressed(KeyEvent e) {
+                Point center = new Point(getWidth() / 2, getHeight() / 2);
+                switch (e.getKeyCode()) {
+                    case KeyEvent.VK_PLUS, KeyEvent.VK_ADD, KeyEvent.VK_EQUALS -> zoom(ZOOM_FACTOR, center);
+                    case KeyEvent.VK_MINUS, KeyEvent.VK_SUBTRACT -> zoom(1 / ZOOM_FACTOR, center);
+                    case KeyEvent.VK_LEFT -> pan(-PAN_STEP, 0);
+                    case KeyEvent.VK_RIGHT -> pan(PAN_STEP, 0);
+                    case KeyEvent.VK_UP -> pan(0, -PAN_STEP);
+                    case KeyEvent.VK_DOWN -> pan(0, PAN_STEP);
+                    case KeyEvent.VK_0, KeyEvent.VK_NUMPAD0 -> fitToPanel();
+                    case KeyEvent.VK_H -> setHeatMap(!heatMap);
+                }
+            }
+        });
+    }
 
+    /**
+     * Notifies the cell listeners that the cell at the given point of the panel was clicked.
+     * Nothing happens if the point is outside the field or the cells are too small to be clicked.
+     */
+    private void fireCellAction(Point point) {
+        if (cellSize < 1)
+            return;
+        int row = (int) Math.floor(viewRow + point.y / cellSize);
+        int column = (int) Math.floor(viewColumn + point.x / cellSize);
+        if (row < 0 || row >= rows || column < 0 || column >= columns)
+            return;
 
+        boolean alive = cellColors[row * columns + column] != null;
+        ActionEvent event = new ActionEvent(this, ActionEvent.ACTION_PERFORMED, createActionCommandString(row, column, alive));
+        for (ActionListener listener : cellListeners)
+            listener.actionPerformed(event);
+    }
+}
@@ -14,6 +14,7 @@ public class MainFrame extends JFrame {
     private final FieldPanel fieldPanel;
     private final TopControlPanel topControlPanel;
     private final BottomControlPanel bottomControlPanel;
+    private final SparklinePanel sparklinePanel;
 
     public MainFrame(int fieldRows, int fieldColumns) {
         this.setLayout(new BorderLayout());
@@ -21,14 +22,20 @@ public class MainFrame extends JFrame {
         // add fieldPanel, which displays the gameOfLive field
         this.add(fieldPanel = new FieldPanel(fieldRows, fieldColumns), BorderLayout.CENTER);
 
-        // add topControlPanel, which is for adjusting the game of life
-        this.add(topControlPanel = new TopControlPanel(), BorderLayout.NORTH);
+        // add topControlPanel, which is for adjusting the game of life,
+        // and next to it the sparklinePanel, which shows the coverage over time
+        JPanel northPanel = new JPanel(new BorderLayout());
+        northPanel.add(topControlPanel = new TopControlPanel(), BorderLayout.CENTER);
+        JPanel sparklineContainer = new JPanel(new FlowLayout(FlowLayout.CENTER, 12, 12));
+        sparklineContainer.add(sparklinePanel = new SparklinePanel());
+        northPanel.add(sparklineContainer, BorderLayout.EAST);
+        this.add(northPanel, BorderLayout.NORTH);
 
         // add bottomControlPanel, which is for adjusting the game of life
         this.add(bottomControlPanel = new BottomControlPanel(), BorderLayout.SOUTH);
 
         this.setDefaultCloseOperation(JFrame.EXIT_ON_CLOSE);
-        this.setSize(750, 750);
+        this.setSize(950, 750);
         this.setLocationRelativeTo(null);
         this.setVisible(true);
     }
@@ -44,4 +51,8 @@ public class MainFrame extends JFrame {
     public BottomControlPanel getBottomControlPanel() {
         return bottomControlPanel;
     }
+
+    public SparklinePanel getSparklinePanel() {
+        return sparklinePanel;
+    }
 }
@@ -1,11 +1,48 @@
 package main.view;
 
 
+import main.model.ChangeEvent;
+import main.model.DeliveryPolicy;
 import main.model.Observable;
 
+import javax.swing.*;
+
 public interface Observer {
     /**
      * Observable calls this method to notify observers
+     *
+     * @param observable the observable which has changed
+     * @param event      the changes since the last notification. The same event is delivered to every observer
+     *                   and must not be used after this method returned, unless it is retained (see {@link ChangeEvent})
+     */
+    void update(Observable observable, ChangeEvent event);
+
+    /**
+     * @return what happens to new events if this observer gets the events asynchronously and its queue is full
+     */
+    default DeliveryPolicy getDeliveryPolicy() {
+        return DeliveryPolicy.BLOCK;
+    }
+
+    /**
+     * Lets observers which update Swing components get the events in the event dispatch thread,
+     * if they are delivered by another thread (e.g. asynchronously by a thread pool).
+     * The event is retained until the observer got it.
+     *
+     * @return true if the event is delivered later by the event dispatch thread, so update has to return,
+     * false if this already is the event dispatch thread
      */
-    void update(Observable observable);
+    static boolean updateLater(Observer observer, Observable observable, ChangeEvent event) {
+        if (SwingUtilities.isEventDispatchThread())
+            return false;
+        event.retain();
+        SwingUtilities.invokeLater(() -> {
+            try {
+                observer.update(observable, event);
+            } finally {
+                event.release();
+            }
+        });
+        return true;
+    }
 }
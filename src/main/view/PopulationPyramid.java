@@ -0,0 +1,84 @@
+package main.view;
+
+/**
+ * A pyramid of population counts of a field (like a mip map of an image).
+ * Level 0 contains the life state of every cell (0 or 1), level k contains the amount of living cells
+ * in each block of 2^k x 2^k cells. The highest level consists of one block covering the whole field.
+ * The counts are updated with every cell that gets a new life state, so the pyramid never has to be rebuilt.
+ */
+public class PopulationPyramid {
+    private final int height;
+    private final int width;
+
+    /**
+     * levels[k] contains the counts of the blocks of level k row by row
+     */
+    private final int[][] levels;
+
+    /**
+     * levelWidths[k] is the amount of blocks in one row of level k
+     */
+    private final int[] levelWidths;
+
+    /**
+     * Create the pyramid of an empty field.
+     *
+     * @param height The height of the field
+     * @param width  The width of the field
+     */
+    public PopulationPyramid(int height, int width) {
+        this.height = height;
+        this.width = width;
+
+        int levelCount = 1;
+        while ((1 << (levelCount - 1)) < Math.max(height, width))
+            levelCount++;
+
+        levels = new int[levelCount][];
+        levelWidths = new int[levelCount];
+        for (int level = 0; level < levelCount; level++) {
+            levelWidths[level] = (width + (1 << level) - 1) >> level;
+            int levelHeight = (height + (1 << level) - 1) >> level;
+            levels[level] = new int[levelWidths[level] * levelHeight];
+        }
+    }
+
+    /**
+     * Update the counts of all blocks containing the given cell.
+     *
+     * @param row   row of the cell
+     * @param column column of the cell
+     * @param alive whether the cell is alive now
+     */
+    public void setAlive(int row, int column, boolean alive) {
+        // nothing changes if the cell already has the life state
+        if ((levels[0][row * width + column] == 1) == alive)
+            return;
+
+        int difference = alive ? 1 : -1;
+        for (int level = 0; level < levels.length; level++)
+            levels[level][(row >> level) * levelWidths[level] + (column >> level)] += difference;
+    }
+
+    /**
+     * @return the amount of living cells in the block of the given level that contains the given cell
+     */
+    public int getPopulation(int level, int row, int column) {
+        return levels[level][(row >> level) * levelWidths[level] + (column >> level)];
+    }
+
+    /**
+     * @return the highest level, whose only block covers the whole field
+     */
+    public int getHighestLevel() {
+        return levels.length - 1;
+    }
+
+    public int getHeight() {
+        return height;
+    }
+
+    public int getWidth() {
+        return width;
+    }
+}
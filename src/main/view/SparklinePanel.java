@@ -0,0 +1,109 @@
+package main.view;
+
+import main.model.ChangeEvent;
+import main.model.DeliveryPolicy;
+import main.model.DownsampledSeries;
+import main.model.GameOfLife;
+import main.model.GofCell;
+import main.model.Observable;
+import main.model.StatisticsRecorder;
+
+import javax.swing.*;
+import java.awt.*;
+
+/**
+ * A JPanel which plots the coverage of the field (in total and per color) over all recorded generations.
+ * The values are taken from the downsampled series of the statistics recorder,
+ * so painting always costs the same, no matter how many generations were recorded.
+ */
+public class SparklinePanel extends JPanel implements Observer {
+    private static final int COLOR_COUNT = GofCell.PALETTE.length + 1;
+    private static final Color POPULATION_COLOR = Color.DARK_GRAY;
+    private static final Color OTHER_COLORS_COLOR = Color.LIGHT_GRAY;
+
+    /*
+     * Copies of the series of the recorder. Index 0 of the first dimension is the population,
+     * the following indices are the populations per color (same order as the palette, other colors last)
+     */
+    private final int[][] minimums = new int[COLOR_COUNT + 1][StatisticsRecorder.SERIES_BUCKET_COUNT];
+    private final int[][] maximums = new int[COLOR_COUNT + 1][StatisticsRecorder.SERIES_BUCKET_COUNT];
+    private int size = 0;
+
+    /**
+     * Amount of cells in the field, which is the population of a fully covered field
+     */
+    private int fieldArea = 1;
+
+    public SparklinePanel() {
+        this.setPreferredSize(new Dimension(200, 80));
+        this.setBackground(GofCell.DEAD_CELL_COLOR);
+        this.setBorder(BorderFactory.createLineBorder(Color.LIGHT_GRAY));
+        this.setToolTipText("Coverage over all recorded generations (in total and per color)");
+    }
+
+    @Override
+    public void update(Observable observable, ChangeEvent event) {
+        if (Observer.updateLater(this, observable, event))
+            return;
+        if (!(observable instanceof GameOfLife gameOfLife) || gameOfLife.getStatisticsRecorder() == null)
+            return;
+
+        StatisticsRecorder recorder = gameOfLife.getStatisticsRecorder();
+        fieldArea = Math.max(1, gameOfLife.getFieldHeight() * gameOfLife.getFieldWidth());
+        size = copySeries(recorder.getPopulationSeries(), 0);
+        for (int i = 0; i < COLOR_COUNT; i++)
+            size = Math.min(size, copySeries(recorder.getColorPopulationSeries(i), i + 1));
+        repaint();
+    }
+
+    @Override
+    public DeliveryPolicy getDeliveryPolicy() {
+        // the series are read from the statistics recorder, so only the latest event matters
+        return DeliveryPolicy.DROP_OLDEST;
+    }
+
+    @Override
+    protected void paintComponent(Graphics g) {
+        super.paintComponent(g);
+        if (size == 0)
+            return;
+
+        // scale the y-axis to the highest coverage, so that small coverages are still visible
+        int highestPopulation = 1;
+        for (int i = 0; i < size; i++)
+            highestPopulation = Math.max(highestPopulation, maximums[0][i]);
+
+        Insets insets = getInsets();
+        int width = getWidth() - insets.left - insets.right - 1;
+        int height = getHeight() - insets.top - insets.bottom - 1;
+
+        // draw the colors first, so that the total population is on top
+        for (int series = COLOR_COUNT; series >= 0; series--) {
+            if (series == 0)
+                g.setColor(POPULATION_COLOR);
+            else if (series == COLOR_COUNT)
+                g.setColor(OTHER_COLORS_COLOR);
+            else
+                g.setColor(GofCell.PALETTE[series - 1]);
+
+            // every bucket is drawn as vertical line from its minimum to its maximum
+            for (int i = 0; i < size; i++) {
+                int x = insets.left + (size == 1 ? 0 : i * width / (size - 1));
+                int yMin = insets.top + height - (int) ((long) minimums[series][i] * height / highestPopulation);
+                int yMax = insets.top + height - (int) ((long) maximums[series][i] * height / highestPopulation);
+                g.drawLine(x, yMin, x, yMax);
+            }
+        }
+
+        g.setColor(POPULATION_COLOR);
+        double highestCoverage = Math.round(1000.0 * highestPopulation / fieldArea) / 10.0;
+        g.drawString("max " + highestCoverage + " %", insets.left + 4, insets.top + g.getFontMetrics().getAscent());
+    }
+
+    /**
+     * @return the amount of copied buckets
+     */
+    private int copySeries(DownsampledSeries series, int index) {
+        return series.copyTo(minimums[index], maximums[index]);
+    }
+}
@@ -1,5 +1,6 @@
 package main.view.controlpanel;
 
+import main.model.GofCell;
 import main.utility.IconProvider;
 
 import javax.swing.*;
@@ -39,7 +40,7 @@ public class BottomControlPanel extends JPanel {
         colorPanel.add(colorLabel);
 
         // create the JButtons for selecting the color.
-        Color[] availableColors = {Color.RED, Color.GREEN, Color.BLUE, Color.YELLOW, Color.MAGENTA};
+        Color[] availableColors = GofCell.PALETTE;
         for (Color color : availableColors) {
             JButton btn = new JButton();
             btn.setFocusable(false);
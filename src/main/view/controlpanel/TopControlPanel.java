@@ -1,6 +1,11 @@
 package main.view.controlpanel;
 
+import main.model.ChangeEvent;
+import main.model.DeliveryPolicy;
+import main.model.FieldStatistics;
 import main.model.GameOfLife;
+import main.model.GenerationArchive;
+import main.model.GofCell;
 import main.model.Observable;
 import main.utility.IconProvider;
 import main.view.Observer;
@@ -23,7 +28,17 @@ public class TopControlPanel extends JPanel implements Observer {
     private final JSlider delaySlider;
     private final JLabel generationTextLabel;
     private final JLabel coverageTextLabel;
+    private final JLabel populationTextLabel;
+    private final JLabel cycleTextLabel;
     private final JTextField goToTextField;
+    private final JCheckBox stopOnCycleCheckBox;
+    private final JButton exportStatisticsBtn;
+    private final JSlider historySlider;
+
+    /**
+     * true while update changes the history slider, so its listeners ignore the change
+     */
+    private boolean updatingHistorySlider = false;
 
     public TopControlPanel() {
         this.setLayout(new FlowLayout(FlowLayout.CENTER, 32, 12));
@@ -88,12 +103,38 @@ public class TopControlPanel extends JPanel implements Observer {
         this.add(goToPanel);
 
 
-        // add JPanel, which contains generation and coverage JTextLabel
-        JPanel infoPanel = new JPanel(new GridLayout(2, 1));
+        // add JSlider for scrubbing through the archived generations (only shown if generations are archived)
+        historySlider = new JSlider(1, 1, 1);
+        historySlider.setFocusable(false);
+        historySlider.setToolTipText("Go to an archived generation");
+        historySlider.setVisible(false);
+        this.add(historySlider);
+
+
+        // add JCheckBox for stopping the game of life as soon as the generations repeat themselves
+        stopOnCycleCheckBox = new JCheckBox("Stop on cycle");
+        stopOnCycleCheckBox.setFocusable(false);
+        stopOnCycleCheckBox.setToolTipText("Stop the game of life when a still life or an oscillator is detected");
+        this.add(stopOnCycleCheckBox);
+
+
+        // add JButton for saving the recorded statistics of all generations to a file
+        exportStatisticsBtn = new JButton("Export statistics");
+        exportStatisticsBtn.setFocusable(false);
+        exportStatisticsBtn.setToolTipText("Save the statistics of the recorded generations as csv or binary file");
+        this.add(exportStatisticsBtn);
+
+
+        // add JPanel, which contains generation, coverage, population and cycle JTextLabel
+        JPanel infoPanel = new JPanel(new GridLayout(4, 1));
         generationTextLabel = new JLabel("Generation: 1");
         coverageTextLabel = new JLabel("Coverage: 000%");
+        populationTextLabel = new JLabel("Population: 0");
+        cycleTextLabel = new JLabel("Cycle: -");
         infoPanel.add(generationTextLabel);
         infoPanel.add(coverageTextLabel);
+        infoPanel.add(populationTextLabel);
+        infoPanel.add(cycleTextLabel);
         this.add(infoPanel);
     }
 
@@ -121,25 +162,116 @@ public class TopControlPanel extends JPanel implements Observer {
         goToTextField.addActionListener(a);
     }
 
+    /**
+     * The listener only gets the changes made by the user, not the ones made when the current generation is shown.
+     */
+    public void addHistorySliderChangeListener(ChangeListener a) {
+        historySlider.addChangeListener((e) -> {
+            if (!updatingHistorySlider)
+                a.stateChanged(e);
+        });
+    }
+
     public void addPreviousGenerationButtonActionListener(ActionListener a) {
         previousGenerationButton.addActionListener(a);
     }
 
+    public void addExportStatisticsBtnActionListener(ActionListener a) {
+        exportStatisticsBtn.addActionListener(a);
+    }
+
+    public boolean isStopOnCycleSelected() {
+        return stopOnCycleCheckBox.isSelected();
+    }
+
+    /**
+     * Shows the start icon on the start/restart button (game of life is not running)
+     * or the stop icon (game of life is running).
+     */
+    public void setRunningState(boolean running) {
+        if (running) {
+            startRestartBtn.setIcon(IconProvider.getIcon(IconProvider.Icon.STOP));
+            startRestartBtn.setToolTipText("Stop the game of life");
+        } else {
+            startRestartBtn.setIcon(IconProvider.getIcon(IconProvider.Icon.START));
+            startRestartBtn.setToolTipText("Start the game of life");
+        }
+    }
+
     @Override
-    public void update(Observable observable) {
+    public void update(Observable observable, ChangeEvent event) {
+        if (Observer.updateLater(this, observable, event))
+            return;
         if (!(observable instanceof GameOfLife gameOfLife))
             return;
 
-        generationTextLabel.setText("Generation: " + gameOfLife.getGenerationCounter());
-        coverageTextLabel.setText("Coverage: " + gameOfLife.getLivingCellsCoverage() + " %");
-
-        if (gameOfLife.getGenerationCounter() > 1) {
+        generationTextLabel.setText("Generation: " + event.getGeneration());
+        coverageTextLabel.setText("Coverage: " + event.getCoverage() + " %");
+        updatePopulationLabel(event, gameOfLife.getStatistics());
+        if (!gameOfLife.isCycleDetected())
+            cycleTextLabel.setText("Cycle: -");
+        else if (gameOfLife.getCyclePeriod() == 1)
+            cycleTextLabel.setText("Cycle: still life since " + gameOfLife.getCycleEntryGeneration());
+        else
+            cycleTextLabel.setText("Cycle: period " + gameOfLife.getCyclePeriod()
+                    + " since " + gameOfLife.getCycleEntryGeneration());
+
+        if (event.getGeneration() > 1) {
             resetClearBtn.setIcon(IconProvider.getIcon(IconProvider.Icon.RESET));
             resetClearBtn.setToolTipText("Reset to first generation");
         } else {
             resetClearBtn.setIcon(IconProvider.getIcon(IconProvider.Icon.CLEAR));
             resetClearBtn.setToolTipText("Clear the field");
         }
+
+        updateHistorySlider(event.getGeneration(), gameOfLife.getHistoryArchive());
+    }
+
+    @Override
+    public DeliveryPolicy getDeliveryPolicy() {
+        // the labels only show the latest generation
+        return DeliveryPolicy.DROP_OLDEST;
+    }
+
+    /**
+     * Lets the history slider range over the archived generations and the given one and selects the given one.
+     * The slider is hidden if there is no archive. A slider dragged by the user is not changed.
+     */
+    private void updateHistorySlider(int generation, GenerationArchive archive) {
+        historySlider.setVisible(archive != null);
+        if (archive == null || historySlider.getValueIsAdjusting())
+            return;
+
+        int firstGeneration = archive.getFirstGeneration();
+        updatingHistorySlider = true;
+        historySlider.setMinimum(firstGeneration > 0 ? Math.min(firstGeneration, generation) : generation);
+        historySlider.setMaximum(Math.max(archive.getLastGeneration(), generation));
+        historySlider.setValue(generation);
+        updatingHistorySlider = false;
+    }
+
+    /**
+     * Shows the population with the births and deaths of the current generation.
+     * The population per color and the bounding box are shown as tooltip.
+     */
+    private void updatePopulationLabel(ChangeEvent event, FieldStatistics statistics) {
+        populationTextLabel.setText("Population: " + event.getPopulation()
+                + " (+" + event.getBirths() + " / -" + event.getDeaths() + ")");
+
+        // html is used for the line breaks in the tooltip
+        StringBuilder toolTip = new StringBuilder("<html>");
+        for (int i = 0; i < GofCell.PALETTE.length; i++) {
+            Color color = GofCell.PALETTE[i];
+            toolTip.append(String.format("<font color='#%06x'>&#9632;</font> %d<br>",
+                    color.getRGB() & 0xFFFFFF, statistics.getColorPopulation(i)));
+        }
+        toolTip.append("other colors: ").append(statistics.getColorPopulation(GofCell.PALETTE.length));
+
+        Rectangle boundingBox = statistics.getBoundingBox();
+        if (boundingBox != null)
+            toolTip.append("<br>bounding box: rows ").append(boundingBox.y).append(" - ").append(boundingBox.y + boundingBox.height - 1)
+                    .append(", columns ").append(boundingBox.x).append(" - ").append(boundingBox.x + boundingBox.width - 1);
+        populationTextLabel.setToolTipText(toolTip.append("</html>").toString());
     }
 }
 
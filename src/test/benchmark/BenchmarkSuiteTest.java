@@ -0,0 +1,79 @@
+package test.benchmark;
+
+import main.benchmark.BenchmarkReport;
+import main.benchmark.BenchmarkResult;
+import main.benchmark.BenchmarkScenario;
+import main.benchmark.BenchmarkScenario.Pattern;
+import main.benchmark.BenchmarkSuite;
+import main.model.GameOfLifeField;
+import main.model.engine.SimulationEngines;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class BenchmarkSuiteTest {
+    @Test
+    void testMatrix() {
+        List<BenchmarkScenario> scenarios = BenchmarkSuite.createMatrix(List.of("reference", "bitsliced"),
+                List.of(64, 128), List.of(10, 30), List.of(Pattern.values()), List.of(true, false), List.of(2));
+        // 2 sizes * (2 densities + positions) * 2 colors * (2 engines + tiled)
+        assertEquals(36, scenarios.size());
+        assertEquals("reference/64/random-10/colored", scenarios.get(0).getName());
+        assertEquals("bitsliced/64/random-10/colored", scenarios.get(1).getName());
+        assertEquals("tiled-2/64/random-10/colored", scenarios.get(2).getName());
+        assertEquals("reference/64/positions/uncolored", scenarios.get(15).getName());
+
+        assertThrows(IllegalArgumentException.class,
+                () -> new BenchmarkScenario("reference", 64, Pattern.RANDOM, 10, true, 2));
+    }
+
+    @Test
+    void testPositionsPattern() throws IOException {
+        List<int[]> positions = BenchmarkSuite.loadPositions(Path.of("resources/testPositions.csv"));
+        // the blinker of the first generation
+        assertEquals(3, positions.size());
+        assertArrayEquals(new int[]{5, 7}, positions.get(2));
+
+        GameOfLifeField field = new GameOfLifeField(25, 25);
+        new BenchmarkScenario("reference", 25, Pattern.POSITIONS, 0, false, 0).populate(field, positions);
+        // a blinker in every 10x10 block, the blinkers of the last blocks would lie outside the field
+        assertEquals(4 * 3, field.getStatistics().getPopulation());
+    }
+
+    @Test
+    void testReports(@TempDir Path directory) throws IOException {
+        BenchmarkSuite suite = new BenchmarkSuite(10, 10, List.of());
+        List<BenchmarkScenario> scenarios = BenchmarkSuite.createMatrix(
+                List.of(SimulationEngines.REFERENCE_ENGINE, "lookup"), List.of(32), List.of(30),
+                List.of(Pattern.RANDOM), List.of(true), List.of());
+        List<BenchmarkResult> results = suite.run(scenarios, null);
+
+        for (BenchmarkResult result : results) {
+            assertNull(result.getError());
+            assertTrue(result.getGenerations() >= 3);
+            assertTrue(result.getGenerationsPerSecond() > 0);
+            assertEquals(32 * 32 * result.getGenerationsPerSecond(), result.getCellUpdatesPerSecond(), 1e-6);
+        }
+
+        Path json = directory.resolve("report.json");
+        BenchmarkReport.writeJson(results, json);
+        Map<String, Double> speeds = BenchmarkReport.readGenerationsPerSecond(json);
+        assertEquals(2, speeds.size());
+        assertEquals(results.get(1).getGenerationsPerSecond(), speeds.get("lookup/32/random-30/colored"), 1e-3);
+
+        Path html = directory.resolve("report.html");
+        BenchmarkReport.writeHtml(results, speeds, html);
+        String page = Files.readString(html);
+        assertTrue(page.contains("lookup/32/random-30/colored"));
+        assertTrue(page.contains("vs. baseline"));
+        // the reference engine compared with itself
+        assertTrue(page.contains("1.00x"));
+    }
+}
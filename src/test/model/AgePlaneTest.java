@@ -0,0 +1,92 @@
+package test.model;
+
+import main.model.AgePlane;
+import main.model.GameOfLife;
+import org.junit.jupiter.api.Test;
+
+import java.awt.*;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class AgePlaneTest {
+    @Test
+    void testCellChangedAndGeneration() {
+        AgePlane agePlane = new AgePlane(3, 4, 1);
+        agePlane.cellChanged(6, 6);
+        agePlane.setGeneration(8);
+
+        assertEquals(7, agePlane.getAge(0, 0));
+        assertEquals(2, agePlane.getAge(1, 2));
+        assertEquals(2, agePlane.getAge(6));
+
+        // the ages are unknown in an earlier generation
+        agePlane.setGeneration(3);
+        assertEquals(0, agePlane.getAge(2, 3));
+        assertEquals(0, agePlane.getAge(6));
+        agePlane.setGeneration(5);
+        assertEquals(2, agePlane.getAge(6));
+
+        agePlane.clear(10);
+        assertEquals(0, agePlane.getAge(0, 0));
+    }
+
+    @Test
+    void testAgesSaturate() {
+        AgePlane agePlane = new AgePlane(2, 2, 1);
+        agePlane.setGeneration(AgePlane.MAX_AGE + 10);
+        assertEquals(AgePlane.MAX_AGE, agePlane.getAge(1, 1));
+        agePlane.setGeneration(Integer.MAX_VALUE);
+        assertEquals(AgePlane.MAX_AGE, agePlane.getAge(0, 0));
+    }
+
+    @Test
+    void testGameOfLifeTracksAges() {
+        GameOfLife gof = new GameOfLife(10, 10);
+        assertNull(gof.getAgePlane());
+        gof.setAgeTracking(true);
+
+        // blinker: the middle cell stays alive, the cells at the ends change every generation
+        gof.reviveCellAt(4, 3, Color.RED);
+        gof.reviveCellAt(4, 4, Color.RED);
+        gof.reviveCellAt(4, 5, Color.RED);
+        for (int i = 0; i < 3; i++)
+            gof.loadNextGeneration();
+
+        AgePlane agePlane = gof.getAgePlane();
+        assertEquals(3, agePlane.getAge(4, 4));
+        assertEquals(0, agePlane.getAge(3, 4));
+        assertEquals(0, agePlane.getAge(4, 3));
+        // cells far away from the blinker never changed
+        assertEquals(3, agePlane.getAge(0, 0));
+
+        gof.resetToFirstGeneration();
+        assertEquals(0, agePlane.getAge(0, 0));
+
+        gof.setAgeTracking(false);
+        assertNull(gof.getAgePlane());
+    }
+
+    @Test
+    void testAgesAfterFastForward() {
+        GameOfLife gof = new GameOfLife(10, 10);
+        gof.setAgeTracking(true);
+        gof.reviveCellAt(4, 3, Color.RED);
+        gof.reviveCellAt(4, 4, Color.RED);
+        gof.reviveCellAt(4, 5, Color.RED);
+        // the blinker is detected as cycle, so the seek skips the generations in between
+        gof.goToGeneration(6);
+        gof.goToGeneration(1001);
+
+        AgePlane agePlane = gof.getAgePlane();
+        assertEquals(1000, agePlane.getAge(4, 4));
+        assertEquals(1000, agePlane.getAge(0, 0));
+        assertEquals(0, agePlane.getAge(4, 3));
+        assertEquals(0, agePlane.getAge(3, 4));
+
+        // going back makes the ages unknown
+        gof.goToGeneration(3);
+        assertEquals(0, agePlane.getAge(0, 0));
+        gof.loadNextGeneration();
+        assertEquals(1, agePlane.getAge(4, 4));
+    }
+}
@@ -0,0 +1,169 @@
+package test.model;
+
+import main.model.ChangeEvent;
+import main.model.DeliveryPolicy;
+import main.model.GameOfLife;
+import main.model.Observable;
+import main.view.Observer;
+import org.junit.jupiter.api.Test;
+
+import java.awt.*;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class AsyncDispatchTest {
+    /**
+     * Remembers the indices of the changed cells of every event it gets
+     */
+    private static class RecordingObserver implements Observer {
+        private final DeliveryPolicy policy;
+        private final ArrayList<List<Integer>> changes = new ArrayList<>();
+
+        RecordingObserver(DeliveryPolicy policy) {
+            this.policy = policy;
+        }
+
+        @Override
+        public void update(Observable observable, ChangeEvent event) {
+            ArrayList<Integer> indices = new ArrayList<>();
+            for (int i = 0; i < event.getChangeCount(); i++)
+                indices.add(event.getIndex(i));
+            synchronized (changes) {
+                changes.add(indices);
+            }
+        }
+
+        @Override
+        public DeliveryPolicy getDeliveryPolicy() {
+            return policy;
+        }
+    }
+
+    @Test
+    void testEventsAreDeliveredByTheExecutor() {
+        GameOfLife gof = new GameOfLife(10, 10);
+        ArrayList<Runnable> tasks = new ArrayList<>();
+        RecordingObserver observer = new RecordingObserver(DeliveryPolicy.BLOCK);
+        gof.register(observer);
+        gof.setAsyncDispatch(tasks::add, 4);
+
+        gof.reviveCellAt(0, 1, Color.RED);
+        gof.reviveCellAt(0, 2, Color.RED);
+        assertTrue(observer.changes.isEmpty());
+        // one task delivers all queued events
+        assertEquals(1, tasks.size());
+
+        tasks.remove(0).run();
+        assertEquals(List.of(List.of(1), List.of(2)), observer.changes);
+    }
+
+    @Test
+    void testCoalesceLatest() {
+        GameOfLife gof = new GameOfLife(10, 10);
+        ArrayList<Runnable> tasks = new ArrayList<>();
+        RecordingObserver observer = new RecordingObserver(DeliveryPolicy.COALESCE_LATEST);
+        gof.register(observer);
+        gof.setAsyncDispatch(tasks::add, 1);
+
+        gof.reviveCellAt(0, 1, Color.RED);
+        gof.reviveCellAt(0, 2, Color.RED);
+        gof.killCellAt(0, 1);
+        tasks.remove(0).run();
+
+        // all changes arrive in one event in their order
+        assertEquals(List.of(List.of(1, 2, 1)), observer.changes);
+    }
+
+    @Test
+    void testDropOldest() {
+        GameOfLife gof = new GameOfLife(10, 10);
+        ArrayList<Runnable> tasks = new ArrayList<>();
+        RecordingObserver observer = new RecordingObserver(DeliveryPolicy.DROP_OLDEST);
+        gof.register(observer);
+        gof.setAsyncDispatch(tasks::add, 2);
+
+        gof.reviveCellAt(0, 1, Color.RED);
+        gof.reviveCellAt(0, 2, Color.RED);
+        gof.reviveCellAt(0, 3, Color.RED);
+        tasks.remove(0).run();
+
+        assertEquals(List.of(List.of(2), List.of(3)), observer.changes);
+    }
+
+    @Test
+    void testBlockWaitsForTheObserver() throws InterruptedException {
+        GameOfLife gof = new GameOfLife(10, 10);
+        CountDownLatch observerReleased = new CountDownLatch(1);
+        RecordingObserver observer = new RecordingObserver(DeliveryPolicy.BLOCK) {
+            @Override
+            public void update(Observable observable, ChangeEvent event) {
+                try {
+                    observerReleased.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                super.update(observable, event);
+            }
+        };
+        gof.register(observer);
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        gof.setAsyncDispatch(executor, 1);
+
+        Thread simulation = new Thread(() -> {
+            for (int column = 0; column < 3; column++)
+                gof.reviveCellAt(0, column, Color.RED);
+        });
+        simulation.start();
+        // one event is delivered and one is queued, so the third change has to wait
+        simulation.join(200);
+        assertTrue(simulation.isAlive());
+
+        observerReleased.countDown();
+        simulation.join(5000);
+        assertFalse(simulation.isAlive());
+        executor.shutdown();
+        assertTrue(executor.awaitTermination(5, TimeUnit.SECONDS));
+        assertEquals(List.of(List.of(0), List.of(1), List.of(2)), observer.changes);
+    }
+
+    @Test
+    void testBlockDoesNotWaitInTheDeliveringThread() {
+        GameOfLife gof = new GameOfLife(10, 10);
+        ArrayList<Runnable> tasks = new ArrayList<>();
+        RecordingObserver observer = new RecordingObserver(DeliveryPolicy.BLOCK);
+        gof.register(observer);
+        // the tasks run in this thread later, like with SwingUtilities::invokeLater
+        gof.setAsyncDispatch(tasks::add, 1);
+        gof.reviveCellAt(0, 1, Color.RED);
+        tasks.remove(0).run();
+
+        // the queue is full, but waiting would wait for this thread, so the events are merged
+        gof.reviveCellAt(0, 2, Color.RED);
+        gof.reviveCellAt(0, 3, Color.RED);
+        gof.reviveCellAt(0, 4, Color.RED);
+        tasks.remove(0).run();
+        assertEquals(List.of(List.of(1), List.of(2, 3, 4)), observer.changes);
+    }
+
+    @Test
+    void testSynchronousAgain() {
+        GameOfLife gof = new GameOfLife(10, 10);
+        ArrayList<Runnable> tasks = new ArrayList<>();
+        RecordingObserver observer = new RecordingObserver(DeliveryPolicy.BLOCK);
+        gof.register(observer);
+        gof.setAsyncDispatch(tasks::add, 1);
+        assertTrue(gof.isAsyncDispatch());
+
+        gof.setAsyncDispatch(null, 0);
+        assertFalse(gof.isAsyncDispatch());
+        gof.reviveCellAt(0, 1, Color.RED);
+        assertEquals(List.of(List.of(1)), observer.changes);
+        assertThrows(IllegalArgumentException.class, () -> gof.setAsyncDispatch(tasks::add, 0));
+    }
+}
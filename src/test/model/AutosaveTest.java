@@ -0,0 +1,165 @@
+package test.model;
+
+import main.model.Autosave;
+import main.model.GameOfLife;
+import main.model.GameOfLifeField;
+import main.model.ManipulationJournal;
+import main.model.engine.BitSlicedField;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.awt.*;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static test.model.GameOfLifeAssertions.assertSameField;
+
+public class AutosaveTest {
+    /**
+     * Creates a glider and a manipulation in generation 40, then goes back to generation 30
+     */
+    private static GameOfLife createSession() {
+        GameOfLife gof = new GameOfLife(new GameOfLifeField(20, 20));
+        gof.reviveCellAt(0, 1, Color.RED);
+        gof.reviveCellAt(1, 2, Color.GREEN);
+        gof.reviveCellAt(2, 0, Color.BLUE);
+        gof.reviveCellAt(2, 1, Color.RED);
+        gof.reviveCellAt(2, 2, Color.ORANGE);
+        gof.goToGeneration(40);
+        gof.reviveCellAt(3, 3, Color.YELLOW);
+        gof.goToGeneration(30);
+        return gof;
+    }
+
+    @Test
+    void testSaveAndRestore(@TempDir Path directory) throws IOException {
+        Path file = directory.resolve("autosave.gol");
+        GameOfLife gof = createSession();
+        try (Autosave autosave = new Autosave(file, 0, 0)) {
+            assertTrue(autosave.save(gof));
+        }
+        assertFalse(Files.exists(directory.resolve("autosave.gol.tmp")));
+
+        GameOfLife restored = new GameOfLife(new BitSlicedField(20, 20));
+        assertTrue(Autosave.restore(file, null, restored));
+        assertSameField(gof, restored);
+        assertEquals(gof.getStatistics().getPopulation(), restored.getStatistics().getPopulation());
+
+        // the manipulations are restored as well
+        gof.goToGeneration(60);
+        restored.goToGeneration(60);
+        assertSameField(gof, restored);
+        gof.goToGeneration(2);
+        restored.goToGeneration(2);
+        assertSameField(gof, restored);
+    }
+
+    @Test
+    void testPeriodicSave(@TempDir Path directory) throws IOException {
+        Path file = directory.resolve("autosave.gol");
+        GameOfLife gof = createSession();
+        Autosave autosave = new Autosave(file, 5, 0);
+        gof.setAutosave(autosave);
+        gof.goToGeneration(33);
+        autosave.awaitWrite();
+        // the interval starts when the autosave is set
+        assertFalse(Files.exists(file));
+        gof.goToGeneration(36);
+        autosave.close();
+
+        // saved after the step to generation 35 (or later, if the save was still written)
+        GameOfLife restored = new GameOfLife(new GameOfLifeField(20, 20));
+        Autosave.restore(file, null, restored);
+        assertTrue(restored.getGenerationCounter() >= 35);
+        gof.goToGeneration(restored.getGenerationCounter());
+        assertSameField(gof, restored);
+    }
+
+    @Test
+    void testPeriodicSaveAcrossCycle(@TempDir Path directory) throws IOException {
+        Path file = directory.resolve("autosave.gol");
+        GameOfLife gof = new GameOfLife(new GameOfLifeField(20, 20));
+        for (int column = 2; column <= 4; column++)
+            gof.reviveCellAt(2, column, Color.RED);
+        Autosave autosave = new Autosave(file, 4, 0);
+        gof.setAutosave(autosave);
+        // the blinker is detected as cycle
+        gof.goToGeneration(6);
+        autosave.awaitWrite();
+
+        // the seek skips the cycle and computes the remaining generation, which is saved with its real number
+        gof.goToGeneration(1002);
+        autosave.close();
+        GameOfLife restored = new GameOfLife(new GameOfLifeField(20, 20));
+        assertTrue(Autosave.restore(file, null, restored));
+        assertSameField(gof, restored);
+    }
+
+    @Test
+    void testSaveAfterManipulationWhilePaused(@TempDir Path directory) throws IOException, InterruptedException {
+        Path file = directory.resolve("autosave.gol");
+        GameOfLife gof = createSession();
+        Autosave autosave = new Autosave(file, 0, 1);
+        gof.setAutosave(autosave);
+        Thread.sleep(1100);
+
+        // no generation is computed, but the time interval has passed when the cell is drawn
+        gof.reviveCellAt(10, 10, Color.RED);
+        autosave.close();
+        GameOfLife restored = new GameOfLife(new GameOfLifeField(20, 20));
+        assertTrue(Autosave.restore(file, null, restored));
+        assertSameField(gof, restored);
+    }
+
+    @Test
+    void testRestoreWithJournal(@TempDir Path directory) throws IOException {
+        Path file = directory.resolve("autosave.gol");
+        Path journalFile = directory.resolve("session.journal");
+        GameOfLife gof = new GameOfLife(new GameOfLifeField(20, 20));
+        ManipulationJournal journal = ManipulationJournal.create(journalFile, 20, 20);
+        gof.setJournal(journal);
+        Autosave autosave = new Autosave(file, 0, 0);
+        gof.reviveCellAt(5, 5, Color.RED);
+        gof.reviveCellAt(5, 6, Color.RED);
+        gof.reviveCellAt(5, 7, Color.RED);
+        gof.goToGeneration(10);
+        autosave.save(gof);
+        autosave.close();
+
+        // the manipulations after the save are only in the journal
+        gof.reviveCellAt(10, 10, Color.BLUE);
+        gof.reviveCellAt(10, 11, Color.BLUE);
+        gof.goToGeneration(3);
+        gof.killCellAt(5, 5);
+        journal.close();
+
+        GameOfLife restored = new GameOfLife(new GameOfLifeField(20, 20));
+        assertTrue(Autosave.restore(file, journalFile, restored));
+        assertSameField(gof, restored);
+        gof.goToGeneration(25);
+        restored.goToGeneration(25);
+        assertSameField(gof, restored);
+
+        // the journal of another session is not used
+        ManipulationJournal.create(journalFile, 20, 20).close();
+        restored = new GameOfLife(new GameOfLifeField(20, 20));
+        assertFalse(Autosave.restore(file, journalFile, restored));
+        assertEquals(10, restored.getGenerationCounter());
+    }
+
+    @Test
+    void testInvalidFiles(@TempDir Path directory) throws IOException {
+        Path file = directory.resolve("autosave.gol");
+        try (Autosave autosave = new Autosave(file, 0, 0)) {
+            autosave.save(createSession());
+        }
+        assertThrows(IOException.class, () -> Autosave.restore(file, null, new GameOfLife(new GameOfLifeField(10, 10))));
+
+        Path other = directory.resolve("other.bin");
+        Files.write(other, new byte[100]);
+        assertThrows(IOException.class, () -> Autosave.restore(other, null, new GameOfLife(new GameOfLifeField(20, 20))));
+        assertThrows(IllegalArgumentException.class, () -> new Autosave(file, -1, 0));
+    }
+}
@@ -0,0 +1,149 @@
+package test.model;
+
+import main.model.ChangeEvent;
+import main.model.GameOfLife;
+import main.model.GofCell;
+import org.junit.jupiter.api.Test;
+
+import java.awt.*;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class ChangeEventTest {
+    @Test
+    void testEveryObserverGetsTheSameEvent() {
+        GameOfLife gof = new GameOfLife(10, 10);
+        ArrayList<ChangeEvent> firstEvents = new ArrayList<>();
+        ArrayList<ChangeEvent> secondEvents = new ArrayList<>();
+        gof.register((observable, event) -> firstEvents.add(event));
+        gof.register((observable, event) -> secondEvents.add(event));
+
+        gof.reviveCellAt(2, 3, Color.RED);
+        assertEquals(1, firstEvents.size());
+        assertSame(firstEvents.get(0), secondEvents.get(0));
+    }
+
+    @Test
+    void testEventContainsTheChanges() {
+        GameOfLife gof = new GameOfLife(10, 10);
+        // blinker: three cells in a row become three cells in a column
+        gof.reviveCellAt(4, 3, Color.RED);
+        gof.reviveCellAt(4, 4, Color.RED);
+        gof.reviveCellAt(4, 5, Color.RED);
+
+        ArrayList<String> changes = new ArrayList<>();
+        int[] state = new int[3];
+        gof.register((observable, event) -> {
+            for (int i = 0; i < event.getChangeCount(); i++) {
+                changes.add(event.getRow(i) + "," + event.getColumn(i) + "," + event.isAlive(i));
+                assertEquals(event.getRow(i) * 10 + event.getColumn(i), event.getIndex(i));
+                if (event.isAlive(i))
+                    assertEquals(GofCell.colorOf(Color.RED.getRGB()), event.getColor(i));
+            }
+            state[0] = event.getGeneration();
+            state[1] = event.getPopulation();
+            state[2] = event.getBirths();
+        });
+        gof.loadNextGeneration();
+
+        assertEquals(4, changes.size());
+        assertTrue(changes.containsAll(List.of("3,4,true", "5,4,true", "4,3,false", "4,5,false")));
+        assertEquals(2, state[0]);
+        assertEquals(3, state[1]);
+        assertEquals(2, state[2]);
+    }
+
+    @Test
+    void testReleasedEventsAreReused() {
+        GameOfLife gof = new GameOfLife(10, 10);
+        ArrayList<ChangeEvent> events = new ArrayList<>();
+        gof.register((observable, event) -> events.add(event));
+
+        gof.reviveCellAt(1, 1, Color.RED);
+        gof.reviveCellAt(2, 2, Color.RED);
+        gof.reviveCellAt(3, 3, Color.RED);
+        // the events are released after the update, so they are reused for the following changes
+        assertTrue(events.stream().distinct().count() < events.size());
+    }
+
+    @Test
+    void testRetainedEventIsNotReused() {
+        GameOfLife gof = new GameOfLife(10, 10);
+        ArrayList<ChangeEvent> events = new ArrayList<>();
+        gof.register((observable, event) -> {
+            event.retain();
+            events.add(event);
+        });
+
+        gof.reviveCellAt(1, 1, Color.RED);
+        gof.reviveCellAt(2, 2, Color.GREEN);
+        assertNotSame(events.get(0), events.get(1));
+        // the retained event still describes its own change
+        assertEquals(1, events.get(0).getChangeCount());
+        assertEquals(11, events.get(0).getIndex(0));
+
+        events.get(0).release();
+        assertThrows(IllegalStateException.class, () -> events.get(0).release());
+        assertThrows(IllegalStateException.class, () -> events.get(0).retain());
+    }
+
+    @Test
+    void testEveryCellOnlyOnceWithItsFinalState() {
+        GameOfLife gof = new GameOfLife(10, 10);
+        // glider
+        gof.reviveCellAt(0, 1, Color.RED);
+        gof.reviveCellAt(1, 2, Color.RED);
+        gof.reviveCellAt(2, 0, Color.RED);
+        gof.reviveCellAt(2, 1, Color.RED);
+        gof.reviveCellAt(2, 2, Color.RED);
+        gof.loadNextGeneration();
+
+        HashMap<Integer, Color> finalColors = new HashMap<>();
+        gof.register((observable, event) -> {
+            for (int i = 0; i < event.getChangeCount(); i++)
+                assertNull(finalColors.put(event.getIndex(i), event.getColor(i)), "cell changed twice in one event");
+        });
+
+        // killing all cells and reviving the cells of the first generation touches them twice
+        Color[] before = getColors(gof);
+        gof.resetToFirstGeneration();
+        assertNetDifference(before, getColors(gof), finalColors);
+        assertFalse(finalColors.isEmpty());
+
+        // the glider moves over half of the field in 20 generations, so many cells change several times
+        finalColors.clear();
+        before = getColors(gof);
+        gof.runUntilCycle(21);
+        assertNetDifference(before, getColors(gof), finalColors);
+        assertFalse(finalColors.isEmpty());
+
+        // after 40 generations the glider is back where it started, so no cell differs
+        finalColors.clear();
+        gof.resetToFirstGeneration();
+        finalColors.clear();
+        gof.runUntilCycle(41);
+        assertEquals(41, gof.getGenerationCounter());
+        assertTrue(finalColors.isEmpty());
+    }
+
+    private static Color[] getColors(GameOfLife gof) {
+        Color[] colors = new Color[gof.getFieldHeight() * gof.getFieldWidth()];
+        for (int index = 0; index < colors.length; index++)
+            colors[index] = gof.getCellColorAt(index / gof.getFieldWidth(), index % gof.getFieldWidth());
+        return colors;
+    }
+
+    /**
+     * Asserts that exactly the cells which differ between before and after were delivered with their color after
+     */
+    private static void assertNetDifference(Color[] before, Color[] after, HashMap<Integer, Color> delivered) {
+        HashMap<Integer, Color> expected = new HashMap<>();
+        for (int index = 0; index < before.length; index++)
+            if (!before[index].equals(after[index]))
+                expected.put(index, after[index]);
+        assertEquals(expected, delivered);
+    }
+}
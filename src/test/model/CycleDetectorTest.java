@@ -0,0 +1,51 @@
+package test.model;
+
+import main.model.CycleDetector;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class CycleDetectorTest {
+    @Test
+    void testRecord() {
+        CycleDetector cycleDetector = new CycleDetector(10);
+
+        // generations with different hashes don't form a cycle
+        assertFalse(cycleDetector.record(1, 11));
+        assertFalse(cycleDetector.record(2, 22));
+        assertFalse(cycleDetector.record(3, 33));
+        assertFalse(cycleDetector.isCycleDetected());
+        assertEquals(0, cycleDetector.getPeriod());
+
+        // generation 4 has the same hash as generation 2, so there is a cycle with the period 2 starting at generation 2
+        assertTrue(cycleDetector.record(4, 22));
+        assertTrue(cycleDetector.isCycleDetected());
+        assertEquals(2, cycleDetector.getPeriod());
+        assertEquals(2, cycleDetector.getEntryGeneration());
+
+        // after a reset the cycle is forgotten
+        cycleDetector.reset();
+        assertFalse(cycleDetector.isCycleDetected());
+        assertFalse(cycleDetector.record(5, 22));
+        // a still life has the period 1
+        assertTrue(cycleDetector.record(6, 22));
+        assertEquals(1, cycleDetector.getPeriod());
+        assertEquals(5, cycleDetector.getEntryGeneration());
+    }
+
+    @Test
+    void testCapacity() {
+        CycleDetector cycleDetector = new CycleDetector(3);
+
+        // only the last 3 generations are remembered, so the hash of generation 1 is forgotten after generation 4
+        cycleDetector.record(1, 11);
+        cycleDetector.record(2, 22);
+        cycleDetector.record(3, 33);
+        cycleDetector.record(4, 44);
+        assertFalse(cycleDetector.record(5, 11));
+
+        // but the hash of generation 3 is still known
+        assertTrue(cycleDetector.record(6, 33));
+        assertEquals(3, cycleDetector.getPeriod());
+    }
+}
@@ -0,0 +1,43 @@
+package test.model;
+
+import main.model.DownsampledSeries;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class DownsampledSeriesTest {
+    @Test
+    void testAdd() {
+        DownsampledSeries series = new DownsampledSeries(4);
+        int[] minimums = new int[4];
+        int[] maximums = new int[4];
+
+        // the first 4 values get a bucket each
+        for (int value : new int[]{5, 1, 7, 3})
+            series.add(value);
+        assertEquals(4, series.copyTo(minimums, maximums));
+        assertArrayEquals(new int[]{5, 1, 7, 3}, minimums);
+        assertEquals(1, series.getValuesPerBucket());
+
+        // the fifth value merges the buckets, so every bucket contains two values
+        series.add(9);
+        assertEquals(3, series.copyTo(minimums, maximums));
+        assertEquals(2, series.getValuesPerBucket());
+        assertEquals(1, minimums[0]);
+        assertEquals(5, maximums[0]);
+        assertEquals(3, minimums[1]);
+        assertEquals(7, maximums[1]);
+        assertEquals(9, minimums[2]);
+
+        // a million values still fit into 4 buckets
+        for (int i = 0; i < 1_000_000; i++)
+            series.add(i);
+        assertTrue(series.getSize() <= 4);
+        series.copyTo(minimums, maximums);
+        assertEquals(0, minimums[0]);
+        assertEquals(999_999, maximums[series.getSize() - 1]);
+
+        series.clear();
+        assertEquals(0, series.getSize());
+    }
+}
@@ -0,0 +1,67 @@
+package test.model;
+
+import main.model.FieldStatistics;
+import main.model.GofCell;
+import org.junit.jupiter.api.Test;
+
+import java.awt.*;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class FieldStatisticsTest {
+    @Test
+    void testCellChanged() {
+        FieldStatistics statistics = new FieldStatistics(10, 10);
+        assertEquals(0, statistics.getPopulation());
+
+        // two red cells and one pink cell (pink is not part of the palette) are born
+        statistics.cellChanged(1, 1, null, Color.RED);
+        statistics.cellChanged(1, 2, null, Color.RED);
+        statistics.cellChanged(2, 2, null, Color.PINK);
+        assertEquals(3, statistics.getPopulation());
+        assertEquals(2, statistics.getPopulation(Color.RED));
+        assertEquals(1, statistics.getColorPopulation(GofCell.PALETTE.length));
+        assertEquals(3, statistics.getBirths());
+
+        // a red cell gets a new color, which is neither a birth nor a death
+        statistics.cellChanged(1, 1, Color.RED, Color.BLUE);
+        assertEquals(3, statistics.getPopulation());
+        assertEquals(1, statistics.getPopulation(Color.RED));
+        assertEquals(1, statistics.getPopulation(Color.BLUE));
+
+        // in the next generation the pink cell dies
+        statistics.startGeneration();
+        statistics.cellChanged(2, 2, Color.PINK, null);
+        assertEquals(2, statistics.getPopulation());
+        assertEquals(0, statistics.getBirths());
+        assertEquals(1, statistics.getDeaths());
+
+        statistics.clear();
+        assertEquals(0, statistics.getPopulation());
+        assertEquals(0, statistics.getPopulation(Color.RED));
+        assertEquals(0, statistics.getDeaths());
+    }
+
+    @Test
+    void testGetBoundingBox() {
+        FieldStatistics statistics = new FieldStatistics(10, 10);
+        // there is no bounding box without living cells
+        assertNull(statistics.getBoundingBox());
+
+        statistics.cellChanged(2, 3, null, Color.RED);
+        assertEquals(new Rectangle(3, 2, 1, 1), statistics.getBoundingBox());
+
+        // the bounding box grows with new cells...
+        statistics.cellChanged(7, 1, null, Color.RED);
+        statistics.cellChanged(5, 8, null, Color.RED);
+        assertEquals(new Rectangle(1, 2, 8, 6), statistics.getBoundingBox());
+
+        // ...and shrinks if the cells at its edges die
+        statistics.cellChanged(7, 1, Color.RED, null);
+        assertEquals(new Rectangle(3, 2, 6, 4), statistics.getBoundingBox());
+
+        statistics.cellChanged(2, 3, Color.RED, null);
+        statistics.cellChanged(5, 8, Color.RED, null);
+        assertNull(statistics.getBoundingBox());
+    }
+}
@@ -0,0 +1,36 @@
+package test.model;
+
+import main.model.FieldSnapshot;
+import main.model.GameOfLife;
+import main.model.GofCell;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Assertions comparing the fields of games of life, shared by the tests which restore or replay a game of life
+ */
+public final class GameOfLifeAssertions {
+    private GameOfLifeAssertions() {
+        throw new UnsupportedOperationException();
+    }
+
+    /**
+     * Asserts that both games of life are in the same generation and all cells have the same color
+     */
+    public static void assertSameField(GameOfLife expected, GameOfLife actual) {
+        assertEquals(expected.getGenerationCounter(), actual.getGenerationCounter());
+        for (int row = 0; row < expected.getFieldHeight(); row++)
+            for (int column = 0; column < expected.getFieldWidth(); column++)
+                assertEquals(expected.getCellColorAt(row, column), actual.getCellColorAt(row, column));
+    }
+
+    /**
+     * Asserts that all cells of the snapshot have the color of the cells of the game of life
+     */
+    public static void assertSameField(GameOfLife expected, FieldSnapshot actual) {
+        for (int row = 0; row < expected.getFieldHeight(); row++)
+            for (int column = 0; column < expected.getFieldWidth(); column++)
+                assertEquals(expected.getCellColorAt(row, column),
+                        actual.isAliveAt(row, column) ? actual.getColorAt(row, column) : GofCell.DEAD_CELL_COLOR);
+    }
+}
@@ -197,6 +197,33 @@ public class GameOfLifeFieldTest {
         assertEquals(0, field.getLivingCellsCoverage());
     }
 
+    @Test
+    void testGetStatistics() {
+        GameOfLifeField field = new GameOfLifeField(10, 10);
+
+        // bringing a living cell to life again doesn't change the population
+        field.setCellAt(0, 0, true, TEST_COLOR);
+        field.setCellAt(0, 0, true, TEST_COLOR);
+        assertEquals(1, field.getStatistics().getPopulation());
+
+        // killing a cell decreases the population, killing a dead cell doesn't
+        field.setCellAt(0, 0, false, GofCell.DEAD_CELL_COLOR);
+        field.setCellAt(0, 0, false, GofCell.DEAD_CELL_COLOR);
+        assertEquals(0, field.getStatistics().getPopulation());
+        assertEquals(0, field.getLivingCellsCoverage());
+
+        // a blinker has 2 births and 2 deaths in every generation
+        for (int col = 2; col <= 4; col++)
+            field.setCellAt(2, col, true, TEST_COLOR);
+        field.getStatistics().startGeneration();
+        field.getNextGeneration();
+        assertEquals(3, field.getStatistics().getPopulation());
+        assertEquals(3, field.getStatistics().getPopulation(TEST_COLOR));
+        assertEquals(2, field.getStatistics().getBirths());
+        assertEquals(2, field.getStatistics().getDeaths());
+        assertEquals(new Rectangle(3, 1, 1, 3), field.getStatistics().getBoundingBox());
+    }
+
     @Test
     void testGetCellColor() {
         GameOfLifeField gameOfLifeField = new GameOfLifeField(10, 10);
@@ -214,6 +241,37 @@ public class GameOfLifeFieldTest {
         assertNull(gameOfLifeField.getCellColorAt(15, 5));
     }
 
+    @Test
+    void testGetStateHash() {
+        GameOfLifeField gameOfLifeField = new GameOfLifeField(10, 10);
+        long emptyFieldHash = gameOfLifeField.getStateHash();
+
+        // bringing a cell to life changes the hash
+        gameOfLifeField.setCellAt(5, 5, true, TEST_COLOR);
+        long oneCellHash = gameOfLifeField.getStateHash();
+        assertNotEquals(emptyFieldHash, oneCellHash);
+
+        // the color of a cell is part of the state
+        gameOfLifeField.setCellAt(5, 5, true, Color.GREEN);
+        assertNotEquals(oneCellHash, gameOfLifeField.getStateHash());
+
+        // killing the cell results in the hash of the empty field again
+        gameOfLifeField.setCellAt(5, 5, false, GofCell.DEAD_CELL_COLOR);
+        assertEquals(emptyFieldHash, gameOfLifeField.getStateHash());
+
+        // a blinker has the same state after two generations
+        for (int col = 2; col <= 4; col++)
+            gameOfLifeField.setCellAt(2, col, true, TEST_COLOR);
+        long blinkerHash = gameOfLifeField.getStateHash();
+        gameOfLifeField.getNextGeneration();
+        assertNotEquals(blinkerHash, gameOfLifeField.getStateHash());
+        gameOfLifeField.getNextGeneration();
+        assertEquals(blinkerHash, gameOfLifeField.getStateHash());
+
+        gameOfLifeField.killAllCells();
+        assertEquals(emptyFieldHash, gameOfLifeField.getStateHash());
+    }
+
 
     /*
     Helper Method which returns true if all cells in the given field are dead and have the DEAD_CELL_COLOR
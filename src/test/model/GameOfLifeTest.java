@@ -2,6 +2,7 @@ package test.model;
 
 import main.model.GameOfLife;
 import main.model.GofCell;
+import main.model.StatisticsRecorder;
 import org.junit.jupiter.api.Test;
 
 import java.awt.*;
@@ -180,6 +181,115 @@ public class GameOfLifeTest {
         assertEquals(gof.getCellColorAt(1,4), Color.RED);
     }
 
+    @Test
+    void testCycleDetection() {
+        GameOfLife gof = new GameOfLife(10, 10);
+
+        // bring a blinker to life, which is an oscillator with the period 2:
+        // --OOO--
+        for (int col = 2; col <= 4; col++)
+            gof.reviveCellAt(2, col, Color.RED);
+        assertFalse(gof.isCycleDetected());
+
+        // generation 3 looks like generation 1, so the cycle is detected in generation 3
+        gof.loadNextGeneration();
+        assertFalse(gof.isCycleDetected());
+        gof.loadNextGeneration();
+        assertTrue(gof.isCycleDetected());
+        assertEquals(2, gof.getCyclePeriod());
+        assertEquals(1, gof.getCycleEntryGeneration());
+
+        // a manipulation of the field makes the detected cycle invalid
+        gof.killCellAt(2, 2);
+        assertFalse(gof.isCycleDetected());
+
+        // the two remaining cells die in the next generation, and the empty field is a still life
+        assertEquals(1, gof.runUntilCycle(100));
+        assertEquals(5, gof.getGenerationCounter());
+        assertEquals(4, gof.getCycleEntryGeneration());
+    }
+
+    @Test
+    void testGoToGenerationInCycle() {
+        GameOfLife gof = new GameOfLife(10, 10);
+        Color cellColor = Color.RED;
+
+        int[][] odd_figure = {new int[]{2, 2}, new int[]{2, 3}, new int[]{2, 4}};
+        int[][] even_figure = {new int[]{1, 3}, new int[]{2, 3}, new int[]{3, 3}};
+        for (int[] pos : odd_figure)
+            gof.reviveCellAt(pos[0], pos[1], cellColor);
+
+        // the blinker is detected as a cycle in generation 3...
+        gof.goToGeneration(3);
+        assertTrue(gof.isCycleDetected());
+
+        // ...so going to a generation far away only needs the remainder of one period
+        gof.goToGeneration(1_000_000_001);
+        assertTrue(areGivenCellsAlive(gof, odd_figure, cellColor));
+        assertEquals(1_000_000_001, gof.getGenerationCounter());
+
+        // going back to a generation inside the cycle works the same way
+        gof.goToGeneration(2);
+        assertTrue(areGivenCellsAlive(gof, even_figure, cellColor));
+        assertEquals(2, gof.getGenerationCounter());
+
+        // a manipulation in generation 4 kills one cell of the blinker, so the remaining two cells die in generation 5
+        gof.goToGeneration(4);
+        gof.killCellAt(1, 3);
+        assertFalse(gof.isCycleDetected());
+
+        // the generations 1 to 3 are detected as cycle again...
+        gof.goToGeneration(1);
+        gof.goToGeneration(3);
+        assertTrue(gof.isCycleDetected());
+
+        // ...but the cycle is left because of the manipulation in generation 4
+        gof.goToGeneration(10);
+        assertTrue(areGivenCellsAlive(gof, new int[0][], cellColor));
+        assertEquals(10, gof.getGenerationCounter());
+    }
+
+    @Test
+    void testFastForwardRecordsTheReachedGenerations() {
+        GameOfLife gof = new GameOfLife(10, 10);
+        StatisticsRecorder recorder = new StatisticsRecorder(100);
+        gof.setStatisticsRecorder(recorder);
+        for (int col = 2; col <= 4; col++)
+            gof.reviveCellAt(2, col, Color.RED);
+        gof.goToGeneration(6);
+
+        // the remainder of the period is recorded with the numbers of the generations before 1002
+        gof.goToGeneration(1002);
+        assertEquals(1002, recorder.getGeneration(recorder.getSize() - 1));
+        for (int i = 1; i < recorder.getSize(); i++)
+            assertTrue(recorder.getGeneration(i) > recorder.getGeneration(i - 1));
+    }
+
+    @Test
+    void testCycleLeftByReplayedManipulation() {
+        GameOfLife gof = new GameOfLife(20, 20);
+        for (int col = 2; col <= 4; col++)
+            gof.reviveCellAt(2, col, Color.RED);
+
+        // a glider is added in generation 10, after the blinker was detected as cycle
+        gof.goToGeneration(10);
+        gof.reviveCellAt(10, 11, Color.BLUE);
+        gof.reviveCellAt(11, 12, Color.BLUE);
+        gof.reviveCellAt(12, 10, Color.BLUE);
+        gof.reviveCellAt(12, 11, Color.BLUE);
+        gof.reviveCellAt(12, 12, Color.BLUE);
+
+        // the blinker is detected as cycle again before generation 10...
+        gof.goToGeneration(5);
+        assertTrue(gof.isCycleDetected());
+
+        // ...but the replayed glider leaves the cycle
+        gof.goToGeneration(20);
+        assertFalse(gof.isCycleDetected());
+        assertEquals(0, gof.getCyclePeriod());
+        assertNotEquals(2, gof.runUntilCycle(30));
+    }
+
     /**
      * This is a helper method, which returns true if only the cells at the given positions
      * are alive in the given field and have the given color.
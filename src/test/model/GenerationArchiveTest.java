@@ -0,0 +1,150 @@
+package test.model;
+
+import main.model.FieldSnapshot;
+import main.model.GameOfLife;
+import main.model.GameOfLifeField;
+import main.model.GenerationArchive;
+import main.model.GofCell;
+import main.model.profiling.StepProfiler;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.awt.*;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static test.model.GameOfLifeAssertions.assertSameField;
+
+public class GenerationArchiveTest {
+    private static final int SIZE = 32;
+
+    /**
+     * Creates a game of life with random cells in the palette colors and one color outside the palette
+     */
+    private static GameOfLife createRandomGame(long seed) {
+        GameOfLife gof = new GameOfLife(new GameOfLifeField(SIZE, SIZE));
+        Random random = new Random(seed);
+        for (int row = 0; row < SIZE; row++)
+            for (int column = 0; column < SIZE; column++)
+                if (random.nextInt(3) == 0)
+                    gof.reviveCellAt(row, column, random.nextInt(10) == 0 ? Color.ORANGE
+                            : GofCell.PALETTE[random.nextInt(GofCell.PALETTE.length)]);
+        return gof;
+    }
+
+    /**
+     * Archives 100 generations of a random game and compares every archived generation with a computed one
+     */
+    private static void assertArchivedGenerations(GenerationArchive archive) {
+        GameOfLife gof = createRandomGame(50);
+        gof.setHistoryArchive(archive);
+        gof.goToGeneration(100);
+        assertEquals(1, archive.getFirstGeneration());
+        assertEquals(100, archive.getLastGeneration());
+
+        GameOfLife reference = createRandomGame(50);
+        for (int generation = 1; generation <= 100; generation++) {
+            reference.goToGeneration(generation);
+            assertSameField(reference, archive.getSnapshot(generation));
+        }
+        assertNull(archive.getSnapshot(101));
+    }
+
+    @Test
+    void testArchivedGenerations() throws IOException {
+        try (GenerationArchive archive = new GenerationArchive(SIZE, SIZE, 8, 4096, Long.MAX_VALUE, null)) {
+            assertArchivedGenerations(archive);
+            assertEquals(0, archive.getSpilledBytes());
+        }
+    }
+
+    @Test
+    void testSpillToFile(@TempDir Path directory) throws IOException {
+        try (GenerationArchive archive = new GenerationArchive(SIZE, SIZE, 8, 512, 2048, directory)) {
+            assertArchivedGenerations(archive);
+            assertTrue(archive.getSpilledBytes() > 0);
+            assertTrue(archive.getMemoryBytes() <= 2048 + 512);
+
+            // removing generations also shortens the file
+            long spilledBytes = archive.getSpilledBytes();
+            archive.truncate(10);
+            assertTrue(archive.getSpilledBytes() < spilledBytes);
+            assertEquals(9, archive.getLastGeneration());
+        }
+        // the file is deleted when the archive is closed
+        try (var files = Files.list(directory)) {
+            assertEquals(0, files.count());
+        }
+    }
+
+    @Test
+    void testDifferences() throws IOException {
+        try (GenerationArchive archive = new GenerationArchive(SIZE, SIZE, 64, 4096, Long.MAX_VALUE, null)) {
+            GameOfLifeField field = new GameOfLifeField(SIZE, SIZE);
+            archive.record(1, field, null);
+
+            // a cell changed twice keeps its last state
+            ArrayList<GofCell> changes = new ArrayList<>();
+            field.setCellAt(0, 0, true, Color.RED);
+            changes.add(field.getCellAt(0, 0).clone());
+            field.setCellAt(0, 0, true, Color.BLUE);
+            changes.add(field.getCellAt(0, 0).clone());
+            for (int column = 10; column < 20; column++) {
+                field.setCellAt(5, column, true, Color.ORANGE);
+                changes.add(field.getCellAt(5, column).clone());
+            }
+            field.setCellAt(SIZE - 1, SIZE - 1, true, Color.GREEN);
+            changes.add(field.getCellAt(SIZE - 1, SIZE - 1).clone());
+            archive.record(2, field, changes);
+
+            FieldSnapshot snapshot = archive.getSnapshot(2);
+            assertEquals(Color.BLUE, snapshot.getColorAt(0, 0));
+            assertEquals(Color.ORANGE, snapshot.getColorAt(5, 15));
+            assertEquals(Color.GREEN, snapshot.getColorAt(SIZE - 1, SIZE - 1));
+            assertFalse(snapshot.isAliveAt(5, 20));
+            assertFalse(archive.getSnapshot(1).isAliveAt(0, 0));
+
+            // a generation after a gap is archived as keyframe, the generations in between are missing
+            archive.record(5, field, changes);
+            assertTrue(archive.contains(5));
+            assertFalse(archive.contains(4));
+            assertEquals(2, archive.getLatestArchived(4));
+            assertEquals(Color.BLUE, archive.getSnapshot(5).getColorAt(0, 0));
+        }
+    }
+
+    @Test
+    void testScrubbing() throws IOException {
+        try (GenerationArchive archive = new GenerationArchive(SIZE, SIZE, 1 << 20, null)) {
+            GameOfLife gof = createRandomGame(7);
+            gof.setHistoryArchive(archive);
+            gof.goToGeneration(120);
+
+            // going back to an archived generation computes no generation
+            StepProfiler profiler = new StepProfiler();
+            gof.setProfiler(profiler);
+            gof.goToGeneration(50);
+            GameOfLife reference = createRandomGame(7);
+            reference.goToGeneration(50);
+            assertSameField(reference, gof);
+            gof.goToGeneration(110);
+            assertEquals(0, profiler.getHistogram(StepProfiler.Phase.NEIGHBOUR_COUNTING).getCount());
+
+            // a manipulation removes the following generations from the archive
+            gof.goToGeneration(50);
+            gof.reviveCellAt(3, 3, Color.YELLOW);
+            assertEquals(49, archive.getLastGeneration());
+            reference.reviveCellAt(3, 3, Color.YELLOW);
+            gof.goToGeneration(80);
+            reference.goToGeneration(80);
+            assertSameField(reference, gof);
+            gof.goToGeneration(60);
+            reference.goToGeneration(60);
+            assertSameField(reference, gof);
+        }
+    }
+}
@@ -0,0 +1,67 @@
+package test.model;
+
+import main.model.GameOfLife;
+import org.junit.jupiter.api.Test;
+
+import java.awt.*;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class GenerationSeekTest {
+    /**
+     * @return a game of life with a blinker, whose cells in row 4 are alive in odd generations
+     * and whose cells in column 4 are alive in even generations
+     */
+    private GameOfLife createBlinker() {
+        GameOfLife gof = new GameOfLife(10, 10);
+        gof.reviveCellAt(4, 3, Color.RED);
+        gof.reviveCellAt(4, 4, Color.RED);
+        gof.reviveCellAt(4, 5, Color.RED);
+        return gof;
+    }
+
+    @Test
+    void testObserversGetTheNetDifference() {
+        GameOfLife gof = createBlinker();
+        ArrayList<Integer> changeCounts = new ArrayList<>();
+        gof.register((observable, event) -> changeCounts.add(event.getChangeCount()));
+
+        // after an even number of generations the blinker looks like in the start generation
+        gof.goToGeneration(1001);
+        assertEquals(1001, gof.getGenerationCounter());
+        gof.goToGeneration(2000);
+        gof.goToGeneration(1);
+
+        // only the two cells at the ends of the blinker change between odd and even generations (2 births, 2 deaths)
+        assertEquals(List.of(0, 4, 4), changeCounts);
+    }
+
+    @Test
+    void testSeekDoesNotNotify() {
+        GameOfLife gof = createBlinker();
+        ArrayList<Integer> generations = new ArrayList<>();
+        gof.register((observable, event) -> generations.add(event.getGeneration()));
+
+        assertTrue(gof.seekToGeneration(50, null, null));
+        assertTrue(generations.isEmpty());
+        gof.notifyObservers();
+        assertEquals(List.of(50), generations);
+    }
+
+    @Test
+    void testProgressAndCancellation() {
+        GameOfLife gof = createBlinker();
+        ArrayList<Integer> progress = new ArrayList<>();
+
+        assertFalse(gof.seekToGeneration(1000, progress::add, () -> progress.size() == 10));
+        assertEquals(List.of(2, 3, 4, 5, 6, 7, 8, 9, 10, 11), progress);
+        // the game of life stays in the reached generation and can continue from there
+        assertEquals(11, gof.getGenerationCounter());
+        assertEquals(3, gof.getStatistics().getPopulation());
+
+        assertFalse(gof.seekToGeneration(0, null, null));
+        assertTrue(gof.seekToGeneration(11, null, null));
+    }
+}
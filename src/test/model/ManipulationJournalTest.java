@@ -0,0 +1,112 @@
+package test.model;
+
+import main.model.GameOfLife;
+import main.model.GameOfLifeField;
+import main.model.ManipulationJournal;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.awt.*;
+import java.io.IOException;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static test.model.GameOfLifeAssertions.assertSameField;
+
+public class ManipulationJournalTest {
+    /**
+     * Plays a session with a glider, manipulations in later generations (one of them made after going back)
+     * and a color outside the palette
+     */
+    private GameOfLife playSession(ManipulationJournal journal) {
+        GameOfLife gof = new GameOfLife(new GameOfLifeField(20, 20));
+        gof.setJournal(journal);
+        gof.reviveCellAt(0, 1, Color.RED);
+        gof.reviveCellAt(1, 2, Color.GREEN);
+        gof.reviveCellAt(2, 0, Color.BLUE);
+        gof.reviveCellAt(2, 1, Color.RED);
+        gof.reviveCellAt(2, 2, Color.ORANGE);
+        gof.goToGeneration(8);
+        gof.killCellAt(5, 4);
+        gof.reviveCellAt(12, 12, Color.YELLOW);
+        gof.goToGeneration(15);
+        gof.goToGeneration(4);
+        gof.reviveCellAt(15, 3, Color.MAGENTA);
+        gof.goToGeneration(30);
+        return gof;
+    }
+
+    @Test
+    void testReplay(@TempDir Path directory) throws IOException {
+        Path file = directory.resolve("session.journal");
+        GameOfLife gof;
+        try (ManipulationJournal journal = ManipulationJournal.create(file, 20, 20)) {
+            gof = playSession(journal);
+        }
+
+        assertSameField(gof, ManipulationJournal.replay(file, "reference", 30));
+        // any generation can be replayed with any engine
+        GameOfLife replayed = ManipulationJournal.replay(file, "bitsliced", 100);
+        gof.goToGeneration(100);
+        assertSameField(gof, replayed);
+        gof.goToGeneration(6);
+        assertSameField(gof, ManipulationJournal.replay(file, "lookup", 6));
+    }
+
+    @Test
+    void testReset(@TempDir Path directory) throws IOException {
+        Path file = directory.resolve("session.journal");
+        try (ManipulationJournal journal = ManipulationJournal.create(file, 20, 20)) {
+            playSession(journal).resetGameOfLife();
+        }
+        // the manipulations before the reset are not part of the session anymore
+        assertEquals(0, ManipulationJournal.replay(file, "reference", 30).getStatistics().getPopulation());
+    }
+
+    @Test
+    void testManipulationsAreWrittenAtOnce(@TempDir Path directory) throws IOException {
+        Path file = directory.resolve("session.journal");
+        try (ManipulationJournal journal = ManipulationJournal.create(file, 10, 10)) {
+            GameOfLife gof = new GameOfLife(new GameOfLifeField(10, 10));
+            gof.setJournal(journal);
+            gof.reviveCellAt(3, 3, Color.RED);
+
+            // the manipulation is in the file before the journal is closed, e.g. if the program dies now
+            assertEquals(Color.RED, ManipulationJournal.replay(file, "reference", 1).getCellColorAt(3, 3));
+        }
+    }
+
+    @Test
+    void testIncompleteRecordIsIgnored(@TempDir Path directory) throws IOException {
+        Path file = directory.resolve("session.journal");
+        GameOfLife gof = new GameOfLife(new GameOfLifeField(10, 10));
+        try (ManipulationJournal journal = ManipulationJournal.create(file, 10, 10)) {
+            gof.setJournal(journal);
+            gof.reviveCellAt(3, 3, Color.RED);
+            gof.reviveCellAt(3, 4, Color.RED);
+        }
+        // cut off the last byte, like a crash while writing
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.WRITE)) {
+            channel.truncate(channel.size() - 1);
+        }
+
+        GameOfLife replayed = ManipulationJournal.replay(file, "reference", 1);
+        assertEquals(Color.RED, replayed.getCellColorAt(3, 3));
+        assertEquals(1, replayed.getStatistics().getPopulation());
+    }
+
+    @Test
+    void testInvalidFiles(@TempDir Path directory) throws IOException {
+        Path file = directory.resolve("other.bin");
+        Files.write(file, new byte[100]);
+        assertThrows(IOException.class, () -> ManipulationJournal.replay(file, "reference", 1));
+
+        try (ManipulationJournal journal = ManipulationJournal.create(directory.resolve("small.journal"), 5, 5)) {
+            assertThrows(IllegalArgumentException.class,
+                    () -> new GameOfLife(new GameOfLifeField(10, 10)).setJournal(journal));
+        }
+    }
+}
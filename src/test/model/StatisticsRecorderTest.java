@@ -0,0 +1,76 @@
+package test.model;
+
+import main.model.FieldStatistics;
+import main.model.StatisticsRecorder;
+import org.junit.jupiter.api.Test;
+
+import java.awt.*;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class StatisticsRecorderTest {
+    @Test
+    void testRecord() {
+        StatisticsRecorder recorder = new StatisticsRecorder(3);
+        FieldStatistics statistics = new FieldStatistics(10, 10);
+
+        // record 4 generations with 1 to 4 living cells, so the first generation is overwritten
+        for (int generation = 1; generation <= 4; generation++) {
+            statistics.startGeneration();
+            statistics.cellChanged(0, generation, null, Color.RED);
+            recorder.record(generation, statistics, 100 * generation);
+        }
+
+        assertEquals(3, recorder.getSize());
+        // the oldest recorded generation is generation 2
+        assertEquals(2, recorder.getGeneration(0));
+        assertEquals(2, recorder.getPopulation(0));
+        assertEquals(4, recorder.getGeneration(2));
+        assertEquals(4, recorder.getPopulation(2));
+        assertEquals(4, recorder.getColorPopulation(2, 0));
+        assertEquals(1, recorder.getBirths(2));
+        assertEquals(400, recorder.getStepNanos(2));
+
+        // an index outside the recorded generations is invalid
+        assertThrows(IndexOutOfBoundsException.class, () -> recorder.getGeneration(3));
+
+        recorder.clear();
+        assertEquals(0, recorder.getSize());
+    }
+
+    @Test
+    void testWriteFiles() throws IOException {
+        StatisticsRecorder recorder = new StatisticsRecorder(2);
+        FieldStatistics statistics = new FieldStatistics(10, 10);
+        for (int generation = 1; generation <= 3; generation++) {
+            statistics.cellChanged(generation, 0, null, Color.RED);
+            recorder.record(generation, statistics, 0);
+        }
+
+        // the csv file has a header line and one line per recorded generation (oldest first)
+        Path csvFile = Files.createTempFile("statistics", ".csv");
+        recorder.writeCsv(csvFile);
+        List<String> lines = Files.readAllLines(csvFile);
+        assertEquals(3, lines.size());
+        assertTrue(lines.get(1).startsWith("2,2,"));
+        assertTrue(lines.get(2).startsWith("3,3,"));
+        Files.delete(csvFile);
+
+        // the binary file has a header followed by the records
+        Path binaryFile = Files.createTempFile("statistics", ".bin");
+        recorder.writeBinary(binaryFile);
+        ByteBuffer content = ByteBuffer.wrap(Files.readAllBytes(binaryFile)).order(ByteOrder.LITTLE_ENDIAN);
+        assertEquals(16 + 2 * StatisticsRecorder.RECORD_SIZE, content.limit());
+        assertEquals(StatisticsRecorder.BINARY_FILE_MAGIC, content.getLong(0));
+        assertEquals(2, content.getInt(12));
+        assertEquals(2, content.getInt(16));
+        assertEquals(3, content.getInt(16 + StatisticsRecorder.RECORD_SIZE));
+        Files.delete(binaryFile);
+    }
+}
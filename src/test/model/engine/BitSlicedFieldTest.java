@@ -0,0 +1,55 @@
+package test.model.engine;
+
+import main.model.GameOfLifeField;
+import main.model.GofCell;
+import main.model.engine.BitSlicedField;
+import org.junit.jupiter.api.Test;
+
+import java.awt.*;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class BitSlicedFieldTest {
+
+    @Test
+    void testGetNextGeneration() {
+        // widths with one partial word, exactly one word and several words
+        for (int width : new int[]{5, 27, 64, 70, 130}) {
+            int height = 21;
+            GameOfLifeField referenceField = new GameOfLifeField(height, width);
+            BitSlicedField bitSlicedField = new BitSlicedField(height, width);
+            Random random = new Random(width);
+            for (int row = 0; row < height; row++)
+                for (int col = 0; col < width; col++)
+                    if (random.nextInt(3) == 0) {
+                        Color color = GofCell.PALETTE[random.nextInt(GofCell.PALETTE.length)];
+                        referenceField.setCellAt(row, col, true, color);
+                        bitSlicedField.setCellAt(row, col, true, color);
+                    }
+
+            for (int generation = 0; generation < 25; generation++) {
+                assertEquals(referenceField.getNextGeneration().size(), bitSlicedField.getNextGeneration().size());
+                for (int row = 0; row < height; row++)
+                    for (int col = 0; col < width; col++)
+                        assertEquals(referenceField.getCellColorAt(row, col), bitSlicedField.getCellColorAt(row, col));
+                assertEquals(referenceField.getStateHash(), bitSlicedField.getStateHash());
+                assertEquals(referenceField.getStatistics().getPopulation(), bitSlicedField.getStatistics().getPopulation());
+            }
+        }
+    }
+
+    @Test
+    void testSetCellAt() {
+        BitSlicedField field = new BitSlicedField(10, 70);
+        assertFalse(field.setCellAt(10, 0, true, Color.RED));
+        assertTrue(field.setCellAt(3, 66, true, Color.RED));
+        assertEquals(Color.RED, field.getCellColorAt(3, 66));
+        assertTrue(field.getCellAt(3, 66).isAlive());
+
+        // a single cell dies
+        assertEquals(1, field.getNextGeneration().size());
+        assertEquals(GofCell.DEAD_CELL_COLOR, field.getCellColorAt(3, 66));
+        assertEquals(0, field.getStatistics().getPopulation());
+    }
+}
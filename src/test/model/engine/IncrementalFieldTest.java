@@ -0,0 +1,61 @@
+package test.model.engine;
+
+import main.model.GameOfLife;
+import main.model.engine.IncrementalField;
+import org.junit.jupiter.api.Test;
+
+import java.awt.*;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class IncrementalFieldTest {
+    @Test
+    void testStillLifeNeedsNoWork() {
+        IncrementalField field = new IncrementalField(100, 100);
+        // block
+        field.setCellAt(10, 10, true, Color.RED);
+        field.setCellAt(10, 11, true, Color.RED);
+        field.setCellAt(11, 10, true, Color.RED);
+        field.setCellAt(11, 11, true, Color.RED);
+        // the cells and their neighbours
+        assertEquals(16, field.getCandidateCount());
+
+        assertTrue(field.getNextGeneration().isEmpty());
+        assertEquals(0, field.getCandidateCount());
+        assertTrue(field.getNextGeneration().isEmpty());
+        assertEquals(4, field.getStatistics().getPopulation());
+    }
+
+    @Test
+    void testWorkIsProportionalToChanges() {
+        IncrementalField field = new IncrementalField(500, 500);
+        // blinker
+        field.setCellAt(200, 199, true, Color.RED);
+        field.setCellAt(200, 200, true, Color.RED);
+        field.setCellAt(200, 201, true, Color.RED);
+
+        for (int i = 0; i < 10; i++) {
+            assertEquals(4, field.getNextGeneration().size());
+            // the changed cells and their neighbours, independent of the size of the field
+            assertTrue(field.getCandidateCount() <= 4 * 9);
+        }
+        assertEquals(3, field.getStatistics().getPopulation());
+    }
+
+    @Test
+    void testManipulatedCellIsEvaluated() {
+        GameOfLife gof = new GameOfLife(new IncrementalField(20, 20));
+        gof.reviveCellAt(5, 5, Color.RED);
+        gof.loadNextGeneration();
+        // a single cell dies, although the amount of its neighbours did not change
+        assertEquals(0, gof.getStatistics().getPopulation());
+
+        gof.reviveCellAt(0, 0, Color.RED);
+        gof.reviveCellAt(0, 19, Color.GREEN);
+        gof.reviveCellAt(19, 0, Color.GREEN);
+        gof.loadNextGeneration();
+        // the neighbours wrap around the edges of the field
+        assertEquals(Color.GREEN, gof.getCellColorAt(19, 19));
+        assertEquals(4, gof.getStatistics().getPopulation());
+    }
+}
@@ -0,0 +1,66 @@
+package test.model.engine;
+
+import main.model.GameOfLifeField;
+import main.model.GofCell;
+import main.model.engine.LookupTableField;
+import org.junit.jupiter.api.Test;
+
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class LookupTableFieldTest {
+    /**
+     * @return the neighbourhood index of the given 4x4 cells ('O' for living cells)
+     */
+    private static int toNeighbourhood(String... rows) {
+        int neighbourhood = 0;
+        for (int row = 0; row < 4; row++)
+            for (int column = 0; column < 4; column++)
+                if (rows[row].charAt(column) == 'O')
+                    neighbourhood |= 1 << (4 * row + column);
+        return neighbourhood;
+    }
+
+    @Test
+    void testTable() {
+        assertEquals(0, LookupTableField.getNextBlock(0));
+        // a block is a still life
+        assertEquals(0b1111, LookupTableField.getNextBlock(toNeighbourhood(
+                "....",
+                ".OO.",
+                ".OO.",
+                "....")));
+        // vertical blinker: it turns around its middle cell (row 1, column 2), so the cell left of it is born
+        // and the cell below dies
+        assertEquals(0b0011, LookupTableField.getNextBlock(toNeighbourhood(
+                "..O.",
+                "..O.",
+                "..O.",
+                "....")));
+        // all cells alive: every cell in the middle has 8 neighbours and dies
+        assertEquals(0, LookupTableField.getNextBlock(0xFFFF));
+    }
+
+    @Test
+    void testOddSize() {
+        // the last blocks of the rows and columns reach over the edges of the field
+        LookupTableField field = new LookupTableField(7, 9);
+        GameOfLifeField reference = new GameOfLifeField(7, 9);
+        Random random = new Random(46);
+        for (int row = 0; row < 7; row++)
+            for (int column = 0; column < 9; column++)
+                if (random.nextInt(3) == 0) {
+                    field.setCellAt(row, column, true, GofCell.PALETTE[random.nextInt(GofCell.PALETTE.length)]);
+                    reference.setCellAt(row, column, true, field.getCellColorAt(row, column));
+                }
+
+        for (int generation = 0; generation < 20; generation++) {
+            field.getNextGeneration();
+            reference.getNextGeneration();
+            for (int row = 0; row < 7; row++)
+                for (int column = 0; column < 9; column++)
+                    assertEquals(reference.getCellColorAt(row, column), field.getCellColorAt(row, column));
+        }
+    }
+}
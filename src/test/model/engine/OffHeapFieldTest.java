@@ -0,0 +1,132 @@
+package test.model.engine;
+
+import main.model.GameOfLife;
+import main.model.GameOfLifeField;
+import main.model.GofCell;
+import main.model.engine.OffHeapField;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.awt.*;
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class OffHeapFieldTest {
+
+    @TempDir
+    Path directory;
+
+    @Test
+    void testChunks() {
+        // 3 rows per chunk, so the rows around a chunk border are in different buffers
+        GameOfLifeField referenceField = new GameOfLifeField(20, 70);
+        OffHeapField offHeapField = new OffHeapField(20, 70, 3);
+        Random random = new Random(5);
+        for (int row = 0; row < 20; row++)
+            for (int col = 0; col < 70; col++)
+                if (random.nextInt(3) == 0) {
+                    Color color = GofCell.PALETTE[random.nextInt(GofCell.PALETTE.length)];
+                    referenceField.setCellAt(row, col, true, color);
+                    offHeapField.setCellAt(row, col, true, color);
+                }
+
+        for (int generation = 0; generation < 20; generation++) {
+            referenceField.getNextGeneration();
+            offHeapField.getNextGeneration();
+            for (int row = 0; row < 20; row++)
+                for (int col = 0; col < 70; col++)
+                    assertEquals(referenceField.getCellColorAt(row, col), offHeapField.getCellColorAt(row, col));
+            assertEquals(referenceField.getStateHash(), offHeapField.getStateHash());
+        }
+    }
+
+    @Test
+    void testRelease() {
+        OffHeapField field = new OffHeapField(10, 10);
+        // the memory is allocated with the first living cell
+        assertFalse(field.isAllocated());
+        field.setCellAt(1, 1, false, GofCell.DEAD_CELL_COLOR);
+        assertEquals(0, field.getNextGeneration().size());
+        assertFalse(field.isAllocated());
+        field.setCellAt(1, 1, true, Color.RED);
+        assertTrue(field.isAllocated());
+
+        // living cells can't be released
+        assertThrows(IllegalStateException.class, field::release);
+
+        // resetting the game of life frees the memory
+        GameOfLife gameOfLife = new GameOfLife(field);
+        gameOfLife.resetGameOfLife();
+        assertFalse(field.isAllocated());
+        assertEquals(GofCell.DEAD_CELL_COLOR, field.getCellColorAt(1, 1));
+
+        // the field can be used again
+        gameOfLife.reviveCellAt(2, 2, Color.BLUE);
+        assertTrue(field.isAllocated());
+        assertEquals(Color.BLUE, field.getCellColorAt(2, 2));
+    }
+
+    @Test
+    void testWriteAndReadFile() throws IOException {
+        OffHeapField field = new OffHeapField(30, 40, 7);
+        field.setCellAt(0, 0, true, Color.RED);
+        field.setCellAt(15, 39, true, Color.GREEN);
+        field.setCellAt(29, 20, true, new Color(10, 20, 30));
+        Path file = directory.resolve("field.bin");
+        field.writeTo(file);
+        assertEquals(16 + 4 * 30 * 40, Files.size(file));
+
+        OffHeapField loadedField = OffHeapField.readFrom(file);
+        assertEquals(30, loadedField.getHeight());
+        assertEquals(40, loadedField.getWidth());
+        assertEquals(3, loadedField.getStatistics().getPopulation());
+        assertEquals(field.getStateHash(), loadedField.getStateHash());
+        assertEquals(new Color(10, 20, 30), loadedField.getCellColorAt(29, 20));
+        assertEquals(GofCell.DEAD_CELL_COLOR, loadedField.getCellColorAt(29, 21));
+
+        // an empty field without memory can be written too
+        new OffHeapField(2, 3).writeTo(file);
+        assertEquals(0, OffHeapField.readFrom(file).getStatistics().getPopulation());
+
+        Files.write(file, new byte[20]);
+        assertThrows(IOException.class, () -> OffHeapField.readFrom(file));
+    }
+
+    @Test
+    void testGameOfLifeWithSmallHeap() throws Exception {
+        // the changes of the 4000 x 4000 cells would need more than 100 MB on the heap,
+        // the direct buffers are limited by the size of the heap by default
+        String java = System.getProperty("java.home") + File.separator + "bin" + File.separator + "java";
+        String classPath = System.getProperty("java.class.path") + File.pathSeparator
+                + new File(SmallHeapSession.class.getProtectionDomain().getCodeSource().getLocation().toURI()).getPath();
+        Process process = new ProcessBuilder(java, "-Xmx32m", "-XX:MaxDirectMemorySize=1g", "-cp", classPath, SmallHeapSession.class.getName())
+                .inheritIO()
+                .start();
+        assertTrue(process.waitFor(60, TimeUnit.SECONDS));
+        assertEquals(0, process.exitValue());
+    }
+
+    /**
+     * Plays a glider on a large off heap field, started in a process with a small heap
+     */
+    public static class SmallHeapSession {
+        public static void main(String[] args) {
+            GameOfLife gameOfLife = new GameOfLife(new OffHeapField(4000, 4000));
+            gameOfLife.reviveCellAt(0, 1, Color.RED);
+            gameOfLife.reviveCellAt(1, 2, Color.RED);
+            gameOfLife.reviveCellAt(2, 0, Color.RED);
+            gameOfLife.reviveCellAt(2, 1, Color.RED);
+            gameOfLife.reviveCellAt(2, 2, Color.RED);
+            gameOfLife.goToGeneration(20);
+            gameOfLife.goToGeneration(10);
+            gameOfLife.resetGameOfLife();
+            System.exit(gameOfLife.getStatistics().getPopulation() == 0 ? 0 : 1);
+        }
+    }
+}
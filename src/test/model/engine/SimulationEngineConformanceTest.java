@@ -0,0 +1,140 @@
+package test.model.engine;
+
+import main.model.*;
+import main.model.engine.SimulationEngines;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.MethodSource;
+
+import java.awt.*;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Checks that every registered engine computes the same generations as the reference engine.
+ */
+public class SimulationEngineConformanceTest {
+
+    static List<String> engineNames() {
+        return SimulationEngines.getNames();
+    }
+
+    @ParameterizedTest
+    @MethodSource("engineNames")
+    void testRandomPatterns(String engineName) {
+        // field sizes with odd sizes, a single word and several words of 64 cells
+        int[][] sizes = {{17, 23}, {9, 64}, {40, 131}};
+        for (int[] size : sizes)
+            for (int seed = 0; seed < 3; seed++) {
+                SimulationEngine reference = SimulationEngines.create(SimulationEngines.REFERENCE_ENGINE, size[0], size[1]);
+                SimulationEngine engine = SimulationEngines.create(engineName, size[0], size[1]);
+                Random random = new Random(seed);
+                int coverage = 10 + 20 * seed;
+                for (int row = 0; row < size[0]; row++)
+                    for (int col = 0; col < size[1]; col++)
+                        if (random.nextInt(100) < coverage) {
+                            Color color = GofCell.PALETTE[random.nextInt(GofCell.PALETTE.length)];
+                            reference.setCellAt(row, col, true, color);
+                            engine.setCellAt(row, col, true, color);
+                        }
+                assertSameState(reference, engine);
+
+                for (int generation = 0; generation < 20; generation++) {
+                    reference.getStatistics().startGeneration();
+                    engine.getStatistics().startGeneration();
+                    ArrayList<GofCell> referenceChanges = reference.getNextGeneration();
+                    ArrayList<GofCell> changes = engine.getNextGeneration();
+
+                    // the same cells changed and the changed cells describe the new state
+                    assertEquals(referenceChanges.size(), changes.size());
+                    for (GofCell cell : changes)
+                        assertEquals(reference.getCellColorAt(cell.getRow(), cell.getColumn()),
+                                cell.isAlive() ? cell.getColor() : GofCell.DEAD_CELL_COLOR);
+                    assertEquals(reference.getStatistics().getBirths(), engine.getStatistics().getBirths());
+                    assertEquals(reference.getStatistics().getDeaths(), engine.getStatistics().getDeaths());
+                    assertSameState(reference, engine);
+                }
+            }
+    }
+
+    @ParameterizedTest
+    @MethodSource("engineNames")
+    void testGetNextGenerations(String engineName) {
+        SimulationEngine reference = SimulationEngines.create(SimulationEngines.REFERENCE_ENGINE, 30, 30);
+        SimulationEngine engine = SimulationEngines.create(engineName, 30, 30);
+        Random random = new Random(3);
+        for (int i = 0; i < 300; i++) {
+            int row = random.nextInt(30);
+            int col = random.nextInt(30);
+            reference.setCellAt(row, col, true, Color.GREEN);
+            engine.setCellAt(row, col, true, Color.GREEN);
+        }
+
+        for (int generations : new int[]{1, 5, 16, 33}) {
+            ArrayList<GofCell> changes = engine.getNextGenerations(generations);
+            reference.getNextGenerations(generations);
+            assertSameState(reference, engine);
+            // the last occurrence of a cell describes its state after all generations
+            GofCell[] lastStates = new GofCell[30 * 30];
+            for (GofCell cell : changes)
+                lastStates[cell.getRow() * 30 + cell.getColumn()] = cell;
+            for (GofCell cell : lastStates)
+                if (cell != null)
+                    assertEquals(cell.isAlive(), engine.getCellAt(cell.getRow(), cell.getColumn()).isAlive());
+        }
+    }
+
+    @ParameterizedTest
+    @MethodSource("engineNames")
+    void testSnapshotsAndKillAllCells(String engineName) {
+        SimulationEngine engine = SimulationEngines.create(engineName, 12, 15);
+        assertFalse(engine.setCellAt(12, 0, true, Color.RED));
+        assertFalse(engine.setCellAt(0, -1, true, Color.RED));
+        assertNull(engine.getCellAt(-1, 0));
+        assertNull(engine.getCellColorAt(0, 15));
+
+        engine.setCellAt(0, 0, true, Color.RED);
+        engine.setCellAt(11, 14, true, Color.BLUE);
+        engine.setCellAt(5, 7, true, new Color(1, 2, 3));
+        FieldSnapshot snapshot = engine.createSnapshot();
+        long hash = engine.getStateHash();
+
+        // the same cell set twice to the same state is not a change
+        engine.setCellAt(5, 7, true, new Color(1, 2, 3));
+        assertEquals(3, engine.getStatistics().getPopulation());
+
+        assertEquals(3, engine.killAllCells().size());
+        assertEquals(0, engine.getStatistics().getPopulation());
+        assertEquals(0, engine.getStateHash());
+        assertNull(engine.getStatistics().getBoundingBox());
+
+        assertEquals(3, engine.loadSnapshot(snapshot).size());
+        assertEquals(hash, engine.getStateHash());
+        assertEquals(new Color(1, 2, 3), engine.getCellColorAt(5, 7));
+        assertEquals(GofCell.DEAD_CELL_COLOR, engine.getCellColorAt(5, 8));
+        assertEquals(new Rectangle(0, 0, 15, 12), engine.getStatistics().getBoundingBox());
+
+        assertThrows(IllegalArgumentException.class, () -> engine.loadSnapshot(new FieldSnapshot(1, 1, new Color[1])));
+    }
+
+    @Test
+    void testUnknownEngine() {
+        assertThrows(IllegalArgumentException.class, () -> SimulationEngines.create("unknown", 10, 10));
+        assertEquals(SimulationEngines.REFERENCE_ENGINE, SimulationEngines.getNames().get(0));
+    }
+
+    private void assertSameState(SimulationEngine reference, SimulationEngine engine) {
+        for (int row = 0; row < reference.getHeight(); row++)
+            for (int col = 0; col < reference.getWidth(); col++)
+                assertEquals(reference.getCellColorAt(row, col), engine.getCellColorAt(row, col),
+                        "cell at " + row + ", " + col);
+        assertEquals(reference.getStateHash(), engine.getStateHash());
+        assertEquals(reference.getStatistics().getPopulation(), engine.getStatistics().getPopulation());
+        assertEquals(reference.getStatistics().getBoundingBox(), engine.getStatistics().getBoundingBox());
+        for (int i = 0; i <= GofCell.PALETTE.length; i++)
+            assertEquals(reference.getStatistics().getColorPopulation(i), engine.getStatistics().getColorPopulation(i));
+    }
+}
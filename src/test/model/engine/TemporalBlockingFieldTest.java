@@ -0,0 +1,73 @@
+package test.model.engine;
+
+import main.model.GameOfLife;
+import main.model.GameOfLifeField;
+import main.model.GofCell;
+import main.model.engine.TemporalBlockingField;
+import org.junit.jupiter.api.Test;
+
+import java.awt.*;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class TemporalBlockingFieldTest {
+
+    private static final int HEIGHT = 30;
+    private static final int WIDTH = 27;
+
+    @Test
+    void testGetNextGenerations() {
+        GameOfLifeField referenceField = new GameOfLifeField(HEIGHT, WIDTH);
+        // tiles which do not divide the field and a halo wider than some tiles
+        TemporalBlockingField blockingField = new TemporalBlockingField(HEIGHT, WIDTH, 4, 8);
+        Random random = new Random(7);
+        for (int row = 0; row < HEIGHT; row++)
+            for (int col = 0; col < WIDTH; col++)
+                if (random.nextInt(3) == 0) {
+                    Color color = GofCell.PALETTE[random.nextInt(GofCell.PALETTE.length)];
+                    referenceField.setCellAt(row, col, true, color);
+                    blockingField.setCellAt(row, col, true, color);
+                }
+
+        for (int generations : new int[]{1, 3, 4, 7, 13}) {
+            for (int i = 0; i < generations; i++)
+                referenceField.getNextGeneration();
+            blockingField.getNextGenerations(generations);
+
+            for (int row = 0; row < HEIGHT; row++)
+                for (int col = 0; col < WIDTH; col++)
+                    assertEquals(referenceField.getCellColorAt(row, col), blockingField.getCellColorAt(row, col));
+            assertEquals(referenceField.getStateHash(), blockingField.getStateHash());
+            assertEquals(referenceField.getStatistics().getPopulation(), blockingField.getStatistics().getPopulation());
+        }
+    }
+
+    @Test
+    void testGoToGenerationInBlocks() {
+        GameOfLife reference = new GameOfLife(HEIGHT, WIDTH);
+        GameOfLife blocking = new GameOfLife(new TemporalBlockingField(HEIGHT, WIDTH, 4, 16));
+        blocking.setGenerationsPerStep(4);
+
+        // R-pentomino and a manipulation in generation 10
+        int[][] pentomino = {{0, 1}, {0, 2}, {1, 0}, {1, 1}, {2, 1}};
+        for (int[] cell : pentomino) {
+            reference.reviveCellAt(cell[0] + 12, cell[1] + 12, Color.RED);
+            blocking.reviveCellAt(cell[0] + 12, cell[1] + 12, Color.RED);
+        }
+        reference.goToGeneration(10);
+        blocking.goToGeneration(10);
+        reference.reviveCellAt(0, 0, Color.BLUE);
+        blocking.reviveCellAt(0, 0, Color.BLUE);
+
+        // the manipulation is replayed when going back and forth
+        for (int generation : new int[]{3, 47, 20, 61}) {
+            reference.goToGeneration(generation);
+            blocking.goToGeneration(generation);
+            assertEquals(generation, blocking.getGenerationCounter());
+            for (int row = 0; row < HEIGHT; row++)
+                for (int col = 0; col < WIDTH; col++)
+                    assertEquals(reference.getCellColorAt(row, col), blocking.getCellColorAt(row, col));
+        }
+    }
+}
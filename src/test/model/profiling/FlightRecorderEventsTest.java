@@ -0,0 +1,64 @@
+package test.model.profiling;
+
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+import main.model.GameOfLife;
+import main.model.GameOfLifeField;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.awt.*;
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class FlightRecorderEventsTest {
+    @Test
+    void testEventsAreRecorded(@TempDir Path directory) throws IOException {
+        GameOfLife gof = new GameOfLife(new GameOfLifeField(10, 10));
+        // blinker
+        gof.reviveCellAt(4, 3, Color.RED);
+        gof.reviveCellAt(4, 4, Color.RED);
+        gof.reviveCellAt(4, 5, Color.RED);
+
+        Path file = directory.resolve("recording.jfr");
+        try (Recording recording = new Recording()) {
+            for (String name : List.of("Step", "Seek", "SnapshotRestore", "ObserverDispatch"))
+                recording.enable("gameoflife." + name).withoutThreshold();
+            recording.start();
+            gof.loadNextGeneration();
+            gof.goToGeneration(20);
+            // the blinker is detected as cycle, so the snapshot of the cycle is loaded
+            gof.goToGeneration(1001);
+            recording.stop();
+            recording.dump(file);
+        }
+
+        List<RecordedEvent> events = RecordingFile.readAllEvents(file);
+        List<RecordedEvent> steps = getEvents(events, "gameoflife.Step");
+        assertEquals(19, steps.size());
+        assertEquals("GameOfLifeField", steps.get(0).getString("engine"));
+        assertEquals(2, steps.get(0).getInt("generation"));
+        assertEquals(4, steps.get(0).getInt("changedCells"));
+        assertEquals(3, steps.get(0).getInt("population"));
+        assertNull(steps.get(0).getStackTrace());
+
+        List<RecordedEvent> seeks = getEvents(events, "gameoflife.Seek");
+        assertEquals(2, seeks.size());
+        assertEquals(2, seeks.get(0).getInt("startGeneration"));
+        assertEquals(20, seeks.get(0).getInt("reachedGeneration"));
+        assertFalse(seeks.get(0).getBoolean("cancelled"));
+        assertTrue(seeks.get(1).getBoolean("fastForward"));
+
+        assertEquals(1, getEvents(events, "gameoflife.SnapshotRestore").size());
+        assertEquals(3, getEvents(events, "gameoflife.ObserverDispatch").size());
+    }
+
+    private static List<RecordedEvent> getEvents(List<RecordedEvent> events, String name) {
+        return events.stream().filter(event -> event.getEventType().getName().equals(name)).collect(Collectors.toList());
+    }
+}
@@ -0,0 +1,53 @@
+package test.model.profiling;
+
+import main.model.profiling.LatencyHistogram;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class LatencyHistogramTest {
+    @Test
+    void testSmallValuesAreExact() {
+        LatencyHistogram histogram = new LatencyHistogram();
+        for (int value = 1; value <= 20; value++)
+            histogram.record(value);
+
+        assertEquals(20, histogram.getCount());
+        assertEquals(210, histogram.getTotal());
+        assertEquals(10.5, histogram.getMean());
+        assertEquals(1, histogram.getMin());
+        assertEquals(20, histogram.getMax());
+        assertEquals(10, histogram.getPercentile(50));
+        assertEquals(20, histogram.getPercentile(100));
+    }
+
+    @Test
+    void testLargeValuesHaveSmallRelativeError() {
+        LatencyHistogram histogram = new LatencyHistogram();
+        for (long value = 1000; value <= 1_000_000; value += 1000)
+            histogram.record(value);
+
+        long median = histogram.getPercentile(50);
+        assertTrue(Math.abs(median - 500_000) <= 500_000 / 16, "median " + median);
+        long p99 = histogram.getPercentile(99);
+        assertTrue(Math.abs(p99 - 990_000) <= 990_000 / 16, "p99 " + p99);
+        assertEquals(1_000_000, histogram.getMax());
+
+        histogram.record(Long.MAX_VALUE);
+        assertEquals(Long.MAX_VALUE, histogram.getPercentile(100));
+    }
+
+    @Test
+    void testReset() {
+        LatencyHistogram histogram = new LatencyHistogram();
+        histogram.record(-5);
+        assertEquals(0, histogram.getMax());
+        histogram.record(123);
+        histogram.reset();
+
+        assertEquals(0, histogram.getCount());
+        assertEquals(0, histogram.getMin());
+        assertEquals(0, histogram.getPercentile(50));
+        assertThrows(IllegalArgumentException.class, () -> histogram.getPercentile(101));
+    }
+}
@@ -0,0 +1,85 @@
+package test.model.profiling;
+
+import main.model.GameOfLife;
+import main.model.GameOfLifeField;
+import main.model.engine.BitSlicedField;
+import main.model.profiling.StepProfiler;
+import main.model.profiling.StepProfiler.Phase;
+import org.junit.jupiter.api.Test;
+
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+import java.awt.*;
+import java.lang.management.ManagementFactory;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class StepProfilerTest {
+    /**
+     * Runs 10 generations of a glider with a manipulation in generation 5
+     */
+    private StepProfiler profile(GameOfLife gof) {
+        StepProfiler profiler = new StepProfiler();
+        gof.setProfiler(profiler);
+        gof.reviveCellAt(0, 1, Color.RED);
+        gof.reviveCellAt(1, 2, Color.RED);
+        gof.reviveCellAt(2, 0, Color.RED);
+        gof.reviveCellAt(2, 1, Color.RED);
+        gof.reviveCellAt(2, 2, Color.RED);
+        gof.goToGeneration(5);
+        gof.reviveCellAt(10, 10, Color.BLUE);
+        gof.goToGeneration(1);
+        gof.goToGeneration(10);
+        return profiler;
+    }
+
+    @Test
+    void testPhasesOfReferenceEngine() {
+        StepProfiler profiler = profile(new GameOfLife(new GameOfLifeField(20, 20)));
+
+        // 4 + 9 computed generations
+        assertEquals(13, profiler.getHistogram(Phase.NEIGHBOUR_COUNTING).getCount());
+        assertEquals(13, profiler.getHistogram(Phase.COLOR_RESOLUTION).getCount());
+        assertEquals(13, profiler.getHistogram(Phase.STATE_APPLICATION).getCount());
+        assertTrue(profiler.getHistogram(Phase.COLOR_RESOLUTION).getTotal() > 0);
+        // the manipulation in generation 5 is replayed on the way to generation 10
+        assertEquals(1, profiler.getHistogram(Phase.MANIPULATION_REPLAY).getCount());
+        // 6 manipulations and 3 times going to a generation
+        assertEquals(9, profiler.getHistogram(Phase.OBSERVER_NOTIFICATION).getCount());
+    }
+
+    @Test
+    void testPhasesOfRgbEngine() {
+        StepProfiler profiler = profile(new GameOfLife(new BitSlicedField(20, 20)));
+        assertEquals(13, profiler.getHistogram(Phase.NEIGHBOUR_COUNTING).getCount());
+        assertTrue(profiler.getHistogram(Phase.COLOR_RESOLUTION).getTotal() > 0);
+        assertTrue(profiler.getHistogram(Phase.STATE_APPLICATION).getTotal() > 0);
+
+        String dump = profiler.dump();
+        for (Phase phase : Phase.values())
+            assertTrue(dump.contains(phase.name().toLowerCase()));
+
+        profiler.reset();
+        assertEquals(0, profiler.getHistogram(Phase.NEIGHBOUR_COUNTING).getCount());
+    }
+
+    @Test
+    void testMBeans() throws Exception {
+        StepProfiler profiler = new StepProfiler();
+        profiler.record(Phase.OBSERVER_NOTIFICATION, 1000);
+        profiler.registerMBeans();
+        try {
+            MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+            ObjectName name = new ObjectName(StepProfiler.JMX_DOMAIN + ":type=StepProfiler,phase=OBSERVER_NOTIFICATION");
+            assertEquals(1L, server.getAttribute(name, "Count"));
+            assertEquals(1000L, server.getAttribute(name, "MaxNanos"));
+
+            // a second profiler can not use the same names
+            assertThrows(IllegalStateException.class, () -> new StepProfiler().registerMBeans());
+        } finally {
+            profiler.unregisterMBeans();
+        }
+        assertTrue(ManagementFactory.getPlatformMBeanServer().queryNames(
+                new ObjectName(StepProfiler.JMX_DOMAIN + ":type=StepProfiler,*"), null).isEmpty());
+    }
+}
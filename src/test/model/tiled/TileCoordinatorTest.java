@@ -0,0 +1,111 @@
+package test.model.tiled;
+
+import main.model.GameOfLife;
+import main.model.GameOfLifeField;
+import main.model.GofCell;
+import main.model.tiled.TileCoordinator;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.awt.*;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Random;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class TileCoordinatorTest {
+
+    private static final int HEIGHT = 24;
+    private static final int WIDTH = 20;
+
+    @TempDir
+    Path sharedMemoryDirectory;
+
+    @Test
+    void testNextGenerationEqualsSingleField() throws IOException {
+        try (TileCoordinator tiledField = new TileCoordinator(HEIGHT, WIDTH, 3)) {
+            assertSameGenerations(tiledField);
+        }
+    }
+
+    @Test
+    void testSharedMemoryTransport() throws IOException {
+        // wider than 64 cells, so a row needs more than one word of alive bits
+        try (TileCoordinator tiledField = new TileCoordinator(HEIGHT, 70, 3, true, sharedMemoryDirectory)) {
+            assertSameGenerations(tiledField);
+        }
+        // the shared file is removed when the coordinator is closed
+        try (Stream<Path> files = Files.list(sharedMemoryDirectory)) {
+            assertEquals(0, files.count());
+        }
+    }
+
+    private void assertSameGenerations(TileCoordinator tiledField) {
+        int height = tiledField.getHeight();
+        int width = tiledField.getWidth();
+        GameOfLifeField referenceField = new GameOfLifeField(height, width);
+        Random random = new Random(42);
+        for (int row = 0; row < height; row++)
+            for (int col = 0; col < width; col++)
+                if (random.nextInt(3) == 0) {
+                    Color color = GofCell.PALETTE[random.nextInt(GofCell.PALETTE.length)];
+                    referenceField.setCellAt(row, col, true, color);
+                    tiledField.setCellAt(row, col, true, color);
+                }
+        assertFieldsEqual(referenceField, tiledField);
+
+        for (int generation = 0; generation < 30; generation++) {
+            assertEquals(referenceField.getNextGeneration().size(), tiledField.getNextGeneration().size());
+            assertFieldsEqual(referenceField, tiledField);
+        }
+
+        tiledField.killAllCells();
+        assertEquals(0, tiledField.getStatistics().getPopulation());
+        assertEquals(0, tiledField.getStateHash());
+    }
+
+    @Test
+    void testGameOfLifeWithTiles() throws IOException {
+        GameOfLife reference = new GameOfLife(HEIGHT, WIDTH);
+        try (TileCoordinator tiledField = new TileCoordinator(HEIGHT, WIDTH, 2)) {
+            GameOfLife tiled = new GameOfLife(tiledField);
+
+            // glider and a manipulation in a later generation
+            int[][] glider = {{0, 1}, {1, 2}, {2, 0}, {2, 1}, {2, 2}};
+            for (int[] cell : glider) {
+                reference.reviveCellAt(cell[0] + 10, cell[1], Color.GREEN);
+                tiled.reviveCellAt(cell[0] + 10, cell[1], Color.GREEN);
+            }
+            reference.goToGeneration(5);
+            tiled.goToGeneration(5);
+            reference.reviveCellAt(0, 0, Color.BLUE);
+            tiled.reviveCellAt(0, 0, Color.BLUE);
+
+            reference.goToGeneration(40);
+            tiled.goToGeneration(40);
+            assertEquals(reference.getGenerationCounter(), tiled.getGenerationCounter());
+            for (int row = 0; row < HEIGHT; row++)
+                for (int col = 0; col < WIDTH; col++)
+                    assertEquals(reference.getCellColorAt(row, col), tiled.getCellColorAt(row, col));
+
+            // going back replays the manipulations
+            reference.goToGeneration(3);
+            tiled.goToGeneration(3);
+            for (int row = 0; row < HEIGHT; row++)
+                for (int col = 0; col < WIDTH; col++)
+                    assertEquals(reference.getCellColorAt(row, col), tiled.getCellColorAt(row, col));
+        }
+    }
+
+    private void assertFieldsEqual(GameOfLifeField referenceField, TileCoordinator tiledField) {
+        for (int row = 0; row < tiledField.getHeight(); row++)
+            for (int col = 0; col < tiledField.getWidth(); col++)
+                assertEquals(referenceField.getCellColorAt(row, col), tiledField.getCellColorAt(row, col));
+        assertEquals(referenceField.getStateHash(), tiledField.getStateHash());
+        assertEquals(referenceField.getStatistics().getPopulation(), tiledField.getStatistics().getPopulation());
+        assertEquals(referenceField.getStatistics().getBoundingBox(), tiledField.getStatistics().getBoundingBox());
+    }
+}
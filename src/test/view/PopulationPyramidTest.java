@@ -0,0 +1,72 @@
+package test.view;
+
+import main.view.PopulationPyramid;
+import org.junit.jupiter.api.Test;
+
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class PopulationPyramidTest {
+    /**
+     * Toggles random cells and compares every block of every level with the counted living cells
+     */
+    private static void assertPopulations(int height, int width) {
+        PopulationPyramid pyramid = new PopulationPyramid(height, width);
+        boolean[][] alive = new boolean[height][width];
+        Random random = new Random(height * 31L + width);
+
+        for (int round = 0; round < 5; round++) {
+            for (int i = 0; i < height * width / 2; i++) {
+                int row = random.nextInt(height);
+                int column = random.nextInt(width);
+                // setting the life state a cell already has changes nothing
+                boolean state = random.nextBoolean();
+                pyramid.setAlive(row, column, state);
+                alive[row][column] = state;
+            }
+
+            for (int level = 0; level <= pyramid.getHighestLevel(); level++)
+                for (int row = 0; row < height; row++)
+                    for (int column = 0; column < width; column++)
+                        assertEquals(countAlive(alive, level, row, column), pyramid.getPopulation(level, row, column));
+        }
+    }
+
+    /**
+     * @return the amount of living cells in the block of the given level containing the given cell
+     */
+    private static int countAlive(boolean[][] alive, int level, int row, int column) {
+        int firstRow = (row >> level) << level;
+        int firstColumn = (column >> level) << level;
+        int count = 0;
+        for (int r = firstRow; r < Math.min(alive.length, firstRow + (1 << level)); r++)
+            for (int c = firstColumn; c < Math.min(alive[0].length, firstColumn + (1 << level)); c++)
+                if (alive[r][c])
+                    count++;
+        return count;
+    }
+
+    @Test
+    void testPopulations() {
+        assertPopulations(16, 16);
+        assertPopulations(13, 21);
+        assertPopulations(1, 7);
+        assertPopulations(17, 3);
+    }
+
+    @Test
+    void testHighestLevelCoversTheField() {
+        PopulationPyramid pyramid = new PopulationPyramid(5, 9);
+        pyramid.setAlive(0, 0, true);
+        pyramid.setAlive(4, 8, true);
+        pyramid.setAlive(4, 8, true);
+        assertEquals(4, pyramid.getHighestLevel());
+        assertEquals(2, pyramid.getPopulation(pyramid.getHighestLevel(), 4, 8));
+        assertEquals(1, pyramid.getPopulation(3, 4, 8));
+
+        pyramid.setAlive(0, 0, false);
+        assertEquals(1, pyramid.getPopulation(pyramid.getHighestLevel(), 0, 0));
+        assertEquals(0, pyramid.getPopulation(0, 0, 0));
+    }
+}